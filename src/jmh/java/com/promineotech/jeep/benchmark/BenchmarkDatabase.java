@@ -0,0 +1,93 @@
+package com.promineotech.jeep.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import com.promineotech.jeep.JeepSales;
+
+/**
+ * Starts the application against a private in-memory H2 database loaded with the same Flyway
+ * scripts the tests use, so every benchmark measures the real service, DAO and mapping code.
+ */
+public final class BenchmarkDatabase {
+
+  private static final Pattern VERSION = Pattern.compile("V(\\d+)\\.(\\d+)__.*");
+
+  private BenchmarkDatabase() {}
+
+  /**
+   * @param name H2 database name; each benchmark class uses its own
+   * @return a started, non-web application context
+   */
+  public static ConfigurableApplicationContext startApplication(String name) {
+    return start(name, WebApplicationType.NONE);
+  }
+
+  /**
+   * @param name H2 database name; each benchmark class uses its own
+   * @param args further application arguments, e.g. "--jeep.threads.virtual=true"
+   * @return a started application context serving HTTP on a random port
+   */
+  public static ConfigurableApplicationContext startWebApplication(String name, String... args) {
+    return start(name, WebApplicationType.SERVLET, args);
+  }
+
+  private static ConfigurableApplicationContext start(String name, WebApplicationType type,
+      String... args) {
+    String[] defaults = {                                                   // Arguments override application.yaml
+        "--spring.datasource.url=jdbc:h2:mem:" + name
+            + ";mode=MYSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "--server.port=0",
+        "--jeep.reports.rollup.update-from-values=true",                    // H2 has no row references in ON DUPLICATE KEY UPDATE
+        "--logging.level.root=warn",
+        "--logging.level.com.promineotech=warn"};                           // Per-request debug logging would dominate the timings
+    String[] all = Arrays.copyOf(defaults, defaults.length + args.length);
+    System.arraycopy(args, 0, all, defaults.length, args.length);
+
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(JeepSales.class)
+        .web(type)
+        .run(all);
+
+    migrate(context.getBean(DataSource.class));
+    return context;
+  }
+
+  /**
+   * Runs every flyway/migrations/V*.sql script in version order.
+   */
+  public static void migrate(DataSource dataSource) {
+    try {
+      Resource[] scripts = new PathMatchingResourcePatternResolver()
+          .getResources("classpath:flyway/migrations/V*.sql");
+
+      Arrays.sort(scripts, Comparator.comparingLong(BenchmarkDatabase::version));
+
+      ResourceDatabasePopulator populator = new ResourceDatabasePopulator(scripts);
+      populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+      populator.execute(dataSource);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read the Flyway migrations", e);
+    }
+  }
+
+  private static long version(Resource script) {
+    Matcher matcher = VERSION.matcher(script.getFilename());
+
+    if (!matcher.matches()) {
+      throw new IllegalStateException("Unexpected migration name " + script.getFilename());
+    }
+
+    return Long.parseLong(matcher.group(1)) * 100_000 + Long.parseLong(matcher.group(2));
+  }
+
+}
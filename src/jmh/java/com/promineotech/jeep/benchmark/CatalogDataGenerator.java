@@ -0,0 +1,135 @@
+package com.promineotech.jeep.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.promineotech.jeep.entity.JeepModel;
+
+/**
+ * Scales the seed data from V1.1__Jeep_Data.sql up to benchmark sizes. Rows are written with
+ * JDBC batches and a fixed random seed, so two runs at the same scale see identical data.
+ */
+public class CatalogDataGenerator {
+
+  private static final int BATCH_SIZE = 10_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Random random = new Random(42);
+
+  public CatalogDataGenerator(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  /**
+   * Adds generated customers, models and orders (with zero to three options each).
+   * 
+   * @param customers number of customers to add
+   * @param trims number of extra trim levels to add for every model and door count
+   * @param orders number of orders to add
+   */
+  public void generate(int customers, int trims, int orders) {
+    generateCustomers(customers);
+    generateModels(trims);
+    generateOrders(orders);
+  }
+
+  private void generateCustomers(int count) {
+    String sql = "INSERT INTO customers (customer_id, first_name, last_name, phone) "
+        + "VALUES (?, ?, ?, ?)";
+    List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+    for (int index = 0; index < count; index++) {
+      batch.add(new Object[] {"BENCH_CUSTOMER_" + index, "First" + index, "Last" + index,
+          String.format("555.%03d.%04d", index % 1000, index % 10_000)});
+      batch = flush(sql, batch);
+    }
+
+    flush(sql, batch, true);
+  }
+
+  private void generateModels(int trims) {
+    String sql = "INSERT INTO models (model_id, trim_level, num_doors, wheel_size, base_price) "
+        + "VALUES (?, ?, ?, ?, ?)";
+    List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+    for (JeepModel model : JeepModel.values()) {
+      for (int trim = 0; trim < trims; trim++) {
+        for (int doors = 2; doors <= 4; doors += 2) {
+          batch.add(new Object[] {model.name(), "Bench Trim " + trim, doors,
+              17 + random.nextInt(4), BigDecimal.valueOf(25_000 + random.nextInt(40_000))});
+          batch = flush(sql, batch);
+        }
+      }
+    }
+
+    flush(sql, batch, true);
+  }
+
+  private void generateOrders(int count) {
+    long[] customerPKs = primaryKeys("customer_pk", "customers");
+    long[] colorPKs = primaryKeys("color_pk", "colors");
+    long[] enginePKs = primaryKeys("engine_pk", "engines");
+    long[] tirePKs = primaryKeys("tire_pk", "tires");
+    long[] modelPKs = primaryKeys("model_pk", "models");
+    long[] optionPKs = primaryKeys("option_pk", "options");
+
+    Long firstOrderPK = jdbcTemplate.queryForObject(
+        "SELECT COALESCE(MAX(order_pk), 0) + 1 FROM orders", Long.class);
+
+    String orderSql = "INSERT INTO orders "
+        + "(order_pk, customer_fk, color_fk, engine_fk, tire_fk, model_fk, price) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    String optionSql = "INSERT INTO order_options (option_fk, order_fk) VALUES (?, ?)";
+
+    List<Object[]> orderBatch = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> optionBatch = new ArrayList<>(BATCH_SIZE);
+
+    for (int index = 0; index < count; index++) {
+      long orderPK = firstOrderPK + index;                                  // Explicit keys let options be written in the same pass
+
+      orderBatch.add(new Object[] {orderPK, pick(customerPKs), pick(colorPKs), pick(enginePKs),
+          pick(tirePKs), pick(modelPKs), BigDecimal.valueOf(30_000 + random.nextInt(50_000))});
+
+      for (int option = random.nextInt(4); option > 0; option--) {
+        optionBatch.add(new Object[] {pick(optionPKs), orderPK});
+      }
+
+      if (orderBatch.size() == BATCH_SIZE) {
+        orderBatch = flush(orderSql, orderBatch, true);
+        optionBatch = flush(optionSql, optionBatch, true);
+      }
+    }
+
+    flush(orderSql, orderBatch, true);
+    flush(optionSql, optionBatch, true);
+
+    jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN order_pk RESTART WITH "     // H2 does not advance the identity for explicit keys
+        + (firstOrderPK + count));
+  }
+
+  private long[] primaryKeys(String column, String table) {
+    return jdbcTemplate.queryForList("SELECT " + column + " FROM " + table, Long.class).stream()
+        .mapToLong(Long::longValue).toArray();
+  }
+
+  private long pick(long[] keys) {
+    return keys[random.nextInt(keys.length)];
+  }
+
+  private List<Object[]> flush(String sql, List<Object[]> batch) {
+    return flush(sql, batch, batch.size() == BATCH_SIZE);
+  }
+
+  private List<Object[]> flush(String sql, List<Object[]> batch, boolean force) {
+    if (force && !batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, batch);
+      return new ArrayList<>(BATCH_SIZE);
+    }
+
+    return batch;
+  }
+
+}
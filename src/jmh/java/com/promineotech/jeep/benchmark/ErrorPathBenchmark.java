@@ -0,0 +1,133 @@
+package com.promineotech.jeep.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.errorhandler.ErrorResponseWriter;
+import com.promineotech.jeep.service.NotFoundException;
+
+/**
+ * A 404 storm: unknown order IDs and unknown trims requested over HTTP by many clients, plus the
+ * error path alone in-process, building the 404 body the way GlobalErrorHandler used to (an
+ * exception with a stack trace, a HashMap, an RFC 1123 date and Jackson) and the way it does now.
+ * 
+ * <p>Run with {@code -prof gc} for the allocation rate, e.g.
+ * {@code -Djmh.args="ErrorPath -prof gc"}. For the HTTP numbers before the change, run the same
+ * benchmarks at the previous commit; the in-process pair needs no second build. A stack trace
+ * taken here is far shallower than one taken under Spring MVC, so the in-process pair understates
+ * what the old path cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+  private static final String URI_PATH = "/orders/999999";
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest unknownOrder;
+  private HttpRequest unknownTrim;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkDatabase.startWebApplication("error_path",
+        "--spring.datasource.hikari.maximum-pool-size=20");
+
+    String base = "http://localhost:"
+        + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+    client = HttpClient.newBuilder()
+        .executor(Executors.newCachedThreadPool())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    unknownOrder = HttpRequest.newBuilder(URI.create(base + URI_PATH)).GET().build();
+    unknownTrim = HttpRequest
+        .newBuilder(URI.create(base + "/jeeps?model=WRANGLER&trim=NoSuchTrim")).GET().build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public int unknownOrder() throws IOException, InterruptedException {
+    return send(unknownOrder);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public int unknownTrim() throws IOException, InterruptedException {
+    return send(unknownTrim);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] legacyNotFoundBody() throws JsonProcessingException {
+    Exception e = new NoSuchElementException("Order with ID=999999 was not found");
+    Map<String, Object> error = new HashMap<>();
+
+    error.put("message", e.toString());
+    error.put("status code", HttpStatus.NOT_FOUND.value());
+    error.put("uri", URI_PATH);
+    error.put("timestamp", ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
+    error.put("reason", HttpStatus.NOT_FOUND.getReasonPhrase());
+
+    return objectMapper.writeValueAsBytes(error);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] notFoundBody() {
+    Exception e = new NotFoundException("Order with ID=999999 was not found");
+    return errorResponseWriter.write(HttpStatus.NOT_FOUND, URI_PATH, e).getBody();
+  }
+
+  private int send(HttpRequest request) throws IOException, InterruptedException {
+    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+    if (response.statusCode() != 404) {
+      throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+    }
+
+    return response.body().length;
+  }
+
+}
@@ -0,0 +1,121 @@
+package com.promineotech.jeep.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * GET /jeeps and POST /orders over HTTP from many concurrent clients, with requests served by
+ * Tomcat's platform worker pool or by one virtual thread each. SampleTime reports the p99 next
+ * to the mean, and the throughput is the sample count divided by the measurement time.
+ * 
+ * <p>Only {@code mode=platform} runs by default. {@code mode=virtual} needs Java 21 (-Ploom) and
+ * JMH cannot skip a parameter at run time, so it is requested explicitly, e.g.
+ * {@code -Djmh.args="HttpLoad -t 512 -p mode=platform,virtual"}. Raise {@code -t} well past
+ * server.tomcat.threads.max (200) to see the pool cap. The response cache is off, so every
+ * GET /jeeps reaches the service. H2 answers in microseconds, so against it the gap is smaller
+ * than against a networked MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class HttpLoadBenchmark {
+
+  // @formatter:off
+  private static final String ORDER = "{"
+      + "\"customer\":\"ROTH_GARTH\","
+      + "\"model\":\"GLADIATOR\","
+      + "\"trim\":\"Sport S\","
+      + "\"doors\":4,"
+      + "\"color\":\"EXT_SLATE_BLUE\","
+      + "\"engine\":\"6_4_GAS\","
+      + "\"tire\":\"295_YOKOHAMA\","
+      + "\"options\":[\"DOOR_QUAD_4\", \"EXT_WARN_WINCH\"]"
+      + "}";
+  // @formatter:on
+
+  @Param({"platform"})
+  private String mode;                                                      // platform or virtual
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest fetchJeeps;
+  private HttpRequest createOrder;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+      throw new IllegalStateException("mode=virtual needs Java 21, running on "
+          + Runtime.version());
+    }
+
+    context = BenchmarkDatabase.startWebApplication("http_load_" + mode,
+        "--jeep.threads.virtual=" + mode.equals("virtual"),
+        "--jeep.jeeps.response-cache.enabled=false",
+        "--spring.datasource.hikari.maximum-pool-size=20");
+
+    String base = "http://localhost:"
+        + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+    client = HttpClient.newBuilder()
+        .executor(Executors.newCachedThreadPool())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    fetchJeeps = HttpRequest.newBuilder(URI.create(base + "/jeeps?model=WRANGLER")).GET().build();
+    createOrder = HttpRequest.newBuilder(URI.create(base + "/orders"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int fetchJeeps() throws IOException, InterruptedException {
+    return send(fetchJeeps, 200);
+  }
+
+  @Benchmark
+  public int createOrder() throws IOException, InterruptedException {
+    return send(createOrder, 201);
+  }
+
+  private int send(HttpRequest request, int expected) throws IOException, InterruptedException {
+    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+    if (response.statusCode() != expected) {
+      throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+    }
+
+    return response.body().length;
+  }
+
+}
@@ -0,0 +1,128 @@
+package com.promineotech.jeep.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Customer;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.FuelType;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.OptionType;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.Tire;
+
+/**
+ * Jackson cost of the two response bodies, using an ObjectMapper configured the way Spring MVC
+ * configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private Order order;
+  private List<Jeep> jeeps;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    order = BenchmarkEntities.order();
+    jeeps = BenchmarkEntities.jeeps(50);
+  }
+
+  @Benchmark
+  public byte[] serializeOrder() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public byte[] serializeJeeps() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(jeeps);
+  }
+
+  /**
+   * Fixed sample entities shared by the serialization benchmarks.
+   */
+  static final class BenchmarkEntities {
+
+    private BenchmarkEntities() {}
+
+    static Order order() {
+      List<Option> options = new ArrayList<>();
+
+      for (int index = 0; index < 6; index++) {
+        // @formatter:off
+        options.add(Option.builder()
+            .optionPK((long) index)
+            .optionId("EXT_OPTION_" + index)
+            .category(OptionType.EXTERIOR)
+            .manufacturer("Warn")
+            .name("Benchmark option " + index)
+            .price(new BigDecimal("499.99"))
+            .build());
+        // @formatter:on
+      }
+
+      // @formatter:off
+      return Order.builder()
+          .orderPK(1L)
+          .customer(Customer.builder().customerPK(1L).customerId("ROTH_GARTH")
+              .firstName("Garth").lastName("Roth").phone("312.753.9994").build())
+          .model(jeeps(1).get(0))
+          .color(Color.builder().colorPK(1L).colorId("EXT_SLATE_BLUE").color("Slate Blue")
+              .price(new BigDecimal("395.00")).isExterior(true).build())
+          .engine(Engine.builder().enginePK(1L).engineId("6_4_GAS").sizeInLiters(6.4f)
+              .name("HEMI").fuelType(FuelType.GASOLINE).mpgCity(13f).mpgHwy(17f)
+              .hasStartStop(false).description("6.4L V8").price(new BigDecimal("6995.00"))
+              .build())
+          .tire(Tire.builder().tirePK(1L).tireId("295_YOKOHAMA").tireSize("295/70R17")
+              .manufacturer("Yokohama").price(new BigDecimal("1095.00"))
+              .warrantyMiles(60000).build())
+          .options(options)
+          .price(new BigDecimal("49910.00"))
+          .build();
+      // @formatter:on
+    }
+
+    static List<Jeep> jeeps(int count) {
+      List<Jeep> jeeps = new ArrayList<>(count);
+
+      for (int index = 0; index < count; index++) {
+        // @formatter:off
+        jeeps.add(Jeep.builder()
+            .modelPK((long) index)
+            .modelId(JeepModel.values()[index % JeepModel.values().length])
+            .trimLevel("Trim " + index)
+            .numDoors(index % 2 == 0 ? 2 : 4)
+            .wheelSize(17)
+            .basePrice(new BigDecimal("31975.00"))
+            .build());
+        // @formatter:on
+      }
+
+      return jeeps;
+    }
+  }
+
+}
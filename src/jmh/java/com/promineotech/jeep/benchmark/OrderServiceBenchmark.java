@@ -0,0 +1,105 @@
+package com.promineotech.jeep.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.service.JeepOrderService;
+import com.promineotech.jeep.service.JeepSalesService;
+
+/**
+ * End-to-end service timings against H2. {@code scale} is the number of generated customers and
+ * orders added on top of the seed data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+  private static final int BATCH = 100;
+
+  @Param({"10000"})
+  private int scale;
+
+  private ConfigurableApplicationContext context;
+  private JeepOrderService jeepOrderService;
+  private JeepSalesService jeepSalesService;
+  private OrderRequest orderRequest;
+  private List<OrderRequest> orderRequests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkDatabase.startApplication("order_benchmark");
+    new CatalogDataGenerator(context.getBean(DataSource.class)).generate(scale, 10, scale);
+
+    jeepOrderService = context.getBean(JeepOrderService.class);
+    jeepSalesService = context.getBean(JeepSalesService.class);
+
+    orderRequest = new OrderRequest();
+    orderRequest.setCustomer("ROTH_GARTH");
+    orderRequest.setModel(JeepModel.GLADIATOR);
+    orderRequest.setTrim("Sport S");
+    orderRequest.setDoors(4);
+    orderRequest.setColor("EXT_SLATE_BLUE");
+    orderRequest.setEngine("6_4_GAS");
+    orderRequest.setTire("295_YOKOHAMA");
+    orderRequest.setOptions(List.of("DOOR_QUAD_4", "EXT_AEV_LIFT", "EXT_WARN_WINCH",
+        "EXT_WARN_BUMPER_FRONT", "EXT_WARN_BUMPER_REAR", "EXT_ARB_COMPRESSOR"));
+
+    orderRequests = new ArrayList<>(BATCH);
+    for (int index = 0; index < BATCH; index++) {
+      orderRequests.add(orderRequest);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Order createOrder() {
+    return jeepOrderService.createOrder(orderRequest);
+  }
+
+  /**
+   * Same unit (orders per second) as {@link #createOrder()}, so the two scores compare the
+   * single-order and bulk paths directly.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public List<OrderResult> createOrdersInBulk() {
+    return jeepOrderService.createOrders(orderRequests.iterator());
+  }
+
+  @Benchmark
+  public List<Jeep> fetchJeeps() {
+    return jeepSalesService.fetchJeeps(
+        JeepFilter.builder().model(JeepModel.WRANGLER).trim("Sport").build());
+  }
+
+}
@@ -0,0 +1,114 @@
+package com.promineotech.jeep.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.promineotech.jeep.benchmark.JsonSerializationBenchmark.BenchmarkEntities;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+
+/**
+ * Encoding and decoding cost of the /jeeps and /orders bodies in each format the API accepts,
+ * with mappers built the way BinaryFormatsConfiguration builds them. The encoded size of each
+ * body is printed once per trial, before the first warmup iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+  @Param({"json", "cbor", "smile"})
+  private String format;
+
+  private ObjectMapper objectMapper;
+  private JavaType jeepList;
+  private Order order;
+  private List<Jeep> jeeps;
+  private OrderRequest orderRequest;
+  private byte[] encodedOrderRequest;
+  private byte[] encodedJeeps;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+    jeepList = objectMapper.getTypeFactory().constructCollectionType(List.class, Jeep.class);
+    order = BenchmarkEntities.order();
+    jeeps = BenchmarkEntities.jeeps(50);
+    orderRequest = orderRequest();
+
+    encodedOrderRequest = objectMapper.writeValueAsBytes(orderRequest);
+    encodedJeeps = objectMapper.writeValueAsBytes(jeeps);
+
+    System.out.printf("%n%s bytes: order=%d, order request=%d, 50 jeeps=%d%n", format,
+        objectMapper.writeValueAsBytes(order).length, encodedOrderRequest.length,
+        encodedJeeps.length);
+  }
+
+  @Benchmark
+  public byte[] writeOrder() throws IOException {
+    return objectMapper.writeValueAsBytes(order);
+  }
+
+  @Benchmark
+  public byte[] writeJeeps() throws IOException {
+    return objectMapper.writeValueAsBytes(jeeps);
+  }
+
+  @Benchmark
+  public OrderRequest readOrderRequest() throws IOException {
+    return objectMapper.readValue(encodedOrderRequest, OrderRequest.class);
+  }
+
+  @Benchmark
+  public List<Jeep> readJeeps() throws IOException {
+    return objectMapper.readValue(encodedJeeps, jeepList);
+  }
+
+  private JsonFactory factory() {
+    switch (format) {
+      case "cbor":
+        return new CBORFactory();
+      case "smile":
+        return new SmileFactory();
+      default:
+        return new JsonFactory();
+    }
+  }
+
+  private static OrderRequest orderRequest() {
+    OrderRequest request = new OrderRequest();
+
+    request.setCustomer("ROTH_GARTH");
+    request.setModel(BenchmarkEntities.jeeps(1).get(0).getModelId());
+    request.setTrim("Sport S");
+    request.setDoors(4);
+    request.setColor("EXT_SLATE_BLUE");
+    request.setEngine("6_4_GAS");
+    request.setTire("295_YOKOHAMA");
+    request.setOptions(List.of("DOOR_QUAD_4", "EXT_WARN_WINCH", "EXT_MOPAR_CAMERA"));
+
+    return request;
+  }
+
+}
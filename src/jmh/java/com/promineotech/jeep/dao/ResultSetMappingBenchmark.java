@@ -0,0 +1,118 @@
+package com.promineotech.jeep.dao;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.OrderComponents;
+
+/**
+ * Mapping cost of the DefaultJeepOrderDao extractors in isolation, fed from in-memory result
+ * sets so no database time is included. Lives in the dao package because the extractors are
+ * package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetMappingBenchmark {
+
+  private DefaultJeepOrderDao dao;
+  private SimpleResultSet modelRow;
+  private SimpleResultSet engineRow;
+  private SimpleResultSet componentRows;
+
+  @Setup
+  public void setUp() {
+    dao = new DefaultJeepOrderDao();
+
+    modelRow = resultSet();
+    modelRow.addColumn("model_pk", Types.BIGINT, 10, 0);
+    modelRow.addColumn("model_id", Types.VARCHAR, 40, 0);
+    modelRow.addColumn("trim_level", Types.VARCHAR, 40, 0);
+    modelRow.addColumn("num_doors", Types.INTEGER, 10, 0);
+    modelRow.addColumn("wheel_size", Types.INTEGER, 10, 0);
+    modelRow.addColumn("base_price", Types.DECIMAL, 9, 2);
+    modelRow.addRow(1L, "GLADIATOR", "Sport S", 4, 17, new BigDecimal("38015.00"));
+
+    engineRow = resultSet();
+    engineRow.addColumn("engine_pk", Types.BIGINT, 10, 0);
+    engineRow.addColumn("engine_id", Types.VARCHAR, 30, 0);
+    engineRow.addColumn("size_in_liters", Types.DECIMAL, 5, 2);
+    engineRow.addColumn("name", Types.VARCHAR, 60, 0);
+    engineRow.addColumn("fuel_type", Types.VARCHAR, 10, 0);
+    engineRow.addColumn("mpg_city", Types.DECIMAL, 7, 2);
+    engineRow.addColumn("mpg_hwy", Types.DECIMAL, 7, 2);
+    engineRow.addColumn("has_start_stop", Types.BOOLEAN, 1, 0);
+    engineRow.addColumn("description", Types.VARCHAR, 500, 0);
+    engineRow.addColumn("price", Types.DECIMAL, 9, 2);
+    engineRow.addRow(1L, "6_4_GAS", 6.4f, "HEMI", "GASOLINE", 13f, 17f, false, "6.4L V8",
+        new BigDecimal("6995.00"));
+
+    componentRows = resultSet();
+    String[] columns = {"customer_pk", "customer_id", "first_name", "last_name", "phone",
+        "model_pk", "model_id", "trim_level", "num_doors", "wheel_size", "base_price",
+        "color_pk", "color_id", "color", "color_price", "is_exterior",
+        "engine_pk", "engine_id", "size_in_liters", "engine_name", "fuel_type", "mpg_city",
+        "mpg_hwy", "has_start_stop", "description", "engine_price",
+        "tire_pk", "tire_id", "tire_size", "tire_manufacturer", "tire_price", "warranty_miles",
+        "option_pk", "option_id", "category", "option_manufacturer", "option_name",
+        "option_price"};
+
+    for (String column : columns) {
+      componentRows.addColumn(column, Types.VARCHAR, 100, 0);
+    }
+
+    for (int option = 0; option < 6; option++) {                            // One row per option, as the LEFT JOIN returns them
+      componentRows.addRow(1L, "ROTH_GARTH", "Garth", "Roth", "312.753.9994",
+          1L, "GLADIATOR", "Sport S", 4, 17, "38015.00",
+          1L, "EXT_SLATE_BLUE", "Slate Blue", "395.00", true,
+          1L, "6_4_GAS", "6.4", "HEMI", "GASOLINE", "13", "17", false, "6.4L V8", "6995.00",
+          1L, "295_YOKOHAMA", "295/70R17", "Yokohama", "1095.00", 60000,
+          (long) option, "EXT_OPTION_" + option, "EXTERIOR", "Warn", "Option", "499.99");
+    }
+  }
+
+  @Benchmark
+  public Jeep mapModel() throws SQLException {
+    return dao.new ModelResultSetExtractor().extractData(rewind(modelRow));
+  }
+
+  @Benchmark
+  public Engine mapEngine() throws SQLException {
+    return dao.new EngineResultSetExtractor().extractData(rewind(engineRow));
+  }
+
+  @Benchmark
+  public OrderComponents mapOrderComponents() throws SQLException {
+    return dao.new OrderComponentsResultSetExtractor().extractData(rewind(componentRows));
+  }
+
+  private static SimpleResultSet resultSet() {
+    SimpleResultSet rs = new SimpleResultSet();
+    rs.setAutoClose(false);                                                 // Allows beforeFirst() between invocations
+    return rs;
+  }
+
+  private static ResultSet rewind(SimpleResultSet rs) throws SQLException {
+    rs.beforeFirst();
+    return rs;
+  }
+
+}
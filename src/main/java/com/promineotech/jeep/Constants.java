@@ -3,6 +3,23 @@ package com.promineotech.jeep;
 public class Constants {
 
   public static final int TRIM_MAX_LENGTH = 30;
+  public static final int JEEP_PAGE_DEFAULT_SIZE = 20;
+  public static final int JEEP_PAGE_MAX_SIZE = 100;
+  public static final int IMAGE_ID_MAX_LENGTH = 40;
+  public static final int CUSTOMER_ID_MAX_LENGTH = 40;
+  public static final int ORDER_PAGE_DEFAULT_SIZE = 20;
+  public static final int ORDER_PAGE_MAX_SIZE = 100;
+  public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+  public static final int TICKET_ID_MAX_LENGTH = 36;
+  public static final int SALES_DIMENSION_ID_MAX_LENGTH = 80;
+  public static final int SALES_REPORT_MAX_DAYS = 366;
+  public static final int SALES_ROLLUP_SLOTS = 8;
+  public static final String REACTIVE_PROFILE = "reactive";
+  public static final String DAO_TIMER = "jeep.dao";
+  public static final String SERVICE_TIMER = "jeep.service";
+  public static final String OUTCOME_COUNTER = "jeep.requests.outcome";
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+  public static final String TEXT_CSV_VALUE = "text/csv";
 
   private Constants() {}
   
@@ -2,9 +2,13 @@ package com.promineotech.jeep;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import com.promineotech.ComponentScanMarker;
 
-@SpringBootApplication(scanBasePackageClasses = {ComponentScanMarker.class})    // tells Spring to scan (sub)classes in package from ComponentScanMarker.java
+@SpringBootApplication(scanBasePackageClasses = {ComponentScanMarker.class},    // tells Spring to scan (sub)classes in package from ComponentScanMarker.java
+    exclude = {R2dbcAutoConfiguration.class,                                    // The R2DBC pool is only created by the "reactive" profile (ReactiveConfiguration)
+        R2dbcTransactionManagerAutoConfiguration.class})                        // A second transaction manager would switch off the JDBC one @Transactional relies on
 public class JeepSales {
 
 	public static void main(String[] args) {
@@ -0,0 +1,126 @@
+package com.promineotech.jeep.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import com.promineotech.jeep.entity.CacheStats;
+
+/**
+ * Bounded, time-limited cache with hit and miss counters, used for catalog rows, customer keys,
+ * idempotency records and intake tickets. Entries are evicted least-recently-used once
+ * {@code maxSize} is reached and are treated as misses once they are older than {@code ttl}.
+ *
+ * @param <K> lookup key
+ * @param <V> cached value
+ */
+public class TtlCache<K, V> {
+
+  private final String name;
+  private final int maxSize;
+  private final long ttlNanos;
+  private final Map<K, CacheEntry<V>> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public TtlCache(String name, int maxSize, Duration ttl) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttlNanos = ttl.toNanos();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {                           // Access order gives LRU eviction
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        return size() > TtlCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value, counting a hit or a miss. Expired entries are removed and
+   * counted as a miss.
+   */
+  public Optional<V> get(K key) {
+    Optional<V> value = peek(key);
+
+    if (value.isPresent()) {
+      recordHit();
+    } else {
+      recordMiss();
+    }
+
+    return value;
+  }
+
+  /**
+   * Same as {@link #get(Object)} without counting, for a caller that only knows later whether
+   * the cached value is served; it counts with {@link #recordHit()} or {@link #recordMiss()}.
+   */
+  public Optional<V> peek(K key) {
+    synchronized (entries) {
+      CacheEntry<V> entry = entries.get(key);
+
+      if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+        return Optional.of(entry.value);
+      }
+
+      if (entry != null) {
+        entries.remove(key);
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  public void recordHit() {
+    hits.incrementAndGet();
+  }
+
+  public void recordMiss() {
+    misses.incrementAndGet();
+  }
+
+  public void put(K key, V value) {
+    synchronized (entries) {
+      entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public CacheStats stats() {
+    // @formatter:off
+    return CacheStats.builder()
+        .name(name)
+        .size(size())
+        .maxSize(maxSize)
+        .hits(hits.get())
+        .misses(misses.get())
+        .build();
+    // @formatter:on
+  }
+
+  private static class CacheEntry<V> {
+    final V value;
+    final long loadedAt;
+
+    CacheEntry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.promineotech.jeep.config;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * CBOR (application/cbor) and Smile ({@value com.promineotech.jeep.Constants#APPLICATION_SMILE_VALUE})
+ * next to JSON for every Jackson-mapped request and response body, chosen by Accept and
+ * Content-Type. Both are Jackson formats: the same entity classes, property names and bean
+ * validation as JSON, with no schema to keep in step. JSON stays first, so clients that accept
+ * anything still get JSON.
+ * <p>
+ * The mappers come from Spring Boot's builder, so they share the JSON mapper's spring.jackson
+ * settings and modules. Spring Boot puts these converters in place of Spring MVC's defaults for
+ * the same formats.
+ */
+@Configuration
+public class BinaryFormatsConfiguration {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+  }
+
+  /**
+   * Smile for the "reactive" profile, replacing WebFlux's default Smile codec with one built from
+   * Spring Boot's builder. Spring's CBOR codec cannot encode a Flux, so WebFlux serves no CBOR.
+   */
+  @Bean
+  public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+    ObjectMapper smile = smileMapper(builder);
+
+    return configurer -> {
+      configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile));
+      configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile));
+    };
+  }
+
+  private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+  }
+
+  private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder.createXmlMapper(false).factory(new SmileFactory()).build();
+  }
+
+}
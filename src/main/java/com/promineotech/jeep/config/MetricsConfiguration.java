@@ -0,0 +1,24 @@
+package com.promineotech.jeep.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times every method of the classes annotated with {@code @Timed}: the DAOs as
+ * {@value com.promineotech.jeep.Constants#DAO_TIMER} and the services as
+ * {@value com.promineotech.jeep.Constants#SERVICE_TIMER}, each tagged with class, method and
+ * exception. Histogram buckets are switched on in application.yaml under
+ * management.metrics.distribution. Controllers are already timed by Spring Boot as
+ * http.server.requests.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+
+}
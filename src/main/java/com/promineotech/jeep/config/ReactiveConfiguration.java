@@ -0,0 +1,97 @@
+package com.promineotech.jeep.config;
+
+import java.time.Duration;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import com.promineotech.jeep.Constants;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves GET /jeeps and POST /orders from Netty's event loops, reading the database through
+ * R2DBC, so an open client connection costs no thread while it waits. Everything else still
+ * runs on the JDBC DataSource.
+ * <p>
+ * Neither the connection pool nor its transaction manager is a bean: Spring Boot backs off its
+ * JDBC DataSource when it finds an R2DBC ConnectionFactory, and its JDBC transaction manager
+ * when it finds another one, and the blocking services still need both.
+ */
+@Configuration
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class ReactiveConfiguration {
+
+  @Value("${jeep.r2dbc.url}")
+  private String url;
+
+  @Value("${jeep.r2dbc.username:${spring.datasource.username:}}")                   // Same account as the JDBC DataSource unless overridden
+  private String username;
+
+  @Value("${jeep.r2dbc.password:${spring.datasource.password:}}")
+  private String password;
+
+  @Value("${jeep.r2dbc.pool.max-size:10}")
+  private int maxSize;
+
+  @Value("${jeep.r2dbc.pool.max-idle-time:30m}")
+  private Duration maxIdleTime;
+
+  /**
+   * Netty rather than Tomcat, which is also on the classpath for the servlet stack.
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  private ConnectionPool connectionPool;
+
+  @PostConstruct
+  void createConnectionPool() {
+    log.info("Connecting R2DBC pool to {}", url);
+
+    ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+
+    if (!username.isEmpty()) {
+      options.option(ConnectionFactoryOptions.USER, username);
+      options.option(ConnectionFactoryOptions.PASSWORD, password);
+    }
+
+    ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+
+    // @formatter:off
+    connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+        .maxSize(maxSize)
+        .maxIdleTime(maxIdleTime)
+        .build());
+    // @formatter:on
+  }
+
+  @PreDestroy
+  void closeConnectionPool() {
+    connectionPool.dispose();
+  }
+
+  @Bean
+  public DatabaseClient databaseClient() {
+    return DatabaseClient.create(connectionPool);
+  }
+
+  @Bean
+  public TransactionalOperator transactionalOperator() {
+    return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+  }
+
+}
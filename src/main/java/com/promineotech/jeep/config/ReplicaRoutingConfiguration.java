@@ -0,0 +1,116 @@
+package com.promineotech.jeep.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import com.promineotech.jeep.dao.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces Spring Boot's DataSource with one that sends read-only transactions to the replicas
+ * listed in jeep.datasource.replicas.urls and everything else to the spring.datasource primary.
+ * Boot cannot see the pools behind the router, so their HikariCP metrics are bound here, tagged
+ * pool=primary and pool=replica-N.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jeep.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfiguration {
+
+  @Value("${jeep.datasource.replicas.urls}")
+  private List<String> urls;
+
+  @Value("${jeep.datasource.replicas.username:${spring.datasource.username:}}")     // Same account as the primary unless overridden
+  private String username;
+
+  @Value("${jeep.datasource.replicas.password:${spring.datasource.password:}}")
+  private String password;
+
+  @Value("${jeep.datasource.replicas.maximum-pool-size:10}")
+  private int maximumPoolSize;
+
+  @Value("${jeep.datasource.replicas.connection-timeout:1s}")
+  private Duration connectionTimeout;
+
+  @Value("${jeep.datasource.replicas.health-check-interval:5s}")
+  private Duration healthCheckInterval;
+
+  private final List<HikariDataSource> pools = new ArrayList<>();
+  private ReplicaRoutingDataSource routingDataSource;
+
+  /**
+   * The primary pool is built from spring.datasource and spring.datasource.hikari as Spring Boot
+   * would build it.
+   */
+  @Bean
+  public DataSource dataSource(DataSourceProperties properties, Environment environment) {
+    HikariDataSource primary =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+    primary.setPoolName("primary");
+    pools.add(primary);
+
+    List<DataSource> replicas = new ArrayList<>();
+
+    for (String url : urls) {
+      log.info("Routing read-only transactions to {}", url);
+
+      // @formatter:off
+      HikariDataSource replica = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .url(url)
+          .username(username.isEmpty() ? null : username)
+          .password(username.isEmpty() ? null : password)
+          .build();
+      // @formatter:on
+
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setMaximumPoolSize(maximumPoolSize);
+      replica.setConnectionTimeout(connectionTimeout.toMillis());                   // A dead replica costs a read this long before it falls back
+      replica.setReadOnly(true);
+      replica.setInitializationFailTimeout(-1);                                     // Start even if a replica is down; the health check finds it later
+      pools.add(replica);
+      replicas.add(replica);
+    }
+
+    routingDataSource =
+        new ReplicaRoutingDataSource(primary, replicas, healthCheckInterval, connectionTimeout);
+
+    return new LazyConnectionDataSourceProxy(routingDataSource);                    // Defers the choice until the transaction's read-only flag is set
+  }
+
+  /**
+   * A binder rather than a tracker set while building the pools: the meter registry depends on
+   * the DataSource through Spring Boot's own pool metrics.
+   */
+  @Bean
+  @DependsOn("dataSource")
+  public MeterBinder hikariPoolMetrics() {
+    return registry -> pools.forEach(
+        pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+  }
+
+  @PreDestroy
+  void closeDataSources() throws Exception {
+    if (routingDataSource != null) {
+      routingDataSource.close();
+    }
+  }
+
+}
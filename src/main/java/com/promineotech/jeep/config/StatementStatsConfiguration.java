@@ -0,0 +1,40 @@
+package com.promineotech.jeep.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.promineotech.jeep.dao.ProfilingDataSource;
+import com.promineotech.jeep.dao.StatementRecorder;
+
+/**
+ * Wraps every DataSource bean in a {@link ProfilingDataSource}, so each statement the DAOs,
+ * Flyway and the transaction manager run is counted by statement shape. Statistics are served
+ * by GET /admin/sql. Does not cover the R2DBC pool of the "reactive" profile.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jeep.sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatsConfiguration {
+
+  /**
+   * Static, and given the recorder lazily, so the post-processor is registered before the
+   * DataSource and the recorder is still created as an ordinary bean.
+   */
+  @Bean
+  public static BeanPostProcessor profilingDataSourcePostProcessor(
+      ObjectProvider<StatementRecorder> recorder) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ProfilingDataSource)) {
+          return new ProfilingDataSource((DataSource) bean, recorder.getObject());
+        }
+
+        return bean;
+      }
+    };
+  }
+
+}
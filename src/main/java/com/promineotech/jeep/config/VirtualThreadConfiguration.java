@@ -0,0 +1,57 @@
+package com.promineotech.jeep.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs every request, and so every controller, service and DAO call, on its own virtual thread
+ * instead of Tomcat's bounded worker pool. Concurrency is then limited by the connection pool
+ * rather than by platform threads parked on JDBC reads. Requires Java 21; the executor is
+ * looked up reflectively so the code still compiles for Java 11.
+ * 
+ * <p>A virtual thread that blocks inside a synchronized block pins its carrier thread on Java 21,
+ * so locks held across JDBC, file or fsync calls are ReentrantLocks instead (the price table
+ * and customer ID loads, the image file cache and the order journal).
+ */
+@Configuration
+@ConditionalOnProperty(name = "jeep.threads.virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfiguration {
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+    ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    log.info("Serving requests on virtual threads");
+
+    return protocolHandler -> protocolHandler.setExecutor(executor);
+  }
+
+  /**
+   * Also used for asynchronous MVC results and @Async methods.
+   */
+  @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public AsyncTaskExecutor applicationTaskExecutor() {
+    return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("jeep.threads.virtual=true requires Java 21 or later, "
+          + "running on " + Runtime.version(), e);
+    }
+  }
+
+}
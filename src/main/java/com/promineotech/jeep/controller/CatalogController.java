@@ -0,0 +1,64 @@
+package com.promineotech.jeep.controller;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.entity.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RequestMapping("/catalog")                                             // Any request coming to /catalog will be mapped to this class
+public interface CatalogController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Returns catalog cache statistics",
+      
+      description = "Returns size and hit/miss counters for each catalog cache region",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The cache statistics are returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  array = @ArraySchema(schema = @Schema(implementation = CacheStats.class)))), 
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @GetMapping("/cache")
+  @ResponseStatus(code = HttpStatus.OK)
+  List<CacheStats> fetchCacheStats();
+
+  @Operation(
+      summary = "Invalidates the catalog cache",
+      
+      description = "Discards every cached model, color, engine, tire and option",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "204",                                     // 204 = No content
+              description = "The catalog cache was invalidated."),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @DeleteMapping("/cache")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  void invalidateCatalog();
+
+  // @formatter:on
+}
@@ -0,0 +1,29 @@
+package com.promineotech.jeep.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RestController;
+import com.promineotech.jeep.entity.CacheStats;
+import com.promineotech.jeep.service.CatalogService;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Slf4j
+public class DefaultCatalogController implements CatalogController {
+
+  @Autowired
+  private CatalogService catalogService;
+
+  @Override
+  public List<CacheStats> fetchCacheStats() {
+    return catalogService.fetchCacheStats();
+  }
+
+  @Override
+  public void invalidateCatalog() {
+    log.debug("Catalog cache invalidation requested");
+
+    catalogService.invalidateCatalog();
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.promineotech.jeep.controller;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.ImageContent;
+import com.promineotech.jeep.entity.ImageSize;
+import com.promineotech.jeep.service.JeepImageService;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Profile("!" + Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultJeepImageController implements JeepImageController {
+
+  @Autowired
+  private JeepImageService jeepImageService;
+
+  private final CacheControl cacheControl;
+
+  public DefaultJeepImageController(
+      @Value("${jeep.images.cache-control.max-age:1d}") Duration maxAge) {
+    cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+  }
+
+  /**
+   * Returning a file-backed Resource lets Spring answer Range requests with 206 and the
+   * matching slice of the file.
+   */
+  @Override
+  public ResponseEntity<Resource> fetchImage(Long modelPK, String imageId, ImageSize size,
+      WebRequest webRequest) {
+
+    log.debug("modelPK={}, imageId={}, size={}", modelPK, imageId, size);
+
+    String eTag = jeepImageService.imageETag(modelPK, imageId, size);
+
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+
+    ImageContent content = jeepImageService.fetchImage(modelPK, imageId, size);
+    String mimeType = content.getImage().getMimeType();
+
+    // @formatter:off
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(cacheControl)
+        .contentType(mimeType == null
+            ? MediaType.APPLICATION_OCTET_STREAM
+            : MediaType.parseMediaType(mimeType))
+        .body(content.getResource());
+    // @formatter:on
+  }
+
+}
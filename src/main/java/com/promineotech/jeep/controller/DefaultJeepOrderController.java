@@ -1,26 +1,128 @@
 package com.promineotech.jeep.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderPage;
 import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.entity.Quote;
 import com.promineotech.jeep.service.JeepOrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Profile("!" + Constants.REACTIVE_PROFILE)
 @Slf4j
 public class DefaultJeepOrderController implements JeepOrderController {
   
   @Autowired
   private JeepOrderService jeepOrderService;
+  
+  @Autowired
+  private ObjectMapper objectMapper;
+  
+  @Autowired
+  private MeterRegistry meterRegistry;
+  
+  private Counter created;                                                          // Failures are counted by GlobalErrorHandler
+  
+  @PostConstruct
+  void createCounters() {
+    created = meterRegistry.counter(Constants.OUTCOME_COUNTER, "uri", "/orders", "outcome", "created");
+  }
 
   @Override
-  public Order createOrder(OrderRequest orderRequest) {
+  public Order createOrder(OrderRequest orderRequest, String idempotencyKey) {
+    
+    log.debug("Order={}, Idempotency-Key={}", orderRequest, idempotencyKey);
     
-    log.debug("Order={}", orderRequest);
+    Order order = jeepOrderService.createOrder(orderRequest, idempotencyKey);
+    created.increment();
     
-    return jeepOrderService.createOrder(orderRequest);
+    return order;
 //    return null;                                              // return null to allow for red status bar during test for item 4
   }
 
+  @Override
+  public List<OrderResult> createOrders(List<OrderRequest> orderRequests) {
+    
+    log.debug("Bulk order of {} requests", orderRequests.size());
+    
+    return jeepOrderService.createOrders(orderRequests.iterator());
+  }
+
+  @Override
+  public List<OrderResult> createOrdersFromStream(InputStream orderRequests) throws IOException {
+    
+    log.debug("Bulk order stream");
+    
+    OrderRequestLines lines =                                                         // Reads one line at a time as the service consumes it
+        new OrderRequestLines(orderRequests, objectMapper.readerFor(OrderRequest.class));
+    List<OrderResult> results = jeepOrderService.createOrders(lines);
+    
+    lines.getParseErrors().forEach((index, message) -> results.get(index).setMessage(message));
+    
+    return results;
+  }
+
+  @Override
+  public Quote quoteOrder(OrderRequest orderRequest) {
+    
+    log.debug("Quote={}", orderRequest);
+    
+    return jeepOrderService.quoteOrder(orderRequest);
+  }
+
+  @Override
+  public Order fetchOrder(Long orderPK) {
+    
+    log.debug("orderPK={}", orderPK);
+    
+    return jeepOrderService.fetchOrder(orderPK);
+  }
+
+  @Override
+  public OrderPage fetchOrderHistory(String customer, Long cursor, int limit) {
+    
+    log.debug("customer={}, cursor={}, limit={}", customer, cursor, limit);
+    
+    return jeepOrderService.fetchOrderHistory(customer, cursor, limit);
+  }
+
+  /**
+   * Written on the request thread rather than as a StreamingResponseBody: an export of every
+   * order runs far longer than the async request timeout.
+   */
+  @Override
+  public void exportOrders(long after, HttpServletResponse response) throws IOException {
+    
+    log.debug("Export after={}", after);
+    
+    response.setContentType(Constants.TEXT_CSV_VALUE + ";charset=UTF-8");
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"");
+    
+    try (OrderCsvWriter csv = new OrderCsvWriter(response.getOutputStream())) {
+      csv.writeHeader();
+      jeepOrderService.exportOrders(after, order -> {
+        try {
+          csv.write(order);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);                                        // Client went away; stops the JDBC read
+        }
+      });
+    }
+  }
+
 }
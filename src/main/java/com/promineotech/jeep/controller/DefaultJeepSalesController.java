@@ -1,26 +1,197 @@
 package com.promineotech.jeep.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.CatalogVersion;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.JeepPage;
+import com.promineotech.jeep.service.CatalogService;
 import com.promineotech.jeep.service.JeepSalesService;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Profile("!" + Constants.REACTIVE_PROFILE)                                          // Servlet stack only; see the Reactive* classes
 @Slf4j                                                                              // Enables logger
 public class DefaultJeepSalesController implements JeepSalesController {
 
+  private static final List<MediaType> FORMATS = List.of(                           // In order of preference when the client accepts several
+      MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+      MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE));
+
   @Autowired                                                                        // Injecting the JeepSalesService
   private JeepSalesService jeepSalesService;
   
+  @Autowired
+  private ObjectMapper objectMapper;
+  
+  @Autowired
+  private CatalogService catalogService;
+  
+  @Autowired
+  private ContentNegotiationManager contentNegotiationManager;
+  
+  @Autowired
+  private Validator validator;                                                      // Checks the constraints that span more than one parameter
+  
+  @Value("${jeep.jeeps.cache-control.max-age:0s}")
+  private Duration cacheMaxAge;
+  
+  @Value("${jeep.jeeps.cache-control.public:true}")
+  private boolean cachePublic;
+  
+  private CacheControl cacheControl;
+  
+  @PostConstruct
+  void createCacheControl() {
+    CacheControl control = cacheMaxAge.isZero()
+        ? CacheControl.noCache()                                                    // Clients must revalidate with the ETag every time
+        : CacheControl.maxAge(cacheMaxAge).mustRevalidate();
+    
+    cacheControl = cachePublic ? control.cachePublic() : control.cachePrivate();
+  }
+  
   @Override
-  public List<Jeep> fetchJeeps(JeepModel model, String trim) {
+  public ResponseEntity<List<Jeep>> fetchJeeps(JeepModel model, String trim, Integer doors,
+      Integer wheelSize, BigDecimal minPrice, BigDecimal maxPrice, WebRequest webRequest) {
+    
+    log.debug("model={}, trim={}, doors={}, wheelSize={}, minPrice={}, maxPrice={}", model,
+        trim, doors, wheelSize, minPrice, maxPrice);                                 // Logs the supplied criteria
+    
+    // @formatter:off
+    JeepFilter filter = JeepFilter.builder()
+        .model(model)
+        .trim(trim)
+        .doors(doors)
+        .wheelSize(wheelSize)
+        .minPrice(minPrice)
+        .maxPrice(maxPrice)
+        .build();
+    // @formatter:on
+    
+    Set<ConstraintViolation<JeepFilter>> violations = validator.validate(filter);
+    
+    if (!violations.isEmpty()) {                                                    // minPrice above maxPrice could only ever match nothing
+      throw new ConstraintViolationException(violations);
+    }
+    
+    return cacheable(webRequest, () -> jeepSalesService.fetchJeeps(filter));
+  }
+
+  @Override
+  public ResponseEntity<JeepPage> fetchJeepPage(JeepModel model, String trim, String cursor,
+      int limit, WebRequest webRequest) {
+    
+    log.debug("model={}, trim={}, cursor={}, limit={}", model, trim, cursor, limit);
+    
+    return cacheable(webRequest,
+        () -> jeepSalesService.fetchJeepPage(model, trim, cursor, limit));
+  }
+
+  @Override
+  public ResponseEntity<StreamingResponseBody> streamJeeps(JeepModel model, String trim) {
+    
+    log.debug("stream model={}, trim={}", model, trim);
+    
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+        generator.setRootValueSeparator(null);                                  // Lines are separated by '\n' only
+        jeepSalesService.streamJeeps(model, trim, jeep -> {
+          try {
+            generator.writeObject(jeep);
+            generator.writeRaw('\n');                                             // One JSON object per line
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);                                  // Client went away; stops the JDBC read
+          }
+        });
+      }
+    };
+    
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Answers a conditional GET from the catalog version alone. The body is only built, and the
+   * database only read, when the client's copy is stale. JSON, CBOR and Smile bodies of the same
+   * catalog differ, so the format is chosen here and named in the ETag, and Vary: Accept tells
+   * shared caches to keep them apart.
+   */
+  private <T> ResponseEntity<T> cacheable(WebRequest webRequest, Supplier<T> body) {
+    CatalogVersion version = catalogService.fetchCatalogVersion();
+    MediaType format = format(webRequest);
+    String eTag = version.getETag(format.getSubtype());
+    
+    if (webRequest.checkNotModified(eTag, version.getLastModified().toEpochMilli())) {
+      // @formatter:off
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .cacheControl(cacheControl)
+          .varyBy(HttpHeaders.ACCEPT)
+          .build();
+      // @formatter:on
+    }
+    
+    // @formatter:off
+    return ResponseEntity.ok()
+        .contentType(format)                                                        // The converter writes the format the ETag names
+        .eTag(eTag)
+        .lastModified(version.getLastModified())
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(body.get());
+    // @formatter:on
+  }
+
+  /**
+   * @return the first of JSON, CBOR and Smile the Accept header allows, by quality; JSON if it
+   *         allows none of them, so the converters report the 406
+   */
+  private MediaType format(WebRequest webRequest) {
+    List<MediaType> accepted;
+    
+    try {
+      accepted = contentNegotiationManager.resolveMediaTypes((NativeWebRequest) webRequest);
+    } catch (HttpMediaTypeNotAcceptableException e) {
+      return MediaType.APPLICATION_JSON;
+    }
+    
+    MediaType.sortBySpecificityAndQuality(accepted);
     
-    log.debug("model={}, trim={}", model, trim);                                     // Logs model and trim
+    for (MediaType acceptable : accepted) {
+      for (MediaType format : FORMATS) {
+        if (acceptable.isCompatibleWith(format)) {
+          return format;
+        }
+      }
+    }
     
-    return jeepSalesService.fetchJeeps(model, trim);
+    return MediaType.APPLICATION_JSON;
   }
 
 }
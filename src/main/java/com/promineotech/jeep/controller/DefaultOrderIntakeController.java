@@ -0,0 +1,45 @@
+package com.promineotech.jeep.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.IntakeTicket;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.service.OrderIntakeService;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@Profile("!" + Constants.REACTIVE_PROFILE)
+@ConditionalOnProperty(name = "jeep.orders.intake.enabled", havingValue = "true")
+@Slf4j
+public class DefaultOrderIntakeController implements OrderIntakeController {
+
+  @Autowired
+  private OrderIntakeService orderIntakeService;
+
+  @Override
+  public ResponseEntity<IntakeTicket> submitOrder(OrderRequest orderRequest) {
+    
+    log.debug("Queued order={}", orderRequest);
+    
+    IntakeTicket ticket = orderIntakeService.submit(orderRequest);
+    
+    return ResponseEntity.accepted()
+        .location(ServletUriComponentsBuilder.fromCurrentRequest()
+            .path("/{ticketId}").buildAndExpand(ticket.getTicketId()).toUri())
+        .body(ticket);
+  }
+
+  @Override
+  public IntakeTicket fetchTicket(String ticketId) {
+    
+    log.debug("ticketId={}", ticketId);
+    
+    return orderIntakeService.fetchTicket(ticketId);
+  }
+
+}
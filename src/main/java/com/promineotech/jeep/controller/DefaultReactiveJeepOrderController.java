@@ -0,0 +1,40 @@
+package com.promineotech.jeep.controller;
+
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RestController;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.service.ReactiveJeepOrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepOrderController implements ReactiveJeepOrderController {
+
+  @Autowired
+  private ReactiveJeepOrderService jeepOrderService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private Counter created;                                                          // Failures are counted by ReactiveErrorHandler
+
+  @PostConstruct
+  void createCounters() {
+    created = meterRegistry.counter(Constants.OUTCOME_COUNTER, "uri", "/orders", "outcome", "created");
+  }
+
+  @Override
+  public Mono<Order> createOrder(OrderRequest orderRequest) {
+    log.debug("Order={}", orderRequest);
+    return jeepOrderService.createOrder(orderRequest).doOnSuccess(order -> created.increment());
+  }
+
+}
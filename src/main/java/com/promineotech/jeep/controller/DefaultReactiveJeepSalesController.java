@@ -0,0 +1,57 @@
+package com.promineotech.jeep.controller;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RestController;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.service.ReactiveJeepSalesService;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+@RestController
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepSalesController implements ReactiveJeepSalesController {
+
+  @Autowired
+  private ReactiveJeepSalesService jeepSalesService;
+
+  @Autowired
+  private Validator validator;
+
+  @Override
+  public Flux<Jeep> fetchJeeps(JeepModel model, String trim, Integer doors, Integer wheelSize,
+      BigDecimal minPrice, BigDecimal maxPrice) {
+    
+    log.debug("model={}, trim={}, doors={}, wheelSize={}, minPrice={}, maxPrice={}", model,
+        trim, doors, wheelSize, minPrice, maxPrice);
+    
+    // @formatter:off
+    JeepFilter filter = JeepFilter.builder()
+        .model(model)
+        .trim(trim)
+        .doors(doors)
+        .wheelSize(wheelSize)
+        .minPrice(minPrice)
+        .maxPrice(maxPrice)
+        .build();
+    // @formatter:on
+    
+    Set<ConstraintViolation<JeepFilter>> violations = validator.validate(filter);
+    
+    if (!violations.isEmpty()) {
+      throw new ConstraintViolationException(violations);
+    }
+    
+    return jeepSalesService.fetchJeeps(filter);
+  }
+
+}
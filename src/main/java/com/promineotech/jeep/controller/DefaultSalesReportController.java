@@ -0,0 +1,32 @@
+package com.promineotech.jeep.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RestController;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import com.promineotech.jeep.entity.SalesRollupRebuild;
+import com.promineotech.jeep.service.SalesReportService;
+
+@RestController
+@Profile("!" + Constants.REACTIVE_PROFILE)
+public class DefaultSalesReportController implements SalesReportController {
+
+  @Autowired
+  private SalesReportService salesReportService;
+
+  @Override
+  public List<SalesRollup> fetchSalesRollups(SalesDimension dimension, String id,
+      LocalDate from, int days) {
+    return salesReportService.fetchSalesRollups(dimension, id, from, days);
+  }
+
+  @Override
+  public SalesRollupRebuild rebuildSalesRollups() {
+    return salesReportService.rebuildSalesRollups();
+  }
+
+}
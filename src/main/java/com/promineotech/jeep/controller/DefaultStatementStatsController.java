@@ -0,0 +1,25 @@
+package com.promineotech.jeep.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RestController;
+import com.promineotech.jeep.entity.StatementStats;
+import com.promineotech.jeep.service.StatementStatsService;
+
+@RestController
+public class DefaultStatementStatsController implements StatementStatsController {
+
+  @Autowired
+  private StatementStatsService statementStatsService;
+
+  @Override
+  public List<StatementStats> fetchStatementStats() {
+    return statementStatsService.fetchStatementStats();
+  }
+
+  @Override
+  public void resetStatementStats() {
+    statementStatsService.resetStatementStats();
+  }
+
+}
@@ -0,0 +1,97 @@
+package com.promineotech.jeep.controller;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import org.hibernate.validator.constraints.Length;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.ImageSize;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@Validated
+@RequestMapping("/jeeps")                                               // Images are addressed under the model they belong to
+public interface JeepImageController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Returns an image of a Jeep model",
+      
+      description = "Returns the image bytes, optionally scaled down to a THUMBNAIL or CARD "
+          + "variant. Supports Range requests for partial content and If-None-Match for "
+          + "revalidation.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The image is returned.",
+              content = {
+                  @Content(mediaType = "image/jpeg"),
+                  @Content(mediaType = "image/png")}), 
+          @ApiResponse(
+              responseCode = "206",                                     // 206 = Partial content
+              description = "The requested byte range of the image is returned."), 
+          @ApiResponse(
+              responseCode = "304",                                     // 304 = Not modified
+              description = "The image has not changed since the supplied ETag."), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid model key or image ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "The model has no image with that ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "503",                                     // 503 = Service unavailable
+              description = "Too many resizes are queued; retry later.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "modelPK", 
+              allowEmptyValue = false, 
+              required = true, 
+              description = "The model's primary key"),
+          @Parameter(
+              name = "imageId", 
+              allowEmptyValue = false, 
+              required = true, 
+              description = "The image ID"),
+          @Parameter(
+              name = "size", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "THUMBNAIL, CARD or FULL (default)")
+      }
+  )
+
+  @GetMapping("/{modelPK}/images/{imageId}")
+    ResponseEntity<Resource> fetchImage(
+      @Positive
+      @PathVariable Long modelPK,
+
+      @Length(max = Constants.IMAGE_ID_MAX_LENGTH)
+      @Pattern(regexp = "[\\w-]+")                     // Also keeps the ID safe to use in file names and ETags
+      @PathVariable String imageId,
+
+      @RequestParam(defaultValue = "FULL") ImageSize size,
+
+      WebRequest webRequest);
+
+  // @formatter:on
+}
@@ -1,18 +1,38 @@
 package com.promineotech.jeep.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import org.hibernate.validator.constraints.Length;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderPage;
 import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.entity.Quote;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -34,9 +54,115 @@ public interface JeepOrderController {
           @ApiResponse(
               responseCode = "201",                                     // 201 = Created
               description = "The created Jeep is returned.",
+              content = {
+                  @Content(
+                      mediaType = "application/json", 
+                      schema = @Schema(implementation = Order.class)),
+                  @Content(
+                      mediaType = "application/cbor",                   // Same properties, binary encoded
+                      schema = @Schema(implementation = Order.class)),
+                  @Content(
+                      mediaType = Constants.APPLICATION_SMILE_VALUE, 
+                      schema = @Schema(implementation = Order.class))}), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "A Jeep component was not found with input criteria.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "422",                                     // 422 = Key reused for a different order
+              description = "The Idempotency-Key was already used for a different order.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "orderRequest", 
+              required = true, 
+              description = "The order as JSON, CBOR or Smile"),
+          @Parameter(
+              name = "Idempotency-Key", 
+              required = false, 
+              description = "Client-chosen key; retries with the same key return the first order "
+                  + "instead of creating another")
+      }
+      
+  )
+
+  @PostMapping                                                          // Spring will map POST requests at /orders to the createOrder method
+  @ResponseStatus(code = HttpStatus.CREATED)
+  Order createOrder(@Valid @RequestBody OrderRequest orderRequest,
+      @Length(min = 1, max = Constants.IDEMPOTENCY_KEY_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\-.:]*")
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey);
+
+  @Operation(
+      summary = "Create many orders for Jeeps",
+      
+      description = "Returns one result per submitted order. Orders are validated and created "
+          + "independently, so the result list can mix created orders and failures.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK, per-order status in the body
+              description = "A result is returned for every submitted order.",
               content = @Content(
                   mediaType = "application/json", 
-                  schema = @Schema(implementation = Order.class))), 
+                  array = @ArraySchema(schema = @Schema(implementation = OrderResult.class)))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "The request body could not be read.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "orderRequests", 
+              required = true, 
+              description = "The orders as a JSON array")
+      }
+      
+  )
+
+  @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(code = HttpStatus.OK)
+  List<OrderResult> createOrders(@RequestBody List<OrderRequest> orderRequests);
+
+  @Operation(
+      summary = "Create many orders for Jeeps from a stream",
+      
+      description = "Same as the JSON array form, but reads one order per line "
+          + "(newline-delimited JSON) so the request is never held in memory as a whole."
+  )
+
+  @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @ResponseStatus(code = HttpStatus.OK)
+  List<OrderResult> createOrdersFromStream(InputStream orderRequests) throws IOException;
+
+  @Operation(
+      summary = "Prices an order for a Jeep without creating it",
+      
+      description = "Returns the price POST /orders would charge, broken down by component. "
+          + "Answered from the in-memory price table.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The quote is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = Quote.class))), 
           @ApiResponse(
               responseCode = "400",                                     // 400 = Bad input/request
               description = "Invalid request parameters.",
@@ -57,11 +183,142 @@ public interface JeepOrderController {
               required = true, 
               description = "The order as JSON")
       }
+  )
+
+  @PostMapping("/quote")
+  @ResponseStatus(code = HttpStatus.OK)
+  Quote quoteOrder(@Valid @RequestBody OrderRequest orderRequest);
+
+  @Operation(
+      summary = "Returns an order",
+      
+      description = "Returns the order with its customer, model, color, engine, tire and options",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The order is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = Order.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid order ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "No order was found with that ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "orderPK", 
+              required = true, 
+              description = "The order ID")
+      }
+  )
+
+  @GetMapping("/{orderPK}")
+  @ResponseStatus(code = HttpStatus.OK)
+  Order fetchOrder(@Positive @PathVariable Long orderPK);
+
+  @Operation(
+      summary = "Returns a customer's orders",
+      
+      description = "Returns the customer's orders newest first, a page at a time. Pass the "
+          + "returned nextCursor to get the following page.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "A page of orders is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = OrderPage.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "No customer was found with that ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "customer", 
+              required = true, 
+              description = "The customer ID (i.e. 'ROTH_GARTH')"),
+          @Parameter(
+              name = "cursor", 
+              required = false, 
+              description = "The nextCursor of the previous page"),
+          @Parameter(
+              name = "limit", 
+              required = false, 
+              description = "Page size, at most " + Constants.ORDER_PAGE_MAX_SIZE)
+      }
+  )
+
+  @GetMapping
+  @ResponseStatus(code = HttpStatus.OK)
+  OrderPage fetchOrderHistory(
+      @Length(max = Constants.CUSTOMER_ID_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\s]*")
+      @RequestParam String customer,
+
+      @Positive
+      @RequestParam(required = false) Long cursor,
+
+      @Min(1)
+      @Max(Constants.ORDER_PAGE_MAX_SIZE)
+      @RequestParam(defaultValue = "" + Constants.ORDER_PAGE_DEFAULT_SIZE) int limit);
+
+  @Operation(
+      summary = "Exports every order as CSV",
+      
+      description = "Streams each order with its customer, components and options, one CSV line "
+          + "per order in order_pk order, as it is read from the database. An interrupted export "
+          + "is resumed by passing the order_pk of the last complete line as after.",
       
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The orders are streamed, after a header line.",
+              content = @Content(mediaType = Constants.TEXT_CSV_VALUE)), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "after", 
+              required = false, 
+              description = "Export only orders with a greater order_pk (default 0: every order)")
+      }
   )
 
-  @PostMapping                                                          // Spring will map POST requests at /orders to the createOrder method
-  @ResponseStatus(code = HttpStatus.CREATED)
-  Order createOrder(@Valid @RequestBody OrderRequest orderRequest);
+  @GetMapping(path = "/export", produces = Constants.TEXT_CSV_VALUE)
+  void exportOrders(
+      @PositiveOrZero
+      @RequestParam(defaultValue = "0") long after,
+
+      HttpServletResponse response) throws IOException;
 
 }
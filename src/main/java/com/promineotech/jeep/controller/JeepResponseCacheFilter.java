@@ -0,0 +1,197 @@
+package com.promineotech.jeep.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.CachedResponse;
+import com.promineotech.jeep.service.CatalogService;
+import com.promineotech.jeep.service.JeepResponseCache;
+
+/**
+ * Answers GET /jeeps from {@link JeepResponseCache}: a repeated query for the current catalog
+ * version costs a map lookup and a copy of the encoded, and possibly gzipped, bytes to the
+ * servlet output stream, without reaching the controller, the service or the message
+ * converters. A miss goes through Spring MVC as usual and its 200 response is captured for the
+ * next request. Errors are never cached. The Accept header is part of the key, so JSON, CBOR
+ * and Smile readers each get the format Spring MVC chose for them.
+ * <p>
+ * Conditional requests are left to the controller, which answers them from the catalog version
+ * alone, and so are requests that repeat a parameter.
+ */
+@Component
+@Profile("!" + Constants.REACTIVE_PROFILE)
+@ConditionalOnProperty(name = "jeep.jeeps.response-cache.enabled", matchIfMissing = true)
+public class JeepResponseCacheFilter extends OncePerRequestFilter {
+
+  private static final String PATH = "/jeeps";
+  private static final List<String> PARAMETERS =                                    // Spring ignores any other parameter, so the key does too
+      List.of("model", "trim", "doors", "wheelSize", "minPrice", "maxPrice");
+  private static final List<String> REPLAYED_HEADERS =
+      List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+  @Autowired
+  private JeepResponseCache jeepResponseCache;
+
+  @Autowired
+  private CatalogService catalogService;
+
+  @Value("${jeep.jeeps.response-cache.gzip-min-size:1KB}")
+  private DataSize gzipMinSize;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod())
+        || !PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String key = key(request);
+
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);                       // The same URL is answered as JSON, CBOR or Smile
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);              // ... and with and without gzip
+
+    if (key == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long version = catalogService.fetchCatalogVersion().getVersion();               // Read first, so a body built across a catalog change is stored as stale
+    CachedResponse cached = jeepResponseCache.get(key, version).orElse(null);
+
+    if (cached != null) {
+      request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATH);   // Keeps the uri tag on http.server.requests
+      write(request, response, cached);
+      return;
+    }
+
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    filterChain.doFilter(request, wrapper);
+
+    if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+      wrapper.copyBodyToResponse();
+      return;
+    }
+
+    byte[] body = wrapper.getContentAsByteArray();
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put(HttpHeaders.CONTENT_TYPE, wrapper.getContentType());
+
+    for (String name : REPLAYED_HEADERS) {
+      String value = wrapper.getHeader(name);
+
+      if (value != null) {
+        headers.put(name, value);
+      }
+    }
+
+    // @formatter:off
+    cached = CachedResponse.builder()
+        .catalogVersion(version)
+        .headers(headers)
+        .body(body)
+        .gzipBody(body.length < gzipMinSize.toBytes() ? null : gzip(body))
+        .build();
+    // @formatter:on
+
+    jeepResponseCache.put(key, cached);
+    write(request, response, cached);                                               // Headers already went through the wrapper; only the body is left
+  }
+
+  /**
+   * @return the Accept header as sent and the query parameters fetchJeeps reads, in a fixed
+   *         order, or null if this request should not be answered from the cache
+   */
+  private static String key(HttpServletRequest request) {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+      return null;
+    }
+
+    String accept = request.getHeader(HttpHeaders.ACCEPT);                          // As sent: clients use few distinct values, and negotiating
+    StringBuilder key = new StringBuilder(accept == null ? "" : accept).append('?');  // here would mean copying Spring MVC's rules
+
+    for (String name : PARAMETERS) {
+      String[] values = request.getParameterValues(name);
+
+      if (values == null) {
+        continue;
+      }
+
+      if (values.length > 1) {
+        return null;                                                                // Spring's own binding decides what a repeated parameter means
+      }
+
+      key.append(name).append('=').append(values[0]).append('&');
+    }
+
+    return key.toString();
+  }
+
+  private static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+      }
+    }
+
+    return false;
+  }
+
+  private static void write(HttpServletRequest request, HttpServletResponse response,
+      CachedResponse cached) throws IOException {
+    cached.getHeaders().forEach(response::setHeader);
+
+    byte[] body = cached.getBody();
+
+    if (cached.getGzipBody() != null && acceptsGzip(request)) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+      body = cached.getGzipBody();
+    }
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  /**
+   * @return the compressed body, or null if it is not smaller
+   */
+  private static byte[] gzip(byte[] body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    }
+
+    return out.size() < body.length ? out.toByteArray() : null;
+  }
+
+}
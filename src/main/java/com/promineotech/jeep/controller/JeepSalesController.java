@@ -1,17 +1,25 @@
 package com.promineotech.jeep.controller;
 
+import java.math.BigDecimal;
 import java.util.List;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import org.hibernate.validator.constraints.Length;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Jeep;
 import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.JeepPage;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,15 +39,26 @@ public interface JeepSalesController {
   @Operation(
       summary = "Returns a list of Jeeps",
       
-      description = "Returns a list of Jeeps given an optional model and/or trim",
+      description = "Returns a list of Jeeps given any combination of model, trim, doors, "
+          + "wheel size and price range",
       
       responses = {
           @ApiResponse(
               responseCode = "200",                                     // 200 = OK
               description = "A list of Jeeps is returned.",
-              content = @Content(
-                  mediaType = "application/json", 
-                  schema = @Schema(implementation = Jeep.class))), 
+              content = {
+                  @Content(
+                      mediaType = "application/json", 
+                      schema = @Schema(implementation = Jeep.class)),
+                  @Content(
+                      mediaType = "application/cbor",                   // Same properties, binary encoded
+                      schema = @Schema(implementation = Jeep.class)),
+                  @Content(
+                      mediaType = Constants.APPLICATION_SMILE_VALUE, 
+                      schema = @Schema(implementation = Jeep.class))}), 
+          @ApiResponse(
+              responseCode = "304",                                     // 304 = Not modified
+              description = "The catalog has not changed since the supplied ETag."), 
           @ApiResponse(
               responseCode = "400",                                     // 400 = Bad input/request
               description = "Invalid request parameters.",
@@ -64,18 +83,148 @@ public interface JeepSalesController {
               name = "trim", 
               allowEmptyValue = false, 
               required = false, 
-              description = "The trim level (i.e. 'Sport')")
+              description = "The trim level (i.e. 'Sport')"),
+          @Parameter(
+              name = "doors", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The number of doors (i.e. 4)"),
+          @Parameter(
+              name = "wheelSize", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The wheel size in inches (i.e. 17)"),
+          @Parameter(
+              name = "minPrice", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The lowest base price to include"),
+          @Parameter(
+              name = "maxPrice", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The highest base price to include")
       }
       
   )
 
   @GetMapping                                           // Spring will map GET requests at /jeeps to the fetchJeeps method
-  @ResponseStatus(code = HttpStatus.OK)
-    List<Jeep> fetchJeeps(
+    ResponseEntity<List<Jeep>> fetchJeeps(
       @RequestParam(required = false) JeepModel model, 
 
       @Length(max = Constants.TRIM_MAX_LENGTH)          // Perform length validation first (efficiency, prevent REDOS attacks)
       @Pattern(regexp = "[\\w\\s]*")                    // Allow words and spaces
+      @RequestParam(required = false) String trim,
+
+      @Positive
+      @RequestParam(required = false) Integer doors,
+
+      @Positive
+      @RequestParam(required = false) Integer wheelSize,
+
+      @PositiveOrZero
+      @RequestParam(required = false) BigDecimal minPrice,
+
+      @PositiveOrZero
+      @RequestParam(required = false) BigDecimal maxPrice,
+
+      WebRequest webRequest);                           // Supplies If-None-Match / If-Modified-Since
+
+  @Operation(
+      summary = "Returns a page of Jeeps",
+      
+      description = "Returns Jeeps sorted by model, trim and doors, a page at a time. Pass the "
+          + "returned nextCursor to get the following page.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "A page of Jeeps is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = JeepPage.class))), 
+          @ApiResponse(
+              responseCode = "304",                                     // 304 = Not modified
+              description = "The catalog has not changed since the supplied ETag."), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters or cursor.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "model", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The model name (i.e. 'WRANGLER')"),
+          @Parameter(
+              name = "trim", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The trim level (i.e. 'Sport')"),
+          @Parameter(
+              name = "cursor", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The nextCursor of the previous page"),
+          @Parameter(
+              name = "limit", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "Page size, at most " + Constants.JEEP_PAGE_MAX_SIZE)
+      }
+      
+  )
+
+  @GetMapping("/page")
+    ResponseEntity<JeepPage> fetchJeepPage(
+      @RequestParam(required = false) JeepModel model, 
+
+      @Length(max = Constants.TRIM_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\s]*")
+      @RequestParam(required = false) String trim,
+
+      @Length(max = Constants.TRIM_MAX_LENGTH * 2)                     // Base64 of model|trim|doors
+      @Pattern(regexp = "[\\w-]*")
+      @RequestParam(required = false) String cursor,
+
+      @Min(1)
+      @Max(Constants.JEEP_PAGE_MAX_SIZE)
+      @RequestParam(defaultValue = "" + Constants.JEEP_PAGE_DEFAULT_SIZE) int limit,
+
+      WebRequest webRequest);
+
+  @Operation(
+      summary = "Streams Jeeps as newline-delimited JSON",
+      
+      description = "Writes every matching Jeep, sorted by model, trim and doors, one JSON "
+          + "object per line as it is read from the database.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The Jeeps are streamed.",
+              content = @Content(
+                  mediaType = "application/x-ndjson", 
+                  schema = @Schema(implementation = Jeep.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamJeeps(
+      @RequestParam(required = false) JeepModel model, 
+
+      @Length(max = Constants.TRIM_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\s]*")
       @RequestParam(required = false) String trim);
 
   // @formatter:on
@@ -0,0 +1,105 @@
+package com.promineotech.jeep.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.Order;
+
+/**
+ * Writes orders as RFC 4180 CSV, one line per order with its option IDs joined by ';' in a
+ * single column. Lines go through a fixed-size buffer, so memory does not grow with the number
+ * of orders written.
+ */
+class OrderCsvWriter implements AutoCloseable {
+
+  // @formatter:off
+  static final List<String> COLUMNS = List.of(
+      "order_pk", "created_at", "customer_id", "first_name", "last_name",
+      "model_id", "trim_level", "num_doors", "wheel_size", "color_id", "engine_id", "tire_id",
+      "option_ids", "price");
+  // @formatter:on
+
+  private final Writer out;
+  private final StringBuilder options = new StringBuilder();
+
+  OrderCsvWriter(OutputStream out) {
+    this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  void writeHeader() throws IOException {
+    for (int index = 0; index < COLUMNS.size(); index++) {
+      if (index > 0) {
+        out.write(',');
+      }
+
+      out.write(COLUMNS.get(index));
+    }
+
+    out.write("\r\n");
+  }
+
+  void write(Order order) throws IOException {
+    options.setLength(0);
+
+    for (Option option : order.getOptions()) {
+      if (options.length() > 0) {
+        options.append(';');
+      }
+
+      options.append(option.getOptionId());
+    }
+
+    field(order.getOrderPK(), false);
+    field(order.getCreatedAt(), true);
+    field(order.getCustomer().getCustomerId(), true);
+    field(order.getCustomer().getFirstName(), true);
+    field(order.getCustomer().getLastName(), true);
+    field(order.getModel().getModelId(), true);
+    field(order.getModel().getTrimLevel(), true);
+    field(order.getModel().getNumDoors(), true);
+    field(order.getModel().getWheelSize(), true);
+    field(order.getColor().getColorId(), true);
+    field(order.getEngine().getEngineId(), true);
+    field(order.getTire().getTireId(), true);
+    field(options, true);
+    field(order.getPrice().toPlainString(), true);
+    out.write("\r\n");
+  }
+
+  /**
+   * Quotes a value only when it contains a separator, a quote or a line break; quotes inside are
+   * doubled. Null is written as an empty field.
+   */
+  private void field(Object value, boolean separator) throws IOException {
+    if (separator) {
+      out.write(',');
+    }
+
+    if (value == null) {
+      return;
+    }
+
+    String text = value.toString();
+
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      out.write(text);
+      return;
+    }
+
+    out.write('"');
+    out.write(text.replace("\"", "\"\""));
+    out.write('"');
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+}
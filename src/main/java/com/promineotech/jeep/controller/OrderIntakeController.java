@@ -0,0 +1,110 @@
+package com.promineotech.jeep.controller;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.Length;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.IntakeTicket;
+import com.promineotech.jeep.entity.OrderRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@Validated
+@RequestMapping("/orders/async")                                        // Only mapped when jeep.orders.intake.enabled is true
+public interface OrderIntakeController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Queue an order for a Jeep",
+      
+      description = "Validates and journals the order, then returns at once. The order is "
+          + "created shortly after by a background writer; follow it at the Location returned.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "202",                                     // 202 = Accepted
+              description = "The order is queued. Location is the ticket's status URL.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = IntakeTicket.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "503",                                     // 503 = Service unavailable
+              description = "The intake queue is full; retry later.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "orderRequest", 
+              required = true, 
+              description = "The order as JSON")
+      }
+  )
+
+  @PostMapping
+  ResponseEntity<IntakeTicket> submitOrder(@Valid @RequestBody OrderRequest orderRequest);
+
+  @Operation(
+      summary = "Returns the state of a queued order",
+      
+      description = "Returns QUEUED until the order has been written, then CREATED with the "
+          + "order or FAILED with the status POST /orders would have returned.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The ticket is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = IntakeTicket.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid ticket ID.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "No ticket was found with that ID, or it has expired.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "ticketId", 
+              required = true, 
+              description = "The ticket ID returned when the order was queued")
+      }
+  )
+
+  @GetMapping("/{ticketId}")
+  @ResponseStatus(code = HttpStatus.OK)
+  IntakeTicket fetchTicket(
+      @Length(max = Constants.TICKET_ID_MAX_LENGTH)
+      @Pattern(regexp = "[\\w-]*")
+      @PathVariable String ticketId);
+  // @formatter:on
+
+}
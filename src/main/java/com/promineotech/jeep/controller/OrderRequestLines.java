@@ -0,0 +1,84 @@
+package com.promineotech.jeep.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.promineotech.jeep.entity.OrderRequest;
+
+/**
+ * Reads newline-delimited order requests one line at a time, so only the current line is held in
+ * memory. A line that is not a valid order request is handed on as null, which the service
+ * reports as a 400 for that index, and its parse error is kept for the response; the lines after
+ * it are still read.
+ */
+class OrderRequestLines implements Iterator<OrderRequest> {
+
+  private final BufferedReader reader;
+  private final ObjectReader objectReader;
+  private final Map<Integer, String> parseErrors = new HashMap<>();
+  private String nextLine;
+  private int index;
+
+  OrderRequestLines(InputStream in, ObjectReader objectReader) {
+    this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    this.objectReader = objectReader;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      while (nextLine == null) {
+        String line = reader.readLine();
+
+        if (line == null) {
+          return false;
+        }
+
+        if (!line.isBlank()) {                                                      // Blank lines, e.g. a trailing newline, are not orders
+          nextLine = line;
+        }
+      }
+
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public OrderRequest next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    String line = nextLine;
+    nextLine = null;
+
+    try {
+      return objectReader.readValue(line);
+    } catch (JsonProcessingException e) {
+      parseErrors.put(index, "Line " + (index + 1) + " is not a valid order request: "
+          + e.getOriginalMessage());
+      return null;
+    } finally {
+      index++;
+    }
+  }
+
+  /**
+   * @return the parse error of each unreadable line, by index among the non-blank lines
+   */
+  Map<Integer, String> getParseErrors() {
+    return parseErrors;
+  }
+
+}
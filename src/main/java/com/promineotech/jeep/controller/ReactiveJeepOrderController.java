@@ -0,0 +1,55 @@
+package com.promineotech.jeep.controller;
+
+import javax.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * POST /orders of {@link JeepOrderController} for the "reactive" profile, with the same
+ * validation of {@link OrderRequest}.
+ */
+@Validated
+@RequestMapping("/orders")
+public interface ReactiveJeepOrderController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Create an order for a Jeep",
+      
+      description = "Returns the created Jeep",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "201",                                     // 201 = Created
+              description = "The created Jeep is returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = Order.class))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "A Jeep component was not found with input criteria.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @PostMapping
+  @ResponseStatus(code = HttpStatus.CREATED)
+  Mono<Order> createOrder(@Valid @RequestBody OrderRequest orderRequest);
+
+  // @formatter:on
+}
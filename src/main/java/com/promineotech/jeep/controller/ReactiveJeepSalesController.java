@@ -0,0 +1,79 @@
+package com.promineotech.jeep.controller;
+
+import java.math.BigDecimal;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import org.hibernate.validator.constraints.Length;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * GET /jeeps of {@link JeepSalesController} for the "reactive" profile. Same parameters and
+ * validation. As newline-delimited JSON the Jeeps are written as they are read, and rows are
+ * only fetched as fast as the client reads them; a JSON array is still assembled by the
+ * encoder before it is written.
+ */
+@Validated
+@RequestMapping("/jeeps")
+public interface ReactiveJeepSalesController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Returns a list of Jeeps",
+      
+      description = "Returns a list of Jeeps given any combination of model, trim, doors, "
+          + "wheel size and price range. Ask for application/x-ndjson to receive one Jeep per "
+          + "line as it is read, paced by how fast the client reads.",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "A list of Jeeps is returned.",
+              content = {
+                  @Content(mediaType = "application/json", schema = @Schema(implementation = Jeep.class)),
+                  @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Jeep.class))}), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "404",                                     // 404 = Not found
+              description = "No Jeeps were found with input criteria.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    Flux<Jeep> fetchJeeps(
+      @RequestParam(required = false) JeepModel model, 
+
+      @Length(max = Constants.TRIM_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\s]*")
+      @RequestParam(required = false) String trim,
+
+      @Positive
+      @RequestParam(required = false) Integer doors,
+
+      @Positive
+      @RequestParam(required = false) Integer wheelSize,
+
+      @PositiveOrZero
+      @RequestParam(required = false) BigDecimal minPrice,
+
+      @PositiveOrZero
+      @RequestParam(required = false) BigDecimal maxPrice);
+
+  // @formatter:on
+}
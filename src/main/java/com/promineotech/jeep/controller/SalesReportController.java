@@ -0,0 +1,123 @@
+package com.promineotech.jeep.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.Length;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import com.promineotech.jeep.entity.SalesRollupRebuild;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@Validated
+@RequestMapping("/reports/sales")                                       // Any request coming to /reports/sales will be mapped to this class
+public interface SalesReportController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Returns daily sales by model, trim, engine, color or option",
+      
+      description = "Returns the number of orders and their total price per day and dimension id, "
+          + "read from rollups kept up to date as orders are saved",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The daily sales are returned; days without sales are omitted.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  array = @ArraySchema(schema = @Schema(implementation = SalesRollup.class)))), 
+          @ApiResponse(
+              responseCode = "400",                                     // 400 = Bad input/request
+              description = "Invalid request parameters.",
+              content = @Content(mediaType = "application/json")),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      },
+
+      parameters = {
+          @Parameter(
+              name = "dimension", 
+              allowEmptyValue = false, 
+              required = true, 
+              description = "MODEL, TRIM, ENGINE, COLOR or OPTION"),
+          @Parameter(
+              name = "id", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "One id of the dimension (i.e. 'WRANGLER', 'WRANGLER/Sport' or "
+                  + "'EXT_TOWING'); every id if omitted"),
+          @Parameter(
+              name = "from", 
+              allowEmptyValue = false, 
+              required = true, 
+              description = "The first day (i.e. '2026-10-01')"),
+          @Parameter(
+              name = "days", 
+              allowEmptyValue = false, 
+              required = false, 
+              description = "The number of days, including the first (default 31)")
+      }
+  )
+
+  @GetMapping
+  @ResponseStatus(code = HttpStatus.OK)
+  List<SalesRollup> fetchSalesRollups(
+      @RequestParam SalesDimension dimension,
+
+      @Length(max = Constants.SALES_DIMENSION_ID_MAX_LENGTH)
+      @Pattern(regexp = "[\\w\\s/]*")                                   // Words, spaces and the model/trim separator
+      @RequestParam(required = false) String id,
+
+      @DateTimeFormat(iso = ISO.DATE)
+      @RequestParam LocalDate from,
+
+      @Min(1)
+      @Max(Constants.SALES_REPORT_MAX_DAYS)
+      @RequestParam(defaultValue = "31") int days);
+
+  @Operation(
+      summary = "Rebuilds the sales rollups",
+      
+      description = "Recomputes the rollups from every saved order, in batches of "
+          + "jeep.reports.rebuild.batch-size orders. Run after migrating or repairing order data",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The rollups were rebuilt.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  schema = @Schema(implementation = SalesRollupRebuild.class))), 
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @PostMapping("/rebuild")
+  @ResponseStatus(code = HttpStatus.OK)
+  SalesRollupRebuild rebuildSalesRollups();
+
+  // @formatter:on
+}
@@ -0,0 +1,65 @@
+package com.promineotech.jeep.controller;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import com.promineotech.jeep.entity.StatementStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RequestMapping("/admin/sql")                                           // Any request coming to /admin/sql will be mapped to this class
+public interface StatementStatsController {
+
+  // @formatter:off
+  @Operation(
+      summary = "Returns SQL statement statistics",
+      
+      description = "Returns execution count, latency and rows for each SQL statement shape, "
+          + "the most total time first, with the EXPLAIN plan of slow queries if captured",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "200",                                     // 200 = OK
+              description = "The statement statistics are returned.",
+              content = @Content(
+                  mediaType = "application/json", 
+                  array = @ArraySchema(schema = @Schema(implementation = StatementStats.class)))), 
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @GetMapping
+  @ResponseStatus(code = HttpStatus.OK)
+  List<StatementStats> fetchStatementStats();
+
+  @Operation(
+      summary = "Resets the SQL statement statistics",
+      
+      description = "Discards every statement shape and captured plan",
+      
+      responses = {
+          @ApiResponse(
+              responseCode = "204",                                     // 204 = No content
+              description = "The statistics were reset."),
+          @ApiResponse(
+              responseCode = "500",                                     // 500 = Unplanned exception
+              description = "An unplanned error occurred.",
+              content = @Content(mediaType = "application/json"))
+      }
+  )
+
+  @DeleteMapping
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  void resetStatementStats();
+
+  // @formatter:on
+}
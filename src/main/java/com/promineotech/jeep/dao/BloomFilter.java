@@ -0,0 +1,84 @@
+package com.promineotech.jeep.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain(String)} never returns false for a
+ * value that was {@link #put(String) put}; it returns true for an absent value with roughly the
+ * false-positive probability the filter was sized for. Safe for concurrent use.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final long numBits;
+  private final int numHashes;
+
+  /**
+   * @param expectedValues number of values the filter is sized for
+   * @param falsePositiveRate wanted false-positive probability at that many values
+   */
+  public BloomFilter(long expectedValues, double falsePositiveRate) {
+    long n = Math.max(1, expectedValues);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+    this.numBits = Math.max(64, m);
+    this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+  }
+
+  public void put(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+
+    for (int i = 1; i <= numHashes; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, numBits);                    // Kirsch-Mitzenmacher double hashing
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+
+      do {
+        current = bits.get(word);
+      } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+
+    for (int i = 1; i <= numHashes; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * 64-bit FNV-1a over the UTF-8 bytes with a final avalanche step, so both halves of the
+   * result are well mixed for double hashing.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+
+}
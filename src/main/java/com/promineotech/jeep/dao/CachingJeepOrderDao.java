@@ -0,0 +1,313 @@
+package com.promineotech.jeep.dao;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.cache.TtlCache;
+import com.promineotech.jeep.entity.CacheStats;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Customer;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderComponents;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.Tire;
+import com.promineotech.jeep.service.CatalogChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the catalog tables resident in memory in front of {@link DefaultJeepOrderDao}. Customer
+ * rows and inserts always go to the database, but customer IDs missing from the
+ * {@link CustomerIdResolver} filter are rejected without a query until its next rebuild.
+ */
+@Primary                                                                            // Injected wherever a JeepOrderDao is requested
+@Component
+@Slf4j
+@Timed(Constants.DAO_TIMER)
+public class CachingJeepOrderDao implements JeepOrderDao {
+
+  @Autowired
+  private DefaultJeepOrderDao delegate;
+
+  @Autowired
+  private CustomerIdResolver customerIdResolver;
+
+  private final TtlCache<String, Jeep> models;
+  private final TtlCache<String, Color> colors;
+  private final TtlCache<String, Engine> engines;
+  private final TtlCache<String, Tire> tires;
+  private final TtlCache<String, Option> options;
+
+  public CachingJeepOrderDao(
+      @Value("${jeep.catalog.cache.max-size:1000}") int maxSize,
+      @Value("${jeep.catalog.cache.ttl:10m}") Duration ttl) {
+    models = new TtlCache<>("models", maxSize, ttl);
+    colors = new TtlCache<>("colors", maxSize, ttl);
+    engines = new TtlCache<>("engines", maxSize, ttl);
+    tires = new TtlCache<>("tires", maxSize, ttl);
+    options = new TtlCache<>("options", maxSize, ttl);
+  }
+
+  /**
+   * Returns each requested option once, in the order first requested, as the IN() query of the
+   * delegate would find them once however often an ID is repeated.
+   */
+  @Override
+  public List<Option> fetchOptions(List<String> optionIds) {
+    Set<String> distinctIds = new LinkedHashSet<>(optionIds);
+    Map<String, Option> found = new HashMap<>();
+    List<String> missing = new LinkedList<>();
+
+    for (String optionId : distinctIds) {
+      Optional<Option> option = options.get(optionId);
+
+      if (option.isPresent()) {
+        found.put(optionId, option.get());
+      } else {
+        missing.add(optionId);
+      }
+    }
+
+    if (!missing.isEmpty()) {                                                       // Load all misses in a single IN() query
+      for (Option option : delegate.fetchOptions(missing)) {
+        options.put(option.getOptionId(), option);
+        found.put(option.getOptionId(), option);
+      }
+    }
+
+    List<Option> result = new LinkedList<>();
+
+    for (String optionId : distinctIds) {
+      Option option = found.get(optionId);
+
+      if (option != null) {                                                         // Unknown IDs are left out, as by the delegate
+        result.add(option);
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public Optional<Customer> fetchCustomer(String customerId) {
+    if (!customerIdResolver.mightExist(customerId)) {
+      return Optional.empty();
+    }
+
+    return delegate.fetchCustomer(customerId);
+  }
+
+  @Override
+  public Optional<Long> fetchCustomerPK(String customerId) {
+    return customerIdResolver.resolve(customerId);
+  }
+
+  @Override
+  public List<Customer> fetchCustomers(Collection<String> customerIds) {
+    List<String> candidates = new LinkedList<>();
+
+    for (String customerId : customerIds) {
+      if (customerIdResolver.mightExist(customerId)) {
+        candidates.add(customerId);
+      }
+    }
+
+    return delegate.fetchCustomers(candidates);
+  }
+
+  @Override
+  public Optional<Jeep> fetchModel(JeepModel model, String trim, int doors) {
+    String key = model + "|" + trim + "|" + doors;
+    Optional<Jeep> jeep = models.get(key);
+
+    if (jeep.isEmpty()) {
+      jeep = delegate.fetchModel(model, trim, doors);
+      jeep.ifPresent(value -> models.put(key, value));
+    }
+
+    return jeep;
+  }
+
+  @Override
+  public Optional<Color> fetchColor(String colorId) {
+    Optional<Color> color = colors.get(colorId);
+
+    if (color.isEmpty()) {
+      color = delegate.fetchColor(colorId);
+      color.ifPresent(value -> colors.put(colorId, value));
+    }
+
+    return color;
+  }
+
+  @Override
+  public Optional<Engine> fetchEngine(String engineId) {
+    Optional<Engine> engine = engines.get(engineId);
+
+    if (engine.isEmpty()) {
+      engine = delegate.fetchEngine(engineId);
+      engine.ifPresent(value -> engines.put(engineId, value));
+    }
+
+    return engine;
+  }
+
+  @Override
+  public Optional<Tire> fetchTire(String tireId) {
+    Optional<Tire> tire = tires.get(tireId);
+
+    if (tire.isEmpty()) {
+      tire = delegate.fetchTire(tireId);
+      tire.ifPresent(value -> tires.put(tireId, value));
+    }
+
+    return tire;
+  }
+
+  /**
+   * When every catalog component is already cached only the customer is read from the
+   * database; otherwise the delegate's single combined query is used and its results cached.
+   * Hits are counted only when the cached components are served, misses for the components that
+   * sent the request to the database.
+   */
+  @Override
+  public OrderComponents fetchOrderComponents(OrderRequest orderRequest) {
+    if (!customerIdResolver.mightExist(orderRequest.getCustomer())) {
+      return OrderComponents.builder().options(List.of()).build();                  // The missing customer is reported before any other component
+    }
+
+    Set<String> optionIds =                                                         // Each option once, as the delegate's IN() finds it
+        new LinkedHashSet<>(Optional.ofNullable(orderRequest.getOptions()).orElse(List.of()));
+    String modelKey = orderRequest.getModel() + "|" + orderRequest.getTrim() + "|"
+        + orderRequest.getDoors();
+
+    Optional<Jeep> jeep = models.peek(modelKey);
+    Optional<Color> color = colors.peek(orderRequest.getColor());
+    Optional<Engine> engine = engines.peek(orderRequest.getEngine());
+    Optional<Tire> tire = tires.peek(orderRequest.getTire());
+    List<Option> cachedOptions = new LinkedList<>();
+
+    for (String optionId : optionIds) {
+      options.peek(optionId).ifPresent(cachedOptions::add);
+    }
+
+    if (jeep.isPresent() && color.isPresent() && engine.isPresent() && tire.isPresent()
+        && cachedOptions.size() == optionIds.size()) {
+      models.recordHit();
+      colors.recordHit();
+      engines.recordHit();
+      tires.recordHit();
+      cachedOptions.forEach(option -> options.recordHit());
+
+      // @formatter:off
+      return OrderComponents.builder()
+          .customer(fetchCustomer(orderRequest.getCustomer()).orElse(null))
+          .model(jeep.get())
+          .color(color.get())
+          .engine(engine.get())
+          .tire(tire.get())
+          .options(cachedOptions)
+          .build();
+      // @formatter:on
+    }
+
+    recordMissIfEmpty(models, jeep);
+    recordMissIfEmpty(colors, color);
+    recordMissIfEmpty(engines, engine);
+    recordMissIfEmpty(tires, tire);
+
+    for (int missing = cachedOptions.size(); missing < optionIds.size(); missing++) {
+      options.recordMiss();
+    }
+
+    OrderComponents components = delegate.fetchOrderComponents(orderRequest);
+
+    if (components.getModel() != null) {
+      models.put(modelKey, components.getModel());
+    }
+    if (components.getColor() != null) {
+      colors.put(components.getColor().getColorId(), components.getColor());
+    }
+    if (components.getEngine() != null) {
+      engines.put(components.getEngine().getEngineId(), components.getEngine());
+    }
+    if (components.getTire() != null) {
+      tires.put(components.getTire().getTireId(), components.getTire());
+    }
+    for (Option option : components.getOptions()) {
+      options.put(option.getOptionId(), option);
+    }
+
+    return components;
+  }
+
+  @Override
+  public Order saveOrder(Customer customer, Jeep jeep, Color color, Engine engine, Tire tire,
+      BigDecimal price, List<Option> options) {
+    return delegate.saveOrder(customer, jeep, color, engine, tire, price, options);
+  }
+
+  @Override
+  public List<Order> saveOrders(List<Order> orders) {
+    return delegate.saveOrders(orders);
+  }
+
+  @Override
+  public Optional<Order> fetchOrder(Long orderPK) {
+    return delegate.fetchOrder(orderPK);
+  }
+
+  @Override
+  public List<Order> fetchOrders(Long customerPK, Long beforeOrderPK, int limit) {
+    return delegate.fetchOrders(customerPK, beforeOrderPK, limit);
+  }
+
+  @Override
+  public void streamOrders(long afterOrderPK, Consumer<Order> consumer) {
+    delegate.streamOrders(afterOrderPK, consumer);
+  }
+
+  private static void recordMissIfEmpty(TtlCache<String, ?> cache, Optional<?> value) {
+    if (value.isEmpty()) {
+      cache.recordMiss();
+    }
+  }
+
+  /**
+   * Drops every cached catalog row so the next lookup reloads it from the database.
+   */
+  @EventListener(CatalogChangedEvent.class)
+  public void invalidate() {
+    log.info("Catalog changed, invalidating catalog cache");
+
+    models.invalidateAll();
+    colors.invalidateAll();
+    engines.invalidateAll();
+    tires.invalidateAll();
+    options.invalidateAll();
+  }
+
+  public List<CacheStats> getCacheStats() {
+    return List.of(models.stats(), colors.stats(), engines.stats(), tires.stats(),
+        options.stats());
+  }
+
+}
@@ -0,0 +1,19 @@
+package com.promineotech.jeep.dao;
+
+import com.promineotech.jeep.entity.CatalogVersion;
+
+public interface CatalogVersionDao {
+
+  /**
+   * @return the version in the catalog_version row
+   */
+  CatalogVersion fetchCatalogVersion();
+
+  /**
+   * Advances the catalog_version row to at least {@code minimumVersion}, and by at least one.
+   * 
+   * @param minimumVersion the lowest version the row may hold afterwards
+   */
+  void advanceCatalogVersion(long minimumVersion);
+
+}
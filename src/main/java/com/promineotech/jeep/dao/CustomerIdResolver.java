@@ -0,0 +1,128 @@
+package com.promineotech.jeep.dao;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.cache.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers "does this customer exist, and what is its key" mostly from memory. A Bloom filter of
+ * every customer_id rejects unknown IDs without a query, and resolved IDs are cached. The filter
+ * is built on first use and rebuilt by the first lookup that finds it older than
+ * {@code refresh}, so customers inserted by other systems are seen after at most that long.
+ */
+@Component
+@Slf4j
+public class CustomerIdResolver {
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private DefaultJeepOrderDao delegate;
+
+  private final long minExpectedCustomers;
+  private final double falsePositiveRate;
+  private final long refreshNanos;
+  private final int loadFetchSize;
+  private final TtlCache<String, Long> customerPKs;
+  private final ReentrantLock loadLock = new ReentrantLock();
+
+  private volatile BloomFilter filter;
+  private volatile long loadedAt;
+
+  public CustomerIdResolver(
+      @Value("${jeep.customers.bloom.expected-customers:100000}") long minExpectedCustomers,
+      @Value("${jeep.customers.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${jeep.customers.bloom.refresh:5m}") Duration refresh,
+      @Value("${jeep.customers.bloom.load-fetch-size:10000}") int loadFetchSize,
+      @Value("${jeep.customers.cache.max-size:100000}") int maxCachedIds,
+      @Value("${jeep.customers.cache.ttl:10m}") Duration ttl) {
+    this.minExpectedCustomers = minExpectedCustomers;
+    this.falsePositiveRate = falsePositiveRate;
+    this.refreshNanos = refresh.toNanos();
+    this.loadFetchSize = loadFetchSize;
+    this.customerPKs = new TtlCache<>("customerPKs", maxCachedIds, ttl);
+  }
+
+  /**
+   * @return false only if the customer did not exist when the filter was last built
+   */
+  public boolean mightExist(String customerId) {
+    return customerId != null && currentFilter().mightContain(customerId);
+  }
+
+  /**
+   * @return the customer's primary key, from memory when possible
+   */
+  public Optional<Long> resolve(String customerId) {
+    if (!mightExist(customerId)) {
+      return Optional.empty();
+    }
+
+    Optional<Long> customerPK = customerPKs.get(customerId);
+
+    if (customerPK.isEmpty()) {
+      customerPK = delegate.fetchCustomerPK(customerId);
+      customerPK.ifPresent(value -> customerPKs.put(customerId, value));
+    }
+
+    return customerPK;
+  }
+
+  /**
+   * The first caller builds the filter while the others wait. Later rebuilds are done by one
+   * caller while the rest keep using the previous filter.
+   */
+  private BloomFilter currentFilter() {
+    BloomFilter current = filter;
+
+    if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+      return current;
+    }
+
+    if (current == null) {
+      loadLock.lock();
+    } else if (!loadLock.tryLock()) {
+      return current;
+    }
+
+    try {
+      if (filter == null || System.nanoTime() - loadedAt >= refreshNanos) {
+        filter = load();
+        loadedAt = System.nanoTime();
+      }
+
+      return filter;
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  private BloomFilter load() {
+    long start = System.nanoTime();
+    Long count = jdbcTemplate.getJdbcTemplate()
+        .queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+    BloomFilter loaded = new BloomFilter(Math.max(minExpectedCustomers, 2 * count),      // Headroom for customers added before the next rebuild
+        falsePositiveRate);
+
+    JdbcTemplate streaming = new StreamingJdbcTemplate(
+        jdbcTemplate.getJdbcTemplate().getDataSource(), loadFetchSize);
+
+    RowCallbackHandler handler = rs -> loaded.put(rs.getString(1));
+    streaming.query("SELECT customer_id FROM customers", handler);
+
+    log.info("Loaded {} customer IDs into the Bloom filter in {} ms", count,
+        Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+    return loaded;
+  }
+
+}
@@ -0,0 +1,54 @@
+package com.promineotech.jeep.dao;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.CatalogVersion;
+import io.micrometer.core.annotation.Timed;
+
+@Component
+@Timed(Constants.DAO_TIMER)
+public class DefaultCatalogVersionDao implements CatalogVersionDao {
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public CatalogVersion fetchCatalogVersion() {
+    // @formatter:off
+    String sql = ""
+        + "SELECT version, updated_at "
+        + "FROM catalog_version "
+        + "WHERE catalog_version_pk = 1";
+    // @formatter:on
+
+    // @formatter:off
+    return jdbcTemplate.queryForObject(sql, Map.of(), (rs, rowNum) -> CatalogVersion.builder()
+        .version(rs.getLong("version"))
+        .lastModified(rs.getTimestamp("updated_at").toInstant()
+            .truncatedTo(ChronoUnit.SECONDS))                                   // HTTP dates have one-second resolution
+        .build());
+    // @formatter:on
+  }
+
+  /**
+   * GREATEST keeps the version moving forward even if the row was recreated with a lower value
+   * than this process has already served.
+   */
+  @Override
+  public void advanceCatalogVersion(long minimumVersion) {
+    // @formatter:off
+    String sql = ""
+        + "UPDATE catalog_version "
+        + "SET version = GREATEST(version + 1, :minimum_version), "
+        + "updated_at = CURRENT_TIMESTAMP "
+        + "WHERE catalog_version_pk = 1";
+    // @formatter:on
+
+    jdbcTemplate.update(sql, Map.of("minimum_version", minimumVersion));
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.promineotech.jeep.dao;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.IdempotencyRecord;
+import io.micrometer.core.annotation.Timed;
+
+@Component
+@Timed(Constants.DAO_TIMER)
+public class DefaultIdempotencyDao implements IdempotencyDao {
+
+  // @formatter:off
+  private static final String INSERT_SQL = ""
+      + "INSERT INTO idempotency_keys (idempotency_key, request_hash, order_fk) "
+      + "VALUES (:idempotency_key, :request_hash, :order_fk)";
+  // @formatter:on
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public Optional<IdempotencyRecord> fetchRecord(String idempotencyKey) {
+    // @formatter:off
+    String sql = ""
+        + "SELECT idempotency_key, request_hash, order_fk "
+        + "FROM idempotency_keys "
+        + "WHERE idempotency_key = :idempotency_key";
+    // @formatter:on
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("idempotency_key", idempotencyKey);
+
+    // @formatter:off
+    return jdbcTemplate.query(sql, params, (rs, rowNum) -> IdempotencyRecord.builder()
+        .idempotencyKey(rs.getString("idempotency_key"))
+        .requestHash(rs.getString("request_hash"))
+        .orderPK(rs.getLong("order_fk"))
+        .build())
+        .stream().findFirst();
+    // @formatter:on
+  }
+
+  @Override
+  public void saveRecord(IdempotencyRecord record) {
+    jdbcTemplate.update(INSERT_SQL, params(record));
+  }
+
+  @Override
+  public void saveRecords(List<IdempotencyRecord> records) {
+    if (records.isEmpty()) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object>[] batch = records.stream().map(this::params).toArray(Map[]::new);
+
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+  }
+
+  @Override
+  public int deleteRecordsCreatedBefore(Instant cutoff) {
+    // @formatter:off
+    String sql = ""
+        + "DELETE FROM idempotency_keys "
+        + "WHERE created_at < :cutoff";
+    // @formatter:on
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("cutoff", Timestamp.from(cutoff));
+
+    return jdbcTemplate.update(sql, params);
+  }
+
+  private Map<String, Object> params(IdempotencyRecord record) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("idempotency_key", record.getIdempotencyKey());
+    params.put("request_hash", record.getRequestHash());
+    params.put("order_fk", record.getOrderPK());
+    return params;
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.promineotech.jeep.dao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Image;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@Timed(Constants.DAO_TIMER)
+public class DefaultJeepImageDao implements JeepImageDao {
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Value("${jeep.images.read-chunk-size:256KB}")
+  private DataSize readChunkSize;
+
+  @Override
+  public Optional<Image> fetchImage(Long modelPK, String imageId) {
+    log.debug("DAO: modelPK={}, imageId={}", modelPK, imageId);
+
+    // @formatter:off
+    String sql = ""
+        + "SELECT image_pk, model_fk, image_id, width, height, mime_type, name, "
+        + "OCTET_LENGTH(data) AS data_length "                                      // Size without reading the BLOB
+        + "FROM images "
+        + "WHERE model_fk = :model_fk AND image_id = :image_id";
+    // @formatter:on
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("model_fk", modelPK);
+    params.put("image_id", imageId);
+
+    return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+      // @formatter:off
+      return Image.builder()
+          .imagePK(rs.getLong("image_pk"))
+          .modelFK(rs.getLong("model_fk"))
+          .imageId(rs.getString("image_id"))
+          .width(rs.getInt("width"))
+          .height(rs.getInt("height"))
+          .mimeType(rs.getString("mime_type"))
+          .name(rs.getString("name"))
+          .dataLength(rs.getLong("data_length"))
+          .build();
+      // @formatter:on
+    }).stream().findFirst();
+  }
+
+  /**
+   * Reads the BLOB with SUBSTRING rather than ResultSet.getBinaryStream: MySQL Connector/J
+   * buffers a whole row before returning it, so only a bounded slice per query keeps the heap
+   * flat for multi-megabyte images.
+   */
+  @Override
+  public void copyImageData(Image image, OutputStream out) {
+    String sql = ""
+        + "SELECT SUBSTRING(data, :start, :length) "
+        + "FROM images "
+        + "WHERE image_pk = :image_pk";
+
+    int chunk = (int) readChunkSize.toBytes();
+    Map<String, Object> params = new HashMap<>();
+    params.put("image_pk", image.getImagePK());
+    params.put("length", chunk);
+
+    for (long start = 1; start <= image.getDataLength(); start += chunk) {           // SQL positions are 1-based
+      params.put("start", start);
+
+      byte[] bytes = jdbcTemplate.queryForObject(sql, params, byte[].class);
+
+      try {
+        out.write(bytes);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+}
@@ -1,21 +1,35 @@
 package com.promineotech.jeep.dao;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Color;
 import com.promineotech.jeep.entity.Customer;
 import com.promineotech.jeep.entity.Engine;
@@ -25,14 +39,74 @@ import com.promineotech.jeep.entity.JeepModel;
 import com.promineotech.jeep.entity.Option;
 import com.promineotech.jeep.entity.OptionType;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderComponents;
+import com.promineotech.jeep.entity.OrderRequest;
 import com.promineotech.jeep.entity.Tire;
+import io.micrometer.core.annotation.Timed;
 
 
 @Component
+@Timed(Constants.DAO_TIMER)
 public class DefaultJeepOrderDao implements JeepOrderDao {
   
+  private static final String[] ORDER_KEY_COLUMNS = {"order_pk"};                       // H2 would also return created_at, a defaulted column
+  
   @Autowired
   private NamedParameterJdbcTemplate jdbcTemplate;
+  
+  @Autowired
+  private SalesRollupDao salesRollupDao;
+  
+  // @formatter:off
+  private static final String COMPONENT_COLUMNS = ""                                    // Aliased so no two tables share a column label
+      + "c.customer_pk, c.customer_id, c.first_name, c.last_name, c.phone, "
+      + "m.model_pk, m.model_id, m.trim_level, m.num_doors, m.wheel_size, m.base_price, "
+      + "co.color_pk, co.color_id, co.color, co.price AS color_price, co.is_exterior, "
+      + "e.engine_pk, e.engine_id, e.size_in_liters, e.name AS engine_name, e.fuel_type, "
+      + "e.mpg_city, e.mpg_hwy, e.has_start_stop, e.description, e.price AS engine_price, "
+      + "t.tire_pk, t.tire_id, t.tire_size, t.manufacturer AS tire_manufacturer, "
+      + "t.price AS tire_price, t.warranty_miles";
+  
+  private static final String OPTION_COLUMNS = ""
+      + "o.option_pk, o.option_id, o.category, o.manufacturer AS option_manufacturer, "
+      + "o.name AS option_name, o.price AS option_price";
+  
+  private static final String ORDER_COLUMNS = ""
+      + "od.order_pk, od.price AS order_price, " + COMPONENT_COLUMNS;
+  
+  private static final String ORDER_TABLES = ""
+      + "FROM orders od "
+      + "JOIN customers c ON c.customer_pk = od.customer_fk "
+      + "JOIN models m ON m.model_pk = od.model_fk "
+      + "JOIN colors co ON co.color_pk = od.color_fk "
+      + "JOIN engines e ON e.engine_pk = od.engine_fk "
+      + "JOIN tires t ON t.tire_pk = od.tire_fk ";
+  
+  private static final String ORDER_QUERY =                                             // Every single-valued part of an order in one row
+      "SELECT " + ORDER_COLUMNS + " " + ORDER_TABLES;
+  // @formatter:on
+  
+  @Value("${jeep.orders.option-batch-size:50}")
+  private int optionBatchSize;                                                          // Max order_options rows per JDBC batch
+  
+  @PostConstruct
+  void checkOptionBatchSize() {
+    if (optionBatchSize < 1) {                                                          // saveOptions would never advance
+      throw new IllegalStateException(
+          "jeep.orders.option-batch-size must be at least 1, was " + optionBatchSize);
+    }
+  }
+  
+  @Value("${jeep.orders.export.fetch-size:500}")
+  private int exportFetchSize;
+  
+  private NamedParameterJdbcTemplate streamingTemplate;                                 // Same DataSource, but reads rows from the server in chunks
+  
+  @PostConstruct
+  void createStreamingTemplate() {
+    streamingTemplate = new NamedParameterJdbcTemplate(new StreamingJdbcTemplate(
+        jdbcTemplate.getJdbcTemplate().getDataSource(), exportFetchSize));
+  }
 
   
   @Override
@@ -42,10 +116,11 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
     SqlParams params = generateInsertSql(customer, jeep, color, engine, tire, price);
     
     KeyHolder keyHolder = new GeneratedKeyHolder();
-    jdbcTemplate.update(params.sql, params.source, keyHolder);
+    jdbcTemplate.update(params.sql, params.source, keyHolder, ORDER_KEY_COLUMNS);
     
     Long orderPK = keyHolder.getKey().longValue();
     saveOptions(options, orderPK);
+    salesRollupDao.addOrders(List.of(orderPK));                                         // In the order's transaction, so the rollups never count a rolled back order
     
     // @formatter:off
     return Order.builder()
@@ -62,31 +137,102 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   }
   
   
+  /**
+   * Inserts a group of orders with one JDBC batch for the orders rows and batched
+   * order_options rows for all of them. The generated keys are set on the returned orders.
+   * 
+   * @param orders orders without an orderPK
+   * @return the same orders with orderPK populated
+   */
+  @Override
+  public List<Order> saveOrders(List<Order> orders) {
+    if (orders.isEmpty()) {
+      return orders;
+    }
+    
+    // @formatter:off
+    String sql = ""
+        + "INSERT INTO orders ("
+        + "customer_fk, color_fk, engine_fk, tire_fk, model_fk, price"
+        + ") VALUES ("
+        + "?, ?, ?, ?, ?, ?"
+        + ")";
+    // @formatter:on
+    
+    List<Long> orderPKs = jdbcTemplate.getJdbcTemplate().execute(
+        (Connection con) -> con.prepareStatement(sql, ORDER_KEY_COLUMNS),
+        (PreparedStatement ps) -> {
+          for (Order order : orders) {
+            ps.setLong(1, order.getCustomer().getCustomerPK());
+            ps.setLong(2, order.getColor().getColorPK());
+            ps.setLong(3, order.getEngine().getEnginePK());
+            ps.setLong(4, order.getTire().getTirePK());
+            ps.setLong(5, order.getModel().getModelpk());
+            ps.setBigDecimal(6, order.getPrice());
+            ps.addBatch();
+          }
+          
+          ps.executeBatch();
+          
+          List<Long> keys = new ArrayList<>(orders.size());
+          
+          try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) {
+              keys.add(rs.getLong(1));
+            }
+          }
+          
+          return keys;
+        });
+    
+    if (orderPKs == null || orderPKs.size() != orders.size()) {
+      throw new IllegalStateException("Expected " + orders.size()
+          + " generated order keys but the driver returned " + orderPKs);
+    }
+    
+    List<SqlParameterSource> optionRows = new ArrayList<>();
+    
+    for (int index = 0; index < orders.size(); index++) {
+      Order order = orders.get(index);
+      order.setOrderPK(orderPKs.get(index));
+      
+      for (Option option : order.getOptions()) {
+        optionRows.add(generateOptionParams(option, order.getOrderPK()));
+      }
+    }
+    
+    saveOptions(optionRows);
+    salesRollupDao.addOrders(orderPKs);
+    
+    return orders;
+  }
+  
+  
   /**
    * @param options
    * @param orderPK
    */
   private void saveOptions(List<Option> options, Long orderPK) {
+    List<SqlParameterSource> optionRows = new ArrayList<>(options.size());
     
-    for(Option option : options) {
-      SqlParams params = generateInsertSql(option, orderPK);
-      jdbcTemplate.update(params.sql, params.source);
+    for (Option option : options) {
+      optionRows.add(generateOptionParams(option, orderPK));
     }
     
+    saveOptions(optionRows);
   }
-
-
+  
+  
   /**
+   * Writes order_options rows as JDBC batches of at most optionBatchSize rows, so the number of
+   * statements does not grow with the number of options.
    * 
-   * @param option
-   * @param orderPK
-   * @return
+   * @param optionRows
    */
-  private SqlParams generateInsertSql(Option option, Long orderPK) {
-    SqlParams params = new SqlParams();
+  private void saveOptions(List<SqlParameterSource> optionRows) {
     
     // @formatter:off
-    params.sql = ""
+    String sql = ""
         + "INSERT INTO order_options ("
         + "option_fk, order_fk"
         + ") VALUES ("
@@ -94,10 +240,27 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
         + ")";
     // @formatter:on
     
-    params.source.addValue("option_fk", option.getOptionPK());
-    params.source.addValue("order_fk", orderPK);
-    
-    return params;
+    for (int from = 0; from < optionRows.size(); from += optionBatchSize) {
+      List<SqlParameterSource> batch =
+          optionRows.subList(from, Math.min(from + optionBatchSize, optionRows.size()));
+      
+      jdbcTemplate.batchUpdate(sql, batch.toArray(new SqlParameterSource[0]));
+    }
+  }
+  
+  
+  /**
+   * 
+   * @param option
+   * @param orderPK
+   * @return
+   */
+  private SqlParameterSource generateOptionParams(Option option, Long orderPK) {
+    // @formatter:off
+    return new MapSqlParameterSource()
+        .addValue("option_fk", option.getOptionPK())
+        .addValue("order_fk", orderPK);
+    // @formatter:on
   }
 
   /**
@@ -197,6 +360,56 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
         jdbcTemplate.query(sql, params, new CustomerResultSetExtractor()));
   }
 
+  /**
+   * 
+   */
+  @Override
+  public Optional<Long> fetchCustomerPK(String customerId) {
+    // @formatter:off
+    String sql = ""
+        + "SELECT customer_pk "
+        + "FROM customers "
+        + "WHERE customer_id = :customer_id";
+    // @formatter:on
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("customer_id", customerId);
+
+    return jdbcTemplate.queryForList(sql, params, Long.class).stream().findFirst();
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public List<Customer> fetchCustomers(Collection<String> customerIds) {
+    if (customerIds.isEmpty()) {
+      return new LinkedList<>();
+    }
+    
+    // @formatter:off
+    String sql = ""
+        + "SELECT * "
+        + "FROM customers "
+        + "WHERE customer_id IN (:customer_ids)";
+    // @formatter:on
+    
+    Map<String, Object> params = new HashMap<>();
+    params.put("customer_ids", customerIds);                                            // Expanded to one placeholder per ID
+    
+    return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+      // @formatter:off
+      return Customer.builder()
+          .customerId(rs.getString("customer_id"))
+          .customerPK(rs.getLong("customer_pk"))
+          .firstName(rs.getString("first_name"))
+          .lastName(rs.getString("last_name"))
+          .phone(rs.getString("phone"))
+          .build();
+      // @formatter:on
+    });
+  }
+
   /**
    * 
    */
@@ -277,6 +490,264 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
         jdbcTemplate.query(sql, params, new TireResultSetExtractor()));
   }
 
+  /**
+   * Joins every component table to a one-row anchor so each lookup becomes a LEFT JOIN. A
+   * component that does not exist comes back as NULL columns, and each matching option adds a
+   * row.
+   */
+  @Override
+  public OrderComponents fetchOrderComponents(OrderRequest orderRequest) {
+    List<String> optionIds = Optional.ofNullable(orderRequest.getOptions()).orElse(List.of());
+    
+    // @formatter:off
+    String sql = ""
+        + "SELECT " + COMPONENT_COLUMNS + ", " + OPTION_COLUMNS + " "
+        + "FROM (SELECT 1 AS anchor) a "
+        + "LEFT JOIN customers c ON c.customer_id = :customer_id "
+        + "LEFT JOIN models m ON m.model_id = :model_id "
+        + "AND m.trim_level = :trim_level AND m.num_doors = :num_doors "
+        + "LEFT JOIN colors co ON co.color_id = :color_id "
+        + "LEFT JOIN engines e ON e.engine_id = :engine_id "
+        + "LEFT JOIN tires t ON t.tire_id = :tire_id "
+        + "LEFT JOIN options o ON "
+        + (optionIds.isEmpty() ? "1 = 0" : "o.option_id IN (:option_ids)");             // IN () is not valid SQL
+    // @formatter:on
+    
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    params.addValue("customer_id", orderRequest.getCustomer());
+    params.addValue("model_id", Objects.toString(orderRequest.getModel(), null));
+    params.addValue("trim_level", orderRequest.getTrim());
+    params.addValue("num_doors", orderRequest.getDoors());
+    params.addValue("color_id", orderRequest.getColor());
+    params.addValue("engine_id", orderRequest.getEngine());
+    params.addValue("tire_id", orderRequest.getTire());
+    params.addValue("option_ids", optionIds);
+    
+    return jdbcTemplate.query(sql, params, new OrderComponentsResultSetExtractor());
+  }
+
+  @Override
+  public Optional<Order> fetchOrder(Long orderPK) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("order_pk", orderPK);
+    
+    List<Order> orders = jdbcTemplate.query(ORDER_QUERY + "WHERE od.order_pk = :order_pk",
+        params, new OrderRowMapper());
+    
+    return attachOptions(orders).stream().findFirst();
+  }
+
+  /**
+   * Newest first. Keyset pagination on order_pk is served by the (customer_fk, order_pk)
+   * index, so later pages cost the same as the first.
+   */
+  @Override
+  public List<Order> fetchOrders(Long customerPK, Long beforeOrderPK, int limit) {
+    Map<String, Object> params = new HashMap<>();
+    String sql = ORDER_QUERY + "WHERE od.customer_fk = :customer_fk ";
+    params.put("customer_fk", customerPK);
+    
+    if (beforeOrderPK != null) {
+      sql += "AND od.order_pk < :before_order_pk ";
+      params.put("before_order_pk", beforeOrderPK);
+    }
+    
+    sql += "ORDER BY od.order_pk DESC LIMIT :limit";
+    params.put("limit", limit);
+    
+    return attachOptions(jdbcTemplate.query(sql, params, new OrderRowMapper()));
+  }
+
+  /**
+   * One query joining each order to its options, ordered by order_pk so an order's rows arrive
+   * together. Only the order being assembled is held in memory; it is handed on when the first
+   * row of the next order is read. The order_pk range is served by the primary key, so resuming
+   * after an order costs nothing for the orders already exported.
+   */
+  @Override
+  public void streamOrders(long afterOrderPK, Consumer<Order> consumer) {
+    // @formatter:off
+    String sql = ""
+        + "SELECT " + ORDER_COLUMNS + ", od.created_at, " + OPTION_COLUMNS + " "
+        + ORDER_TABLES
+        + "LEFT JOIN order_options oo ON oo.order_fk = od.order_pk "
+        + "LEFT JOIN options o ON o.option_pk = oo.option_fk "
+        + "WHERE od.order_pk > :after_order_pk "
+        + "ORDER BY od.order_pk";                                                       // Read in primary key order; a second sort key would sort the whole table first
+    // @formatter:on
+    
+    Map<String, Object> params = new HashMap<>();
+    params.put("after_order_pk", afterOrderPK);
+    
+    RowMapper<Order> orderMapper = new OrderRowMapper();
+    Order[] current = new Order[1];
+    
+    RowCallbackHandler handler = rs -> {
+      long orderPK = rs.getLong("order_pk");
+      
+      if (current[0] == null || current[0].getOrderPK() != orderPK) {
+        if (current[0] != null) {
+          consumer.accept(current[0]);
+        }
+        
+        current[0] = orderMapper.mapRow(rs, rs.getRow());
+        current[0].setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+      }
+      
+      if (rs.getObject("option_pk") != null) {                                          // NULL when the order has no options
+        current[0].getOptions().add(mapOption(rs));
+      }
+    };
+    
+    streamingTemplate.query(sql, params, handler);
+    
+    if (current[0] != null) {
+      consumer.accept(current[0]);
+    }
+  }
+
+  /**
+   * Loads the options of all the orders with one IN() query, however many orders or options
+   * there are.
+   * 
+   * @param orders
+   * @return the same orders with their options filled in
+   */
+  private List<Order> attachOptions(List<Order> orders) {
+    if (orders.isEmpty()) {
+      return orders;
+    }
+    
+    Map<Long, Order> ordersByPK = new HashMap<>();
+    
+    for (Order order : orders) {
+      ordersByPK.put(order.getOrderPK(), order);
+    }
+    
+    // @formatter:off
+    String sql = ""
+        + "SELECT oo.order_fk, " + OPTION_COLUMNS + " "
+        + "FROM order_options oo "
+        + "JOIN options o ON o.option_pk = oo.option_fk "
+        + "WHERE oo.order_fk IN (:order_pks) "
+        + "ORDER BY oo.order_fk, o.option_pk";
+    // @formatter:on
+    
+    Map<String, Object> params = new HashMap<>();
+    params.put("order_pks", ordersByPK.keySet());
+    
+    RowCallbackHandler handler =
+        rs -> ordersByPK.get(rs.getLong("order_fk")).getOptions().add(mapOption(rs));
+    
+    jdbcTemplate.query(sql, params, handler);
+    
+    return orders;
+  }
+
+  /*
+   * Mappers for the aliased columns of COMPONENT_COLUMNS and OPTION_COLUMNS. Each returns null
+   * when its table's primary key is NULL, i.e. an outer join found no row.
+   */
+  private Customer mapCustomer(ResultSet rs) throws SQLException {
+    if (rs.getObject("customer_pk") == null) {
+      return null;
+    }
+    
+    // @formatter:off
+    return Customer.builder()
+        .customerId(rs.getString("customer_id"))
+        .customerPK(rs.getLong("customer_pk"))
+        .firstName(rs.getString("first_name"))
+        .lastName(rs.getString("last_name"))
+        .phone(rs.getString("phone"))
+        .build();
+    // @formatter:on
+  }
+  
+  private Jeep mapModel(ResultSet rs) throws SQLException {
+    if (rs.getObject("model_pk") == null) {
+      return null;
+    }
+    
+    // @formatter:off
+    return Jeep.builder()
+        .basePrice(rs.getBigDecimal("base_price"))
+        .modelId(JeepModel.valueOf(rs.getString("model_id")))
+        .modelPK(rs.getLong("model_pk"))
+        .numDoors(rs.getInt("num_doors"))
+        .trimLevel(rs.getString("trim_level"))
+        .wheelSize(rs.getInt("wheel_size"))
+        .build();
+    // @formatter:on
+  }
+  
+  private Color mapColor(ResultSet rs) throws SQLException {
+    if (rs.getObject("color_pk") == null) {
+      return null;
+    }
+    
+    // @formatter:off
+    return Color.builder()
+        .color(rs.getString("color"))
+        .colorId(rs.getString("color_id"))
+        .colorPK(rs.getLong("color_pk"))
+        .isExterior(rs.getBoolean("is_exterior"))
+        .price(rs.getBigDecimal("color_price"))
+        .build();
+    // @formatter:on
+  }
+  
+  private Engine mapEngine(ResultSet rs) throws SQLException {
+    if (rs.getObject("engine_pk") == null) {
+      return null;
+    }
+    
+    // @formatter:off
+    return Engine.builder()
+        .description(rs.getString("description"))
+        .engineId(rs.getString("engine_id"))
+        .enginePK(rs.getLong("engine_pk"))
+        .fuelType(FuelType.valueOf(rs.getString("fuel_type")))
+        .hasStartStop(rs.getBoolean("has_start_stop"))
+        .mpgCity(rs.getFloat("mpg_city"))
+        .mpgHwy(rs.getFloat("mpg_hwy"))
+        .name(rs.getString("engine_name"))
+        .price(rs.getBigDecimal("engine_price"))
+        .sizeInLiters(rs.getFloat("size_in_liters"))
+        .build();
+    // @formatter:on
+  }
+  
+  private Tire mapTire(ResultSet rs) throws SQLException {
+    if (rs.getObject("tire_pk") == null) {
+      return null;
+    }
+    
+    // @formatter:off
+    return Tire.builder()
+        .manufacturer(rs.getString("tire_manufacturer"))
+        .price(rs.getBigDecimal("tire_price"))
+        .tireId(rs.getString("tire_id"))
+        .tirePK(rs.getLong("tire_pk"))
+        .tireSize(rs.getString("tire_size"))
+        .warrantyMiles(rs.getInt("warranty_miles"))
+        .build();
+    // @formatter:on
+  }
+
+  private Option mapOption(ResultSet rs) throws SQLException {
+    // @formatter:off
+    return Option.builder()
+        .category(OptionType.valueOf(rs.getString("category")))
+        .manufacturer(rs.getString("option_manufacturer"))
+        .name(rs.getString("option_name"))
+        .optionId(rs.getString("option_id"))
+        .optionPK(rs.getLong("option_pk"))
+        .price(rs.getBigDecimal("option_price"))
+        .build();
+    // @formatter:on
+  }
+
   /**
    * 
    * @author Promineo
@@ -285,7 +756,9 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   class TireResultSetExtractor implements ResultSetExtractor<Tire> {
     @Override
     public Tire extractData(ResultSet rs) throws SQLException {
-      rs.next();
+      if (!rs.next()) {
+        return null;                                                                    // Caller wraps the result in Optional
+      }
 
       // @formatter:off
       return Tire.builder()
@@ -308,7 +781,9 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   class EngineResultSetExtractor implements ResultSetExtractor<Engine> {
     @Override
     public Engine extractData(ResultSet rs) throws SQLException {
-      rs.next();
+      if (!rs.next()) {
+        return null;                                                                    // Caller wraps the result in Optional
+      }
 
       // @formatter:off
       return Engine.builder()
@@ -335,7 +810,9 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   class ColorResultSetExtractor implements ResultSetExtractor<Color> {
     @Override
     public Color extractData(ResultSet rs) throws SQLException {
-      rs.next();
+      if (!rs.next()) {
+        return null;                                                                    // Caller wraps the result in Optional
+      }
 
       // @formatter:off
       return Color.builder()
@@ -357,7 +834,9 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   class ModelResultSetExtractor implements ResultSetExtractor<Jeep> {
     @Override
     public Jeep extractData(ResultSet rs) throws SQLException {
-      rs.next();
+      if (!rs.next()) {
+        return null;                                                                    // Caller wraps the result in Optional
+      }
 
       // @formatter:off
       return Jeep.builder()
@@ -380,7 +859,9 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
   class CustomerResultSetExtractor implements ResultSetExtractor<Customer> {
     @Override
     public Customer extractData(ResultSet rs) throws SQLException {
-      rs.next();
+      if (!rs.next()) {
+        return null;                                                                    // Caller wraps the result in Optional
+      }
 
       // @formatter:off
       return Customer.builder()
@@ -395,6 +876,54 @@ public class DefaultJeepOrderDao implements JeepOrderDao {
     }
   }
 
+  /**
+   * Builds the components from the aliased columns of fetchOrderComponents. The single-row
+   * components are read from the first row; every row may carry one option.
+   */
+  class OrderComponentsResultSetExtractor implements ResultSetExtractor<OrderComponents> {
+    @Override
+    public OrderComponents extractData(ResultSet rs) throws SQLException {
+      OrderComponents.OrderComponentsBuilder builder = OrderComponents.builder();
+      Map<Long, Option> options = new LinkedHashMap<>();                                // A duplicated customer_id would repeat options
+      boolean first = true;
+      
+      while (rs.next()) {
+        if (first) {
+          builder.customer(mapCustomer(rs));
+          builder.model(mapModel(rs));
+          builder.color(mapColor(rs));
+          builder.engine(mapEngine(rs));
+          builder.tire(mapTire(rs));
+          first = false;
+        }
+        
+        if (rs.getObject("option_pk") != null) {
+          options.putIfAbsent(rs.getLong("option_pk"), mapOption(rs));
+        }
+      }
+      
+      return builder.options(new LinkedList<>(options.values())).build();
+    }
+  }
+
+  class OrderRowMapper implements RowMapper<Order> {
+    @Override
+    public Order mapRow(ResultSet rs, int rowNum) throws SQLException {
+      // @formatter:off
+      return Order.builder()
+          .orderPK(rs.getLong("order_pk"))
+          .customer(mapCustomer(rs))
+          .model(mapModel(rs))
+          .color(mapColor(rs))
+          .engine(mapEngine(rs))
+          .tire(mapTire(rs))
+          .options(new ArrayList<>())                                                   // Filled in by attachOptions
+          .price(rs.getBigDecimal("order_price"))
+          .build();
+      // @formatter:on
+    }
+  }
+
   class SqlParams {
     String sql;
     MapSqlParameterSource source = new MapSqlParameterSource();
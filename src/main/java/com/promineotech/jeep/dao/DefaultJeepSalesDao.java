@@ -3,55 +3,185 @@ package com.promineotech.jeep.dao;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
+import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Component
 @Slf4j
+@Timed(Constants.DAO_TIMER)
 public class DefaultJeepSalesDao implements JeepSalesDao {
   
+  static final String MODEL_PREDICATE = "model_id = :model_id";
+  
   @Autowired
   private NamedParameterJdbcTemplate jdbcTemplate;                          // allows use of named parameters rather than '?' placeholders
 
+  @Value("${jeep.jeeps.stream.fetch-size:500}")
+  private int streamFetchSize;
+
+  private NamedParameterJdbcTemplate streamingTemplate;                     // Same DataSource, but reads rows from the server in chunks
+
+  @PostConstruct
+  void createStreamingTemplate() {
+    streamingTemplate = new NamedParameterJdbcTemplate(new StreamingJdbcTemplate(
+        jdbcTemplate.getJdbcTemplate().getDataSource(), streamFetchSize));
+  }
+
   @Override
-  public List<Jeep> fetchJeeps(JeepModel model, String trim) {              // Model and trim sent from service layer
+  public List<Jeep> fetchJeeps(JeepFilter filter) {                         // Filter sent from service layer
     
-    log.debug("DAO: model={}, trim={}", model, trim);                       // Console logging for DAO layer showing values sent from Service layer
-    
-    String sql = ""                                                         // Set up SQL to return values from schema based on model/trim
-        + "SELECT * "
-        + "FROM models "
-        + "WHERE model_id = :model_id AND trim_level = :trim_level";
+    log.debug("DAO: filter={}", filter);                                    // Console logging for DAO layer showing values sent from Service layer
     
     Map<String, Object> params = new HashMap<>();                           // Created HashMap to help prevent SQL Injection attacks
-    params.put("model_id", model.toString());                               // Values get placed in a Map so the map can be referenced
-    params.put("trim_level", trim);                                         // instead of concatenating values, opening up SQL injection attack
+    String sql = select(predicates(filter, params));                        // Only the supplied criteria become predicates
        
-    return jdbcTemplate.query(sql, params, new RowMapper<>() {              // Returns a list of Jeep objects from SQL query back to the service layer
-
-      @Override
-      public Jeep mapRow(ResultSet rs, int rowNum) throws SQLException {    // Builds a Jeep object for each row returned by the SQL query
-        // @formatter:off
-        return Jeep.builder()
-            .basePrice(new BigDecimal(rs.getString("base_price")))
-            .modelId(JeepModel.valueOf(rs.getString("model_id")))
-            .modelPK(rs.getLong("model_pk"))
-            .numDoors(rs.getInt("num_doors"))
-            .trimLevel(rs.getString("trim_level"))
-            .wheelSize(rs.getInt("wheel_size"))
-            .build();
-        // @formatter:on
-      }});
+    return jdbcTemplate.query(sql, params, new JeepRowMapper());            // Returns a list of Jeep objects from SQL query back to the service layer
+  }
+
+  /**
+   * Keyset query: the unique key (model_id, trim_level, num_doors) serves both the predicate and
+   * the ORDER BY, so each page costs an index range scan of limit rows regardless of depth. The
+   * cursor's trim is compared by the database, under the same collation as the ORDER BY, so a
+   * case-insensitive collation cannot make a page skip or repeat a row.
+   */
+  @Override
+  public List<Jeep> fetchJeepsAfter(JeepModel model, String trim, String afterTrim,
+      int afterDoors, int limit) {
+    
+    log.debug("DAO: model={}, trim={}, after={}/{}, limit={}", model, trim, afterTrim,
+        afterDoors, limit);
+    
+    Map<String, Object> params = new HashMap<>();
+    List<String> predicates = predicates(modelFilter(model, trim), params);
+    
+    if (afterTrim != null) {
+      predicates.add("(trim_level > :after_trim "
+          + "OR (trim_level = :after_trim AND num_doors > :after_doors))");
+      params.put("after_trim", afterTrim);
+      params.put("after_doors", afterDoors);
+    }
+    
+    String sql = select(predicates) + "ORDER BY trim_level, num_doors LIMIT :limit";
+    params.put("limit", limit);
+    
+    return jdbcTemplate.query(sql, params, new JeepRowMapper());
+  }
+
+  @Override
+  public void streamJeeps(JeepModel model, String trim, Consumer<Jeep> consumer) {
+    
+    log.debug("DAO: streaming model={}, trim={}", model, trim);
+    
+    Map<String, Object> params = new HashMap<>();
+    String sql = select(predicates(modelFilter(model, trim), params))
+        + "ORDER BY trim_level, num_doors";
+    RowMapper<Jeep> rowMapper = new JeepRowMapper();
+    
+    RowCallbackHandler handler =
+        rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow()));           // Each row is handed on as soon as it is read
+    
+    streamingTemplate.query(sql, params, handler);
+  }
+
+  private JeepFilter modelFilter(JeepModel model, String trim) {
+    return JeepFilter.builder().model(model).trim(trim).build();
+  }
+
+  /**
+   * Turns each supplied criterion into a predicate. A filter on model, trim, doors or price is
+   * served by the unique key or one of the indexes in V1.2__Jeep_Indexes.sql; wheelSize is only
+   * indexed after doors, so wheelSize alone (or with prices) scans the models table, which holds
+   * one row per trim. Shared with the R2DBC DAO, which only rewrites {@link #MODEL_PREDICATE}.
+   * 
+   * @param filter
+   * @param params receives the values for the returned predicates
+   * @return a modifiable list so callers can add their own predicates
+   */
+  static List<String> predicates(JeepFilter filter, Map<String, Object> params) {
+    List<String> predicates = new ArrayList<>();
+    
+    if (filter.getModel() != null) {
+      predicates.add(MODEL_PREDICATE);
+      params.put("model_id", filter.getModel().toString());
+    }
+    if (filter.getTrim() != null) {
+      predicates.add("trim_level = :trim_level");
+      params.put("trim_level", filter.getTrim());
+    }
+    if (filter.getDoors() != null) {
+      predicates.add("num_doors = :num_doors");
+      params.put("num_doors", filter.getDoors());
+    }
+    if (filter.getWheelSize() != null) {
+      predicates.add("wheel_size = :wheel_size");
+      params.put("wheel_size", filter.getWheelSize());
+    }
+    if (filter.getMinPrice() != null) {
+      predicates.add("base_price >= :min_price");
+      params.put("min_price", filter.getMinPrice());
+    }
+    if (filter.getMaxPrice() != null) {
+      predicates.add("base_price <= :max_price");
+      params.put("max_price", filter.getMaxPrice());
+    }
+    
+    return predicates;
+  }
+
+  static String select(List<String> predicates) {
+    return select("*", predicates);
+  }
+
+  /**
+   * @param columns
+   * @param predicates
+   * @return SELECT from models ending in a space so ORDER BY or LIMIT can be appended
+   */
+  static String select(String columns, List<String> predicates) {
+    String sql = ""
+        + "SELECT " + columns + " "
+        + "FROM models ";
+    
+    if (!predicates.isEmpty()) {
+      sql += "WHERE " + String.join(" AND ", predicates) + " ";
+    }
+    
+    return sql;
+  }
+
+  class JeepRowMapper implements RowMapper<Jeep> {
+
+    @Override
+    public Jeep mapRow(ResultSet rs, int rowNum) throws SQLException {      // Builds a Jeep object for each row returned by the SQL query
+      // @formatter:off
+      return Jeep.builder()
+          .basePrice(new BigDecimal(rs.getString("base_price")))
+          .modelId(JeepModel.valueOf(rs.getString("model_id")))
+          .modelPK(rs.getLong("model_pk"))
+          .numDoors(rs.getInt("num_doors"))
+          .trimLevel(rs.getString("trim_level"))
+          .wheelSize(rs.getInt("wheel_size"))
+          .build();
+      // @formatter:on
+    }
   }
 
 }
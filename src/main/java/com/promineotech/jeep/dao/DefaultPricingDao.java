@@ -0,0 +1,46 @@
+package com.promineotech.jeep.dao;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.PriceTable;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@Timed(Constants.DAO_TIMER)
+public class DefaultPricingDao implements PricingDao {
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Reads only the key and price columns of each catalog table.
+   */
+  @Override
+  public PriceTable fetchPriceTable() {
+    log.debug("Loading the price table");
+
+    PriceTable table = new PriceTable();
+
+    jdbcTemplate.query("SELECT model_id, trim_level, num_doors, base_price FROM models", Map.of(),
+        (RowCallbackHandler) rs -> table.putModel(JeepModel.valueOf(rs.getString("model_id")), rs.getString("trim_level"),
+                rs.getInt("num_doors"), rs.getBigDecimal("base_price")));
+    jdbcTemplate.query("SELECT color_id, price FROM colors", Map.of(),
+        (RowCallbackHandler) rs -> table.putColor(rs.getString("color_id"), rs.getBigDecimal("price")));
+    jdbcTemplate.query("SELECT engine_id, price FROM engines", Map.of(),
+        (RowCallbackHandler) rs -> table.putEngine(rs.getString("engine_id"), rs.getBigDecimal("price")));
+    jdbcTemplate.query("SELECT tire_id, price FROM tires", Map.of(),
+        (RowCallbackHandler) rs -> table.putTire(rs.getString("tire_id"), rs.getBigDecimal("price")));
+    jdbcTemplate.query("SELECT option_id, price FROM options", Map.of(),
+        (RowCallbackHandler) rs -> table.putOption(rs.getString("option_id"), rs.getBigDecimal("price")));
+
+    return table;
+  }
+
+}
@@ -0,0 +1,236 @@
+package com.promineotech.jeep.dao;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Customer;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.FuelType;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.OptionType;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.Tire;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ENUM columns are selected as CHAR and compared with CHAR parameters, for the same reasons as
+ * in {@link DefaultReactiveJeepSalesDao}.
+ */
+@Component
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepOrderDao implements ReactiveJeepOrderDao {
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @Value("${jeep.reports.rollup.update-from-values:false}")
+  private boolean updateFromValues;
+
+  @Override
+  public Mono<Customer> fetchCustomer(String customerId) {
+    log.debug("DAO: customerId={}", customerId);
+
+    // @formatter:off
+    return databaseClient.sql("SELECT * FROM customers WHERE customer_id = :customer_id")
+        .bind("customer_id", customerId)
+        .map((row, metadata) -> Customer.builder()
+            .customerId(row.get("customer_id", String.class))
+            .customerPK(DefaultReactiveJeepSalesDao.longValue(row, "customer_pk"))
+            .firstName(row.get("first_name", String.class))
+            .lastName(row.get("last_name", String.class))
+            .phone(row.get("phone", String.class))
+            .build())
+        .one();
+    // @formatter:on
+  }
+
+  @Override
+  public Mono<Jeep> fetchModel(JeepModel model, String trim, int doors) {
+    log.debug("DAO: model={}, trim={}, doors={}", model, trim, doors);
+
+    // @formatter:off
+    String sql = ""
+        + "SELECT " + DefaultReactiveJeepSalesDao.MODEL_COLUMNS + " "
+        + "FROM models "
+        + "WHERE model_id = CAST(:model_id AS CHAR(20)) "
+        + "AND trim_level = :trim_level "
+        + "AND num_doors = :num_doors";
+
+    return databaseClient.sql(sql)
+        .bind("model_id", model.toString())
+        .bind("trim_level", trim)
+        .bind("num_doors", doors)
+        .map((row, metadata) -> DefaultReactiveJeepSalesDao.mapJeep(row))
+        .one();
+    // @formatter:on
+  }
+
+  @Override
+  public Mono<Color> fetchColor(String colorId) {
+    log.debug("DAO: colorId={}", colorId);
+
+    // @formatter:off
+    return databaseClient.sql("SELECT * FROM colors WHERE color_id = :color_id")
+        .bind("color_id", colorId)
+        .map((row, metadata) -> Color.builder()
+            .color(row.get("color", String.class))
+            .colorId(row.get("color_id", String.class))
+            .colorPK(DefaultReactiveJeepSalesDao.longValue(row, "color_pk"))
+            .isExterior(row.get("is_exterior", Boolean.class))
+            .price(row.get("price", BigDecimal.class))
+            .build())
+        .one();
+    // @formatter:on
+  }
+
+  @Override
+  public Mono<Engine> fetchEngine(String engineId) {
+    log.debug("DAO: engineId={}", engineId);
+
+    // @formatter:off
+    String sql = ""
+        + "SELECT engine_pk, engine_id, size_in_liters, name, CAST(fuel_type AS CHAR(10)) AS fuel_type, "
+        + "mpg_city, mpg_hwy, has_start_stop, description, price "
+        + "FROM engines "
+        + "WHERE engine_id = :engine_id";
+
+    return databaseClient.sql(sql)
+        .bind("engine_id", engineId)
+        .map((row, metadata) -> Engine.builder()
+            .description(row.get("description", String.class))
+            .engineId(row.get("engine_id", String.class))
+            .enginePK(DefaultReactiveJeepSalesDao.longValue(row, "engine_pk"))
+            .fuelType(FuelType.valueOf(row.get("fuel_type", String.class)))
+            .hasStartStop(row.get("has_start_stop", Boolean.class))
+            .mpgCity(floatValue(row, "mpg_city"))
+            .mpgHwy(floatValue(row, "mpg_hwy"))
+            .name(row.get("name", String.class))
+            .price(row.get("price", BigDecimal.class))
+            .sizeInLiters(floatValue(row, "size_in_liters"))
+            .build())
+        .one();
+    // @formatter:on
+  }
+
+  @Override
+  public Mono<Tire> fetchTire(String tireId) {
+    log.debug("DAO: tireId={}", tireId);
+
+    // @formatter:off
+    return databaseClient.sql("SELECT * FROM tires WHERE tire_id = :tire_id")
+        .bind("tire_id", tireId)
+        .map((row, metadata) -> Tire.builder()
+            .manufacturer(row.get("manufacturer", String.class))
+            .price(row.get("price", BigDecimal.class))
+            .tireId(row.get("tire_id", String.class))
+            .tirePK(DefaultReactiveJeepSalesDao.longValue(row, "tire_pk"))
+            .tireSize(row.get("tire_size", String.class))
+            .warrantyMiles(row.get("warranty_miles", Integer.class))
+            .build())
+        .one();
+    // @formatter:on
+  }
+
+  @Override
+  public Flux<Option> fetchOptions(List<String> optionIds) {
+    if (optionIds.isEmpty()) {
+      return Flux.empty();
+    }
+
+    // @formatter:off
+    String sql = ""
+        + "SELECT option_pk, option_id, CAST(category AS CHAR(10)) AS category, manufacturer, name, price "
+        + "FROM options "
+        + "WHERE option_id IN (:option_ids)";
+
+    return databaseClient.sql(sql)
+        .bind("option_ids", optionIds)                                          // Expanded to one placeholder per ID
+        .map((row, metadata) -> Option.builder()
+            .category(OptionType.valueOf(row.get("category", String.class)))
+            .manufacturer(row.get("manufacturer", String.class))
+            .name(row.get("name", String.class))
+            .optionId(row.get("option_id", String.class))
+            .optionPK(DefaultReactiveJeepSalesDao.longValue(row, "option_pk"))
+            .price(row.get("price", BigDecimal.class))
+            .build())
+        .all();
+    // @formatter:on
+  }
+
+  @Override
+  public Mono<Order> saveOrder(Customer customer, Jeep jeep, Color color, Engine engine,
+      Tire tire, BigDecimal price, List<Option> options) {
+
+    // @formatter:off
+    String sql = ""
+        + "INSERT INTO orders ("
+        + "customer_fk, color_fk, engine_fk, tire_fk, model_fk, price"
+        + ") VALUES ("
+        + ":customer_fk, :color_fk, :engine_fk, :tire_fk, :model_fk, :price"
+        + ")";
+
+    Mono<Long> orderPK = databaseClient.sql(sql)
+        .bind("customer_fk", customer.getCustomerPK())
+        .bind("color_fk", color.getColorPK())
+        .bind("engine_fk", engine.getEnginePK())
+        .bind("tire_fk", tire.getTirePK())
+        .bind("model_fk", jeep.getModelpk())
+        .bind("price", price)
+        .filter(statement -> statement.returnGeneratedValues("order_pk"))
+        .map((row, metadata) -> DefaultReactiveJeepSalesDao.longValue(row, "order_pk"))
+        .one();
+
+    return orderPK.flatMap(pk -> saveOptions(options, pk)
+        .then(databaseClient.sql(DefaultSalesRollupDao.rollupSql("od.order_pk = :order_pk",
+            updateFromValues))
+            .bind("order_pk", pk)
+            .fetch()
+            .rowsUpdated())
+        .thenReturn(Order.builder()
+        .orderPK(pk)
+        .customer(customer)
+        .model(jeep)
+        .color(color)
+        .engine(engine)
+        .tire(tire)
+        .options(options)
+        .price(price)
+        .build()));
+    // @formatter:on
+  }
+
+  /**
+   * One INSERT per option, issued one after another on the transaction's connection.
+   */
+  private Mono<Void> saveOptions(List<Option> options, Long orderPK) {
+    String sql = "INSERT INTO order_options (option_fk, order_fk) VALUES (:option_fk, :order_fk)";
+
+    // @formatter:off
+    return Flux.fromIterable(options)
+        .concatMap(option -> databaseClient.sql(sql)
+            .bind("option_fk", option.getOptionPK())
+            .bind("order_fk", orderPK)
+            .fetch()
+            .rowsUpdated())
+        .then();
+    // @formatter:on
+  }
+
+  private static Float floatValue(Row row, String column) {
+    Number value = (Number) row.get(column);
+    return value == null ? null : value.floatValue();
+  }
+
+}
@@ -0,0 +1,93 @@
+package com.promineotech.jeep.dao;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import com.promineotech.jeep.entity.JeepModel;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+@Component
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepSalesDao implements ReactiveJeepSalesDao {
+
+  /**
+   * ENUMs are read as CHAR: R2DBC H2 has no codec that turns an ENUM into a String.
+   */
+  static final String MODEL_COLUMNS = ""
+      + "model_pk, CAST(model_id AS CHAR(20)) AS model_id, trim_level, num_doors, wheel_size, "
+      + "base_price";
+
+  /**
+   * R2DBC H2 binds strings as CLOBs, which an ENUM cannot be compared with.
+   */
+  static final String MODEL_PREDICATE = "model_id = CAST(:model_id AS CHAR(20))";
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @Value("${jeep.jeeps.stream.fetch-size:500}")
+  private int streamFetchSize;                                                      // Rows requested from the driver at a time
+
+  /**
+   * Same predicates as the JDBC DAO, with the model bound through a cast. ORDER BY model_id
+   * sorts by the CHAR alias, so models come in name order, which is also JeepModel's declaration
+   * order.
+   */
+  @Override
+  public Flux<Jeep> fetchJeeps(JeepFilter filter) {
+    
+    log.debug("DAO: filter={}", filter);
+    
+    Map<String, Object> params = new HashMap<>();
+    List<String> predicates = DefaultJeepSalesDao.predicates(filter, params);
+
+    predicates.replaceAll(predicate -> predicate.equals(DefaultJeepSalesDao.MODEL_PREDICATE)
+        ? MODEL_PREDICATE : predicate);
+
+    String sql = DefaultJeepSalesDao.select(MODEL_COLUMNS, predicates)
+        + "ORDER BY model_id, trim_level, num_doors";
+    
+    GenericExecuteSpec spec = databaseClient.sql(sql);
+    
+    for (Map.Entry<String, Object> param : params.entrySet()) {
+      spec = spec.bind(param.getKey(), param.getValue());
+    }
+    
+    return spec.map((row, metadata) -> mapJeep(row)).all().limitRate(streamFetchSize);
+  }
+
+  static Jeep mapJeep(Row row) {
+    // @formatter:off
+    return Jeep.builder()
+        .basePrice(row.get("base_price", BigDecimal.class))
+        .modelId(JeepModel.valueOf(row.get("model_id", String.class)))
+        .modelPK(longValue(row, "model_pk"))
+        .numDoors(row.get("num_doors", Integer.class))
+        .trimLevel(row.get("trim_level", String.class))
+        .wheelSize(row.get("wheel_size", Integer.class))
+        .build();
+    // @formatter:on
+  }
+
+  /**
+   * Unsigned INT keys arrive as Integer or Long depending on the driver.
+   */
+  static Long longValue(Row row, String column) {
+    Number value = (Number) row.get(column);
+    return value == null ? null : value.longValue();
+  }
+
+}
@@ -0,0 +1,186 @@
+package com.promineotech.jeep.dao;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Maintains sales_rollups with one INSERT ... SELECT ... ON DUPLICATE KEY UPDATE per group of
+ * orders: the orders are read back with their components and options, grouped into buckets and
+ * added to the buckets' counters. Every bucket adds the whole order price, so an option's
+ * order_total is the value of the orders it was sold on. Saving an order and rebuilding the
+ * rollups use the same statement, so the two cannot disagree.
+ */
+@Component
+@Timed(Constants.DAO_TIMER)
+public class DefaultSalesRollupDao implements SalesRollupDao {
+
+  private static final String ROLLUPS = "sales_rollups";
+  private static final String REBUILD = "sales_rollups_rebuild";
+  private static final String COLUMNS =
+      "dimension, sales_day, dimension_id, slot, order_count, order_total";
+  private static final String ORDERS_IN_LIST = "od.order_pk IN (:order_pks)";
+  private static final String ORDERS_IN_RANGE =
+      "od.order_pk > :after_order_pk AND od.order_pk <= :last_order_pk";
+  private static final String ORDERS_AFTER = "od.order_pk > :after_order_pk";
+
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Value("${jeep.reports.rollup.update-from-values:false}")
+  private boolean updateFromValues;
+
+  /**
+   * @return the statement that adds the orders selected by {@code orderPredicate} to
+   *         sales_rollups
+   * @see #rollupSql(String, String, boolean)
+   */
+  public static String rollupSql(String orderPredicate, boolean updateFromValues) {
+    return rollupSql(ROLLUPS, orderPredicate, updateFromValues);
+  }
+
+  /**
+   * @param table sales_rollups, or a table with the same columns
+   * @param orderPredicate selects the orders to add, as a condition on {@code od}, the orders
+   *        table; it appears once per dimension
+   * @param updateFromValues true to read the added counts with VALUES(col), for databases such
+   *        as H2 that cannot name the inserted rows' columns; MySQL deprecates VALUES(col)
+   * @return the statement that adds those orders to {@code table}
+   */
+  public static String rollupSql(String table, String orderPredicate, boolean updateFromValues) {
+    String bucket = "SELECT od.order_pk, CAST(od.created_at AS DATE) AS sales_day, "
+        + "MOD(od.order_pk, " + Constants.SALES_ROLLUP_SLOTS + ") AS slot, od.price, ";
+
+    // @formatter:off
+    return ""
+        + "INSERT INTO " + table + " (" + COLUMNS + ") "
+        + "SELECT * FROM ("                                                         // Derived table: the update may not name columns of a grouped SELECT
+        + "SELECT dimension, sales_day, dimension_id, slot, COUNT(*) AS orders_added, "
+        + "SUM(price) AS total_added "
+        + "FROM ("
+        + bucket + "'MODEL' AS dimension, CAST(m.model_id AS CHAR(20)) AS dimension_id "
+        + "FROM orders od JOIN models m ON m.model_pk = od.model_fk "
+        + "WHERE " + orderPredicate + " "
+        + "UNION "                                                                  // Not UNION ALL: an option listed twice counts its order once
+        + bucket + "'TRIM', CONCAT(CAST(m.model_id AS CHAR(20)), '/', m.trim_level) "
+        + "FROM orders od JOIN models m ON m.model_pk = od.model_fk "
+        + "WHERE " + orderPredicate + " "
+        + "UNION "
+        + bucket + "'ENGINE', e.engine_id "
+        + "FROM orders od JOIN engines e ON e.engine_pk = od.engine_fk "
+        + "WHERE " + orderPredicate + " "
+        + "UNION "
+        + bucket + "'COLOR', co.color_id "
+        + "FROM orders od JOIN colors co ON co.color_pk = od.color_fk "
+        + "WHERE " + orderPredicate + " "
+        + "UNION "
+        + bucket + "'OPTION', op.option_id "
+        + "FROM orders od JOIN order_options oo ON oo.order_fk = od.order_pk "
+        + "JOIN options op ON op.option_pk = oo.option_fk "
+        + "WHERE " + orderPredicate
+        + ") sales "
+        + "GROUP BY dimension, sales_day, dimension_id, slot"
+        + ") added "
+        + "ON DUPLICATE KEY UPDATE "
+        + (updateFromValues
+            ? "order_count = order_count + VALUES(order_count), "
+                + "order_total = order_total + VALUES(order_total)"
+            : "order_count = order_count + added.orders_added, "
+                + "order_total = order_total + added.total_added");
+    // @formatter:on
+  }
+
+  @Override
+  public void addOrders(Collection<Long> orderPKs) {
+    if (orderPKs.isEmpty()) {
+      return;
+    }
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("order_pks", orderPKs);
+
+    jdbcTemplate.update(rollupSql(ORDERS_IN_LIST, updateFromValues), params);
+  }
+
+  @Override
+  public void addOrdersToRebuild(long afterOrderPK, long lastOrderPK) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("after_order_pk", afterOrderPK);
+    params.put("last_order_pk", lastOrderPK);
+
+    jdbcTemplate.update(rollupSql(REBUILD, ORDERS_IN_RANGE, updateFromValues), params);
+  }
+
+  @Override
+  public List<SalesRollup> fetchRollups(SalesDimension dimension, String dimensionId,
+      LocalDate from, LocalDate to) {
+    // @formatter:off
+    String sql = ""
+        + "SELECT sales_day, dimension_id, SUM(order_count) AS order_count, "
+        + "SUM(order_total) AS order_total "
+        + "FROM sales_rollups "
+        + "WHERE dimension = :dimension "
+        + "AND sales_day BETWEEN :from_day AND :to_day "
+        + (dimensionId == null ? "" : "AND dimension_id = :dimension_id ")
+        + "GROUP BY sales_day, dimension_id "                                       // Adds up the slots
+        + "ORDER BY sales_day, dimension_id";
+    // @formatter:on
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("dimension", dimension.toString());
+    params.put("from_day", from);
+    params.put("to_day", to);
+    params.put("dimension_id", dimensionId);
+
+    // @formatter:off
+    return jdbcTemplate.query(sql, params, (rs, rowNum) -> SalesRollup.builder()
+        .day(rs.getObject("sales_day", LocalDate.class))
+        .dimension(dimension)
+        .dimensionId(rs.getString("dimension_id"))
+        .orders(rs.getLong("order_count"))
+        .orderTotal(rs.getBigDecimal("order_total"))
+        .build());
+    // @formatter:on
+  }
+
+  @Override
+  public long fetchLastOrderPK() {
+    Long lastOrderPK = jdbcTemplate.getJdbcTemplate()
+        .queryForObject("SELECT MAX(order_pk) FROM orders", Long.class);
+
+    return lastOrderPK == null ? 0 : lastOrderPK;
+  }
+
+  @Override
+  public void clearRebuild() {
+    jdbcTemplate.getJdbcTemplate().update("DELETE FROM " + REBUILD);
+  }
+
+  /**
+   * Emptying sales_rollups first locks it, so order transactions that add to it wait for the swap;
+   * the orders committed before that are the ones the catch-up statement finds.
+   */
+  @Override
+  public void replaceRollupsWithRebuild(long lastOrderPK) {
+    JdbcTemplate template = jdbcTemplate.getJdbcTemplate();
+
+    template.update("DELETE FROM " + ROLLUPS);
+    jdbcTemplate.update(rollupSql(REBUILD, ORDERS_AFTER, updateFromValues),
+        Map.of("after_order_pk", lastOrderPK));                                     // Orders saved while the rebuild ran
+    template.update("INSERT INTO " + ROLLUPS + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM "
+        + REBUILD);
+    template.update("DELETE FROM " + REBUILD);
+  }
+
+}
@@ -0,0 +1,35 @@
+package com.promineotech.jeep.dao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import com.promineotech.jeep.entity.IdempotencyRecord;
+
+public interface IdempotencyDao {
+
+  /**
+   * @param idempotencyKey
+   * @return the record saved for the key, if any
+   */
+  Optional<IdempotencyRecord> fetchRecord(String idempotencyKey);
+
+  /**
+   * @param record
+   * @throws org.springframework.dao.DuplicateKeyException if the key has already been saved
+   */
+  void saveRecord(IdempotencyRecord record);
+
+  /**
+   * Inserts the records as one JDBC batch.
+   * 
+   * @param records
+   */
+  void saveRecords(List<IdempotencyRecord> records);
+
+  /**
+   * @param cutoff
+   * @return the number of records created before the cutoff that were deleted
+   */
+  int deleteRecordsCreatedBefore(Instant cutoff);
+
+}
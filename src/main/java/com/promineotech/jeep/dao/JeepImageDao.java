@@ -0,0 +1,25 @@
+package com.promineotech.jeep.dao;
+
+import java.io.OutputStream;
+import java.util.Optional;
+import com.promineotech.jeep.entity.Image;
+
+public interface JeepImageDao {
+
+  /**
+   * @param modelPK
+   * @param imageId
+   * @return the image's metadata and data length, without the data itself
+   */
+  Optional<Image> fetchImage(Long modelPK, String imageId);
+
+  /**
+   * Copies the image's data column to the stream a chunk at a time, so at most one chunk is
+   * held in memory regardless of the image size.
+   * 
+   * @param image
+   * @param out
+   */
+  void copyImageData(Image image, OutputStream out);
+
+}
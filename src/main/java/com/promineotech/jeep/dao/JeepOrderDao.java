@@ -1,8 +1,10 @@
 package com.promineotech.jeep.dao;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import com.promineotech.jeep.entity.Color;
 import com.promineotech.jeep.entity.Customer;
 import com.promineotech.jeep.entity.Engine;
@@ -10,18 +12,65 @@ import com.promineotech.jeep.entity.Jeep;
 import com.promineotech.jeep.entity.JeepModel;
 import com.promineotech.jeep.entity.Option;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderComponents;
+import com.promineotech.jeep.entity.OrderRequest;
 import com.promineotech.jeep.entity.Tire;
 
 public interface JeepOrderDao {
   
   List<Option> fetchOptions(List<String> optionIds);
   Optional<Customer> fetchCustomer(String customerId);
+  Optional<Long> fetchCustomerPK(String customerId);
+  List<Customer> fetchCustomers(Collection<String> customerIds);
   Optional<Jeep> fetchModel(JeepModel model, String trim, int doors);
   Optional<Color> fetchColor(String colorId);
   Optional<Engine> fetchEngine(String engineId);
   Optional<Tire> fetchTire(String tireId);
 
+  /**
+   * Resolves the customer, model, color, engine, tire and options of an order request in a
+   * single round trip.
+   * 
+   * @param orderRequest
+   * @return the components that were found; missing ones are null
+   */
+  OrderComponents fetchOrderComponents(OrderRequest orderRequest);
+
   Order saveOrder(Customer customer, Jeep jeep, Color color, Engine engine, Tire tire,
       BigDecimal price, List<Option> options);
 
+  /**
+   * Inserts several orders and their options in JDBC batches.
+   * 
+   * @param orders orders without an orderPK
+   * @return the same orders with orderPK populated
+   */
+  List<Order> saveOrders(List<Order> orders);
+
+  /**
+   * @param orderPK
+   * @return the order with its customer, components and options
+   */
+  Optional<Order> fetchOrder(Long orderPK);
+
+  /**
+   * Returns a customer's orders, newest first, with the same fixed number of queries however
+   * many orders and options are returned.
+   * 
+   * @param customerPK
+   * @param beforeOrderPK only orders older than this one, or null to start with the newest
+   * @param limit
+   * @return
+   */
+  List<Order> fetchOrders(Long customerPK, Long beforeOrderPK, int limit);
+
+  /**
+   * Hands every order after afterOrderPK to the consumer, oldest first, each with its customer,
+   * components and options, reading one forward-only result set rather than building a list.
+   * 
+   * @param afterOrderPK 0 for every order, or the last order_pk already exported
+   * @param consumer
+   */
+  void streamOrders(long afterOrderPK, Consumer<Order> consumer);
+
 }
\ No newline at end of file
@@ -1,11 +1,44 @@
 package com.promineotech.jeep.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
 
 public interface JeepSalesDao {
 
-  List<Jeep> fetchJeeps(JeepModel model, String trim);
+  /**
+   * Returns the Jeeps matching every non-null field of the filter.
+   * 
+   * @param filter
+   * @return
+   */
+  List<Jeep> fetchJeeps(JeepFilter filter);
+
+  /**
+   * Returns up to limit Jeeps of one model ordered by trim and doors, starting after the given
+   * trim/doors position. Trims are ordered and compared by the database's collation, which need
+   * not match {@link String#compareTo(String)}.
+   * 
+   * @param model
+   * @param trim optional trim filter
+   * @param afterTrim trim of the last row already returned, or null to start at the beginning
+   * @param afterDoors doors of the last row already returned
+   * @param limit
+   * @return
+   */
+  List<Jeep> fetchJeepsAfter(JeepModel model, String trim, String afterTrim, int afterDoors,
+      int limit);
+
+  /**
+   * Hands each Jeep of one model to the consumer as it is read, ordered by trim and doors,
+   * without collecting them.
+   * 
+   * @param model
+   * @param trim optional trim filter
+   * @param consumer
+   */
+  void streamJeeps(JeepModel model, String trim, Consumer<Jeep> consumer);
 
 }
@@ -0,0 +1,12 @@
+package com.promineotech.jeep.dao;
+
+import com.promineotech.jeep.entity.PriceTable;
+
+public interface PricingDao {
+
+  /**
+   * @return the price of every model, color, engine, tire and option in the catalog
+   */
+  PriceTable fetchPriceTable();
+
+}
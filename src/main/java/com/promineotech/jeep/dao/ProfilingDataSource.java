@@ -0,0 +1,289 @@
+package com.promineotech.jeep.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report to a {@link StatementRecorder}. A query is
+ * timed from executeQuery until its result set is closed, counting only the time spent inside
+ * the driver (executeQuery and next), so row mapping in the DAOs is not charged to the SQL.
+ * Updates and batches are timed around the execute call and report the rows changed.
+ * <p>
+ * Spring Boot still finds the pool behind this wrapper for its HikariCP metrics.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+  private final StatementRecorder recorder;
+
+  public ProfilingDataSource(DataSource targetDataSource, StatementRecorder recorder) {
+    super(targetDataSource);
+    this.recorder = recorder;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(super.getConnection(username, password));
+  }
+
+  private Connection wrap(Connection connection) {
+    return proxy(Connection.class, new ConnectionHandler(connection));
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+        new Class<?>[] {type}, handler));
+  }
+
+  /**
+   * Forwards a call, rethrowing what the target threw rather than the reflection wrapper.
+   */
+  private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  /**
+   * Proxies compare by identity; unwrap and everything else go to the target.
+   */
+  private abstract static class Handler implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return handle(method, args);
+      }
+    }
+
+    abstract Object handle(Method method, Object[] args) throws Throwable;
+  }
+
+  private class ConnectionHandler extends Handler {
+    private final Connection connection;
+
+    ConnectionHandler(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      Object result = forward(connection, method, args);
+
+      switch (method.getName()) {
+        case "prepareCall":
+          return proxy(CallableStatement.class,
+              new StatementHandler((Statement) result, (String) args[0], connection));
+        case "prepareStatement":
+          return proxy(PreparedStatement.class,
+              new StatementHandler((Statement) result, (String) args[0], connection));
+        case "createStatement":
+          return proxy(Statement.class, new StatementHandler((Statement) result, null, connection));
+        default:
+          return result;
+      }
+    }
+  }
+
+  private class StatementHandler extends Handler {
+    private final Statement statement;
+    private final String sql;                                                       // null for a plain Statement; the SQL comes with each execute
+    private final Connection connection;
+    private final List<Object> parameters = new ArrayList<>();
+    private ResultSetHandler openResultSet;
+
+    StatementHandler(Statement statement, String sql, Connection connection) {
+      this.statement = statement;
+      this.sql = sql;
+      this.connection = connection;
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+
+      if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+        bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+        return forward(statement, method, args);
+      }
+
+      switch (name) {
+        case "clearParameters":
+          parameters.clear();
+          return forward(statement, method, args);
+        case "executeQuery":
+          return executeQuery(method, args);
+        case "executeUpdate":
+        case "executeLargeUpdate":
+        case "executeBatch":
+        case "executeLargeBatch":
+        case "execute":
+          return executeUpdate(method, args);
+        case "close":
+          Object result = forward(statement, method, args);
+          finishQuery();
+          return result;
+        default:
+          return forward(statement, method, args);
+      }
+    }
+
+    private void bind(int index, Object value) {
+      while (parameters.size() < index) {
+        parameters.add(null);
+      }
+
+      parameters.set(index - 1, value);
+    }
+
+    private Object executeQuery(Method method, Object[] args) throws Throwable {
+      String executed = executedSql(args);
+      long start = System.nanoTime();
+      ResultSet rs;
+
+      try {
+        rs = (ResultSet) forward(statement, method, args);
+      } catch (Throwable e) {
+        recorder.record(connection, executed, new ArrayList<>(parameters), System.nanoTime() - start,
+            0, true);
+        throw e;
+      }
+
+      finishQuery();
+      openResultSet = new ResultSetHandler(rs, executed, new ArrayList<>(parameters),
+          System.nanoTime() - start);
+
+      return proxy(ResultSet.class, openResultSet);
+    }
+
+    private Object executeUpdate(Method method, Object[] args) throws Throwable {
+      String executed = executedSql(args);
+      long start = System.nanoTime();
+      Object result;
+
+      try {
+        result = forward(statement, method, args);
+      } catch (Throwable e) {
+        recorder.record(connection, executed, new ArrayList<>(parameters), System.nanoTime() - start,
+            0, true);
+        throw e;
+      }
+
+      recorder.record(connection, executed, new ArrayList<>(parameters), System.nanoTime() - start,
+          rows(result), false);
+
+      return result;
+    }
+
+    /**
+     * A result set left open is recorded when its statement is closed or reused.
+     */
+    private void finishQuery() {
+      if (openResultSet != null) {
+        openResultSet.finish();
+        openResultSet = null;
+      }
+    }
+
+    private String executedSql(Object[] args) {
+      return sql != null || args == null || args.length == 0 ? sql : (String) args[0];
+    }
+
+    private long rows(Object result) throws SQLException {
+      if (result instanceof Boolean) {
+        return (Boolean) result ? 0 : Math.max(statement.getUpdateCount(), 0);      // execute(): a result set is not read here
+      }
+
+      if (result instanceof int[]) {
+        long rows = 0;
+
+        for (int count : (int[]) result) {
+          rows += Math.max(count, 0);                                               // SUCCESS_NO_INFO is -2
+        }
+
+        return rows;
+      }
+
+      if (result instanceof long[]) {
+        long rows = 0;
+
+        for (long count : (long[]) result) {
+          rows += Math.max(count, 0);
+        }
+
+        return rows;
+      }
+
+      return ((Number) result).longValue();
+    }
+
+    private class ResultSetHandler extends Handler {
+      private final ResultSet rs;
+      private final String executed;
+      private final List<Object> boundParameters;
+      private long nanos;
+      private long rows;
+      private boolean finished;
+
+      ResultSetHandler(ResultSet rs, String executed, List<Object> boundParameters, long nanos) {
+        this.rs = rs;
+        this.executed = executed;
+        this.boundParameters = boundParameters;
+        this.nanos = nanos;
+      }
+
+      @Override
+      Object handle(Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+          case "next":
+            long start = System.nanoTime();
+            boolean next = rs.next();
+            nanos += System.nanoTime() - start;
+
+            if (next) {
+              rows++;
+            }
+
+            return next;
+          case "close":
+            Object result = forward(rs, method, args);
+            finish();                                                               // After closing, so EXPLAIN never meets a streaming result
+            return result;
+          default:
+            return forward(rs, method, args);
+        }
+      }
+
+      void finish() {
+        if (!finished) {
+          finished = true;
+          recorder.record(connection, executed, boundParameters, nanos, rows, false);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.promineotech.jeep.dao;
+
+import java.math.BigDecimal;
+import java.util.List;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Customer;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.Tire;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The lookups and insert of {@link JeepOrderDao} that POST /orders needs, over R2DBC. A lookup
+ * that finds nothing completes empty.
+ */
+public interface ReactiveJeepOrderDao {
+
+  Mono<Customer> fetchCustomer(String customerId);
+  Mono<Jeep> fetchModel(JeepModel model, String trim, int doors);
+  Mono<Color> fetchColor(String colorId);
+  Mono<Engine> fetchEngine(String engineId);
+  Mono<Tire> fetchTire(String tireId);
+  Flux<Option> fetchOptions(List<String> optionIds);
+
+  /**
+   * Inserts the order and its order_options rows. The caller supplies the transaction.
+   * 
+   * @return the order with its generated orderPK
+   */
+  Mono<Order> saveOrder(Customer customer, Jeep jeep, Color color, Engine engine, Tire tire,
+      BigDecimal price, List<Option> options);
+
+}
@@ -0,0 +1,19 @@
+package com.promineotech.jeep.dao;
+
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveJeepSalesDao {
+
+  /**
+   * Emits the Jeeps matching every non-null field of the filter, sorted the way
+   * {@link Jeep#compareTo(Jeep)} sorts them, as they are read. Rows are only requested from the
+   * database as fast as the subscriber consumes them.
+   * 
+   * @param filter
+   * @return
+   */
+  Flux<Jeep> fetchJeeps(JeepFilter filter);
+
+}
@@ -0,0 +1,166 @@
+package com.promineotech.jeep.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out replica connections, in turn, inside read-only transactions and primary connections
+ * everywhere else. A replica is used only while its last health check passed; when none is
+ * healthy, or every healthy one refuses a connection, the read goes to the primary.
+ * <p>
+ * The transaction's read-only flag is only set after the transaction manager has asked for a
+ * connection, so this data source must sit behind a LazyConnectionDataSourceProxy, which asks
+ * for the real connection when the first statement runs.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+  private final DataSource primary;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final int validationTimeoutSeconds;
+  private final ScheduledExecutorService healthCheck;
+
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+      Duration healthCheckInterval, Duration validationTimeout) {
+    this.primary = primary;
+    this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+
+    for (int index = 0; index < replicas.size(); index++) {
+      this.replicas.add(new Replica("replica-" + (index + 1), replicas.get(index)));
+    }
+
+    healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-health-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+    healthCheck.scheduleWithFixedDelay(this::checkReplicas, 0,                        // Replicas start unhealthy; reads use the primary until the first check
+        healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Runs {@code work} with its read-only transactions served by the primary, for reads that must
+   * see a write the replicas may not have applied yet. Also applies to a read-only transaction
+   * that is already open but has not run a statement.
+   */
+  public static <T> T readFromPrimary(Supplier<T> work) {
+    Boolean previous = PINNED_TO_PRIMARY.get();
+    PINNED_TO_PRIMARY.set(Boolean.TRUE);
+
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        PINNED_TO_PRIMARY.remove();
+      } else {
+        PINNED_TO_PRIMARY.set(previous);
+      }
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && PINNED_TO_PRIMARY.get() == null) {
+      for (int attempt = 0; attempt < replicas.size(); attempt++) {
+        Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+
+        if (replica.isHealthy()) {
+          try {
+            return replica.dataSource.getConnection();
+          } catch (SQLException e) {
+            replica.markDown(e.getMessage());                                       // Until the next check finds it back
+          }
+        }
+      }
+
+      log.debug("No healthy replica, reading from the primary");
+    }
+
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  /**
+   * Stops the health checks and closes every pool this data source was given.
+   */
+  @Override
+  public void close() throws Exception {
+    healthCheck.shutdownNow();
+
+    for (Replica replica : replicas) {
+      close(replica.dataSource);
+    }
+
+    close(primary);
+  }
+
+  private void checkReplicas() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection()) {
+        if (connection.isValid(validationTimeoutSeconds)) {
+          replica.markUp();
+        } else {
+          replica.markDown("connection is not valid");
+        }
+      } catch (SQLException | RuntimeException e) {
+        replica.markDown(e.getMessage());
+      }
+    }
+  }
+
+  private static void close(DataSource dataSource) throws Exception {
+    if (dataSource instanceof AutoCloseable) {
+      ((AutoCloseable) dataSource).close();
+    }
+  }
+
+  private static class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile Boolean healthy;                                               // null until the first check
+
+    Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    boolean isHealthy() {
+      return Boolean.TRUE.equals(healthy);
+    }
+
+    void markUp() {
+      if (!isHealthy()) {
+        log.info("Reading from {}", name);
+        healthy = true;
+      }
+    }
+
+    void markDown(String reason) {
+      if (healthy == null || healthy) {                                             // Logged once per outage
+        log.warn("Not reading from {}: {}", name, reason);
+        healthy = false;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.promineotech.jeep.dao;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+
+public interface SalesRollupDao {
+
+  /**
+   * Adds saved orders, with their options, to the rollups of the day they were created. Called in
+   * the transaction that inserted them.
+   * 
+   * @param orderPKs
+   */
+  void addOrders(Collection<Long> orderPKs);
+
+  /**
+   * Adds every order with afterOrderPK &lt; order_pk &lt;= lastOrderPK to the rebuild copy of the
+   * rollups.
+   * 
+   * @param afterOrderPK
+   * @param lastOrderPK
+   */
+  void addOrdersToRebuild(long afterOrderPK, long lastOrderPK);
+
+  /**
+   * @param dimension
+   * @param dimensionId null for every id
+   * @param from first day
+   * @param to last day, inclusive
+   * @return one rollup per day and id, oldest day first
+   */
+  List<SalesRollup> fetchRollups(SalesDimension dimension, String dimensionId, LocalDate from,
+      LocalDate to);
+
+  /**
+   * @return the highest order_pk, or 0 if there are no orders
+   */
+  long fetchLastOrderPK();
+
+  void clearRebuild();
+
+  /**
+   * Adds the orders after lastOrderPK to the rebuild copy, then replaces the rollups with it and
+   * empties it. Called in one transaction, so readers see the old rollups or the new ones.
+   * 
+   * @param lastOrderPK the last order the rebuild copy was filled through
+   */
+  void replaceRollupsWithRebuild(long lastOrderPK);
+
+}
@@ -0,0 +1,215 @@
+package com.promineotech.jeep.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.entity.StatementStats;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Latency and row counts for every SQL statement run through {@link ProfilingDataSource},
+ * grouped by statement shape: the SQL with string literals replaced and runs of parameters
+ * collapsed, so an IN list or a multi-row INSERT of any length is one shape. Statements slower
+ * than jeep.sql.slow-threshold are logged with their parameters reduced to type and length, and
+ * with jeep.sql.explain the first slow execution of each query shape is explained on the same
+ * connection.
+ */
+@Component
+@Slf4j
+public class StatementRecorder {
+
+  private static final String OTHER_SHAPE = "(other statements)";
+  private static final int MAX_PLAN_LINES = 50;
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final String PARAMETERS = "\\?(?:\\s*,\\s*\\?)*";
+  private static final Pattern VALUE_ROWS = Pattern.compile(
+      "(\\(\\s*" + PARAMETERS + "\\s*\\))(?:\\s*,\\s*\\(\\s*" + PARAMETERS + "\\s*\\))+");
+  private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+  private static final Pattern QUERY =
+      Pattern.compile("^\\s*(?:SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+
+  @Value("${jeep.sql.slow-threshold:100ms}")
+  private Duration slowThreshold;
+
+  @Value("${jeep.sql.explain:false}")
+  private boolean explain;
+
+  @Value("${jeep.sql.max-shapes:500}")
+  private int maxShapes;
+
+  private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+  private final Map<String, Shape> shapesBySql = new ConcurrentHashMap<>();         // Saves normalizing SQL the DAOs send over and over
+
+  /**
+   * @param connection the unwrapped connection the statement ran on, used for EXPLAIN
+   * @param parameters bound values by index - 1; only their types and lengths are logged
+   * @param rows rows read by a query, or rows changed by an update or batch
+   */
+  void record(Connection connection, String sql, List<Object> parameters, long nanos, long rows,
+      boolean failed) {
+    Shape shape = shape(sql);
+
+    shape.executions.increment();
+    shape.totalNanos.add(nanos);
+    shape.maxNanos.accumulate(nanos);
+    shape.rows.add(rows);
+    shape.maxRows.accumulate(rows);
+
+    if (failed) {
+      shape.errors.increment();
+    }
+
+    if (nanos >= slowThreshold.toNanos()) {
+      shape.slow.increment();
+
+      log.warn("Slow SQL ({} ms, {} rows): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos), rows,
+          shape.sql, redact(parameters));
+
+      if (explain && !failed && QUERY.matcher(sql).find()
+          && shape.explained.compareAndSet(false, true)) {                          // Once per shape; the plan rarely changes
+        shape.plan = explain(connection, sql, parameters);
+      }
+    }
+  }
+
+  /**
+   * @return every statement shape, the most total time first
+   */
+  public List<StatementStats> getStatementStats() {
+    // @formatter:off
+    return shapes.values().stream()
+        .map(Shape::toStats)
+        .sorted(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed())
+        .collect(Collectors.toList());
+    // @formatter:on
+  }
+
+  public void reset() {
+    shapesBySql.clear();
+    shapes.clear();
+  }
+
+  public static String normalize(String sql) {
+    String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    shape = STRING_LITERAL.matcher(shape).replaceAll("'?'");
+    shape = VALUE_ROWS.matcher(shape).replaceAll("$1, ...");
+    return PARAMETER_LIST.matcher(shape).replaceAll("?, ...");
+  }
+
+  private Shape shape(String sql) {
+    Shape shape = shapesBySql.get(sql);
+
+    if (shape == null) {
+      String key = normalize(sql);
+
+      if (shapes.size() >= maxShapes && !shapes.containsKey(key)) {
+        key = OTHER_SHAPE;                                                          // Keeps the map bounded if SQL is built with literals
+      }
+
+      shape = shapes.computeIfAbsent(key, Shape::new);
+
+      if (shapesBySql.size() < maxShapes * 4) {
+        shapesBySql.put(sql, shape);
+      }
+    }
+
+    return shape;
+  }
+
+  private static String redact(List<Object> parameters) {
+    // @formatter:off
+    return parameters.stream()
+        .map(value -> value == null ? "null"
+            : value instanceof CharSequence ? "String(" + ((CharSequence) value).length() + ")"
+            : value.getClass().getSimpleName())
+        .collect(Collectors.joining(", ", "[", "]"));
+    // @formatter:on
+  }
+
+  private static List<String> explain(Connection connection, String sql, List<Object> parameters) {
+    List<String> plan = new ArrayList<>();
+
+    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      for (int index = 0; index < parameters.size(); index++) {
+        statement.setObject(index + 1, parameters.get(index));
+      }
+
+      try (ResultSet rs = statement.executeQuery()) {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columns = metaData.getColumnCount();
+
+        while (rs.next() && plan.size() < MAX_PLAN_LINES) {
+          StringBuilder line = new StringBuilder();
+
+          for (int column = 1; column <= columns; column++) {
+            if (columns > 1) {                                                      // MySQL returns a table; H2 a single PLAN column
+              line.append(column > 1 ? ", " : "").append(metaData.getColumnLabel(column))
+                  .append('=');
+            }
+
+            line.append(rs.getString(column));
+          }
+
+          plan.add(line.toString());
+        }
+      }
+    } catch (SQLException e) {
+      log.debug("Could not explain {}: {}", sql, e.getMessage());
+      plan.add("EXPLAIN failed: " + e.getMessage());
+    }
+
+    return plan;
+  }
+
+  private static class Shape {
+    private final String sql;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rows = new LongAdder();
+    private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean explained = new AtomicBoolean();
+    private volatile List<String> plan;
+
+    Shape(String sql) {
+      this.sql = sql;
+    }
+
+    StatementStats toStats() {
+      // @formatter:off
+      return StatementStats.builder()
+          .sql(sql)
+          .executions(executions.sum())
+          .errors(errors.sum())
+          .slow(slow.sum())
+          .totalMillis(totalNanos.sum() / 1e6)
+          .maxMillis(maxNanos.get() / 1e6)
+          .rows(rows.sum())
+          .maxRows(maxRows.get())
+          .plan(plan)
+          .build();
+      // @formatter:on
+    }
+  }
+
+}
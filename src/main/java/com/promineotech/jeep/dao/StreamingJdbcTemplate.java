@@ -0,0 +1,40 @@
+package com.promineotech.jeep.dao;
+
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A JdbcTemplate for reads that hand each row on as it arrives. Most drivers, H2 included, read
+ * {@code fetchSize} rows per round trip. MySQL Connector/J would read the whole result into memory
+ * unless the connection has useCursorFetch, which also turns every other statement on it into a
+ * server-side prepared statement; for MySQL this template asks for Connector/J's row-by-row
+ * streaming instead, which applies to its own statements only. A streamed MySQL result must be
+ * read to the end before the connection runs another statement.
+ */
+@Slf4j
+public class StreamingJdbcTemplate extends JdbcTemplate {
+
+  private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+  public StreamingJdbcTemplate(DataSource dataSource, int fetchSize) {
+    super(dataSource);
+    setFetchSize(isMySql(dataSource) ? MYSQL_STREAMING_FETCH_SIZE : fetchSize);
+  }
+
+  private static boolean isMySql(DataSource dataSource) {
+    try {
+      String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+          DatabaseMetaData::getDatabaseProductName);
+      return "MySQL".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException e) {
+      log.warn("Could not read the database product, streaming with the fetch size: {}",
+          e.getMessage());
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,19 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStats {
+  private String name;
+  private int size;
+  private int maxSize;
+  private long hits;
+  private long misses;
+
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0.0 : (double) hits / lookups;
+  }
+}
@@ -0,0 +1,22 @@
+package com.promineotech.jeep.entity;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A successful response body as it was written to the client, kept so an identical request can
+ * be answered by copying bytes.
+ */
+@Data
+@Builder
+public class CachedResponse {
+  private long catalogVersion;                                                      // Stale once the catalog version moves on
+  private Map<String, String> headers;                                              // Content-Type, ETag, Last-Modified, Cache-Control
+  private byte[] body;
+  private byte[] gzipBody;                                                          // null when gzip would not save anything
+
+  public int getSize() {
+    return body.length + (gzipBody == null ? 0 : gzipBody.length);
+  }
+}
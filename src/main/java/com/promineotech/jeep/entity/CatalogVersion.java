@@ -0,0 +1,25 @@
+package com.promineotech.jeep.entity;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Identifies the current state of the catalog tables, as recorded in the catalog_version row.
+ * Both values change whenever that row is advanced.
+ */
+@Data
+@Builder
+public class CatalogVersion {
+  private long version;
+  private Instant lastModified;
+
+  /**
+   * @param format names the encoding of the representation, e.g. json or cbor
+   * @return a strong entity tag for a representation built from this catalog version, different
+   *         for each format since their bytes differ
+   */
+  public String getETag(String format) {
+    return "\"" + version + "-" + format + "\"";
+  }
+}
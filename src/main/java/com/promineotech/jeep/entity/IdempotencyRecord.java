@@ -0,0 +1,15 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The order created for an Idempotency-Key, and a hash of the request that created it.
+ */
+@Data
+@Builder
+public class IdempotencyRecord {
+  private String idempotencyKey;
+  private String requestHash;
+  private Long orderPK;
+}
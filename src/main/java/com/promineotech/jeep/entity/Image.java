@@ -0,0 +1,20 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A row of the images table without its data column, which is streamed separately.
+ */
+@Data
+@Builder
+public class Image {
+  private Long imagePK;
+  private Long modelFK;
+  private String imageId;
+  private int width;
+  private int height;
+  private String mimeType;
+  private String name;
+  private long dataLength;                      // Bytes in the data column
+}
@@ -0,0 +1,15 @@
+package com.promineotech.jeep.entity;
+
+import org.springframework.core.io.Resource;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * An image and a re-readable copy of its bytes, so the web layer can answer Range requests.
+ */
+@Data
+@Builder
+public class ImageContent {
+  private Image image;
+  private Resource resource;
+}
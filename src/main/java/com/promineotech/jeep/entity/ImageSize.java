@@ -0,0 +1,26 @@
+package com.promineotech.jeep.entity;
+
+/**
+ * The variants an image can be served in. Each variant fits inside a square of
+ * {@code maxDimension} pixels with the aspect ratio kept; FULL is the stored image.
+ */
+public enum ImageSize {
+  THUMBNAIL(160), CARD(480), FULL(Integer.MAX_VALUE);
+
+  private final int maxDimension;
+
+  ImageSize(int maxDimension) {
+    this.maxDimension = maxDimension;
+  }
+
+  public int getMaxDimension() {
+    return maxDimension;
+  }
+
+  /**
+   * @return true if the image is larger than this variant and has to be scaled down
+   */
+  public boolean requiresResize(Image image) {
+    return Math.max(image.getWidth(), image.getHeight()) > maxDimension;
+  }
+}
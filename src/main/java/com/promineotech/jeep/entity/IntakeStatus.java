@@ -0,0 +1,5 @@
+package com.promineotech.jeep.entity;
+
+public enum IntakeStatus {
+  QUEUED, CREATED, FAILED
+}
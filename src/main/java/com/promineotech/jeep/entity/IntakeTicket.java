@@ -0,0 +1,19 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * State of an order accepted by POST /orders/async. {@code order} is set once the order is
+ * CREATED; {@code status} and {@code message} explain a FAILED order with the same codes
+ * POST /orders would have returned.
+ */
+@Data
+@Builder
+public class IntakeTicket {
+  private String ticketId;
+  private IntakeStatus status;
+  private Order order;
+  private Integer statusCode;
+  private String message;
+}
@@ -0,0 +1,25 @@
+package com.promineotech.jeep.entity;
+
+import java.math.BigDecimal;
+import javax.validation.constraints.AssertTrue;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Optional search criteria for Jeeps. Only the non-null fields are turned into predicates.
+ */
+@Data
+@Builder
+public class JeepFilter {
+  private JeepModel model;
+  private String trim;
+  private Integer doors;
+  private Integer wheelSize;
+  private BigDecimal minPrice;                  // Inclusive
+  private BigDecimal maxPrice;                  // Inclusive
+
+  @AssertTrue(message = "minPrice must not be greater than maxPrice")
+  public boolean isPriceRangeValid() {
+    return minPrice == null || maxPrice == null || minPrice.compareTo(maxPrice) <= 0;
+  }
+}
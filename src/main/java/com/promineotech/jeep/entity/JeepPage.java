@@ -0,0 +1,17 @@
+package com.promineotech.jeep.entity;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One page of Jeeps ordered by model, trim and doors as the database sorts them: models in ENUM
+ * definition order, trims under the column's collation. {@code nextCursor} is passed back to fetch
+ * the following page and is null on the last page.
+ */
+@Data
+@Builder
+public class JeepPage {
+  private List<Jeep> jeeps;
+  private String nextCursor;
+}
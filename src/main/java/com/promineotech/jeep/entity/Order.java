@@ -1,8 +1,10 @@
 package com.promineotech.jeep.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import lombok.Builder;
 import lombok.Data;
 
@@ -17,9 +19,6 @@ public class Order {
   private Tire tire;
   private List<Option> options;
   private BigDecimal price;
-  
-  @JsonIgnore
-  public Long getOrderPK() {
-    return orderPK;
-  }
+  @JsonInclude(Include.NON_NULL)
+  private LocalDateTime createdAt;                                                  // Only read by the order export
 }
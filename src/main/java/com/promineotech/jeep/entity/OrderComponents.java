@@ -0,0 +1,20 @@
+package com.promineotech.jeep.entity;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Everything an {@link OrderRequest} refers to, resolved together. A component that could not be
+ * found is left null; options that could not be found are simply absent from the list.
+ */
+@Data
+@Builder
+public class OrderComponents {
+  private Customer customer;
+  private Jeep model;
+  private Color color;
+  private Engine engine;
+  private Tire tire;
+  private List<Option> options;
+}
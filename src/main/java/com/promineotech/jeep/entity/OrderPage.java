@@ -0,0 +1,16 @@
+package com.promineotech.jeep.entity;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One page of a customer's orders, newest first. {@code nextCursor} is passed back to fetch the
+ * following page and is null on the last page.
+ */
+@Data
+@Builder
+public class OrderPage {
+  private List<Order> orders;
+  private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one order in a bulk submission. {@code status} uses the same HTTP status codes the
+ * single-order endpoint would have returned for that request.
+ */
+@Data
+@Builder
+public class OrderResult {
+  private int index;
+  private int status;
+  private Order order;
+  private String message;
+}
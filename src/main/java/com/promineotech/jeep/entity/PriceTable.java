@@ -0,0 +1,99 @@
+package com.promineotech.jeep.entity;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Every catalog price in whole cents, keyed the way an {@link OrderRequest} names components.
+ * Lookups allocate nothing, except to fold the case of a trim, and return {@link #MISSING} for
+ * an unknown component. Trims match regardless of case, as MySQL's collation matches
+ * trim_level. A table is filled once by the DAO and read-only after it is published.
+ */
+public class PriceTable {
+
+  public static final long MISSING = Long.MIN_VALUE;
+
+  private static final int MAX_DOORS = 4;
+
+  private final Map<JeepModel, Map<String, long[]>> models = new EnumMap<>(JeepModel.class);   // model -> trim -> price by door count
+  private final Map<String, Long> colors = new HashMap<>();
+  private final Map<String, Long> engines = new HashMap<>();
+  private final Map<String, Long> tires = new HashMap<>();
+  private final Map<String, Long> options = new HashMap<>();
+
+  public void putModel(JeepModel model, String trim, int doors, BigDecimal price) {
+    long[] byDoors = models.computeIfAbsent(model, key -> new HashMap<>())
+        .computeIfAbsent(trimKey(trim), key -> newPriceArray());
+
+    if (doors >= 0 && doors <= MAX_DOORS) {
+      byDoors[doors] = toCents(price);
+    }
+  }
+
+  public void putColor(String colorId, BigDecimal price) {
+    colors.put(colorId, toCents(price));
+  }
+
+  public void putEngine(String engineId, BigDecimal price) {
+    engines.put(engineId, toCents(price));
+  }
+
+  public void putTire(String tireId, BigDecimal price) {
+    tires.put(tireId, toCents(price));
+  }
+
+  public void putOption(String optionId, BigDecimal price) {
+    options.put(optionId, toCents(price));
+  }
+
+  public long model(JeepModel model, String trim, int doors) {
+    Map<String, long[]> trims = models.get(model);
+    long[] byDoors = trims == null || trim == null ? null : trims.get(trimKey(trim));
+
+    return byDoors == null || doors < 0 || doors > MAX_DOORS ? MISSING : byDoors[doors];
+  }
+
+  public long color(String colorId) {
+    return lookup(colors, colorId);
+  }
+
+  public long engine(String engineId) {
+    return lookup(engines, engineId);
+  }
+
+  public long tire(String tireId) {
+    return lookup(tires, tireId);
+  }
+
+  public long option(String optionId) {
+    return lookup(options, optionId);
+  }
+
+  public static BigDecimal toPrice(long cents) {
+    return BigDecimal.valueOf(cents, 2);
+  }
+
+  public static long toCents(BigDecimal price) {
+    return price == null ? 0 : price.movePointRight(2).longValueExact();           // A null price (engines allow it) costs nothing
+  }
+
+  private static long lookup(Map<String, Long> prices, String id) {
+    Long cents = id == null ? null : prices.get(id);
+    return cents == null ? MISSING : cents;
+  }
+
+  private static String trimKey(String trim) {
+    return trim.toLowerCase(Locale.ROOT);
+  }
+
+  private static long[] newPriceArray() {
+    long[] byDoors = new long[MAX_DOORS + 1];
+    Arrays.fill(byDoors, MISSING);
+    return byDoors;
+  }
+
+}
@@ -0,0 +1,19 @@
+package com.promineotech.jeep.entity;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The price an {@link OrderRequest} would be charged, broken down by component.
+ */
+@Data
+@Builder
+public class Quote {
+  private BigDecimal basePrice;
+  private BigDecimal colorPrice;
+  private BigDecimal enginePrice;
+  private BigDecimal tirePrice;
+  private BigDecimal optionsPrice;
+  private BigDecimal price;                                                         // Total, as charged by POST /orders
+}
@@ -0,0 +1,8 @@
+package com.promineotech.jeep.entity;
+
+/**
+ * What a sales rollup is grouped by. TRIM ids are the model and trim, as in "WRANGLER/Sport".
+ */
+public enum SalesDimension {
+  MODEL, TRIM, ENGINE, COLOR, OPTION
+}
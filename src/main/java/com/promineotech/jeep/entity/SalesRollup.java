@@ -0,0 +1,16 @@
+package com.promineotech.jeep.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SalesRollup {
+  private LocalDate day;
+  private SalesDimension dimension;
+  private String dimensionId;                                                       // model_id, model_id/trim_level, engine_id, color_id or option_id
+  private long orders;
+  private BigDecimal orderTotal;                                                    // Whole price of those orders, not just this component's share
+}
@@ -0,0 +1,12 @@
+package com.promineotech.jeep.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SalesRollupRebuild {
+  private long lastOrderPK;                                                         // Orders after this one were counted as they were saved
+  private int batches;
+  private long elapsedMillis;
+}
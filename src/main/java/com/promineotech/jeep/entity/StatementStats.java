@@ -0,0 +1,27 @@
+package com.promineotech.jeep.entity;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StatementStats {
+  private String sql;                                                               // Parameters as ?, IN lists and VALUES rows collapsed to one shape
+  private long executions;
+  private long errors;
+  private long slow;
+  private double totalMillis;
+  private double maxMillis;
+  private long rows;
+  private long maxRows;
+  private List<String> plan;                                                        // EXPLAIN of the first slow execution, if captured
+
+  public double getMeanMillis() {
+    return executions == 0 ? 0.0 : totalMillis / executions;
+  }
+
+  public double getMeanRows() {
+    return executions == 0 ? 0.0 : (double) rows / executions;
+  }
+}
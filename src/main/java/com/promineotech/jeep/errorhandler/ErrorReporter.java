@@ -0,0 +1,116 @@
+package com.promineotech.jeep.errorhandler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts every error response and logs it. Unplanned errors are logged in full every time.
+ * Client errors are logged at most once per jeep.errors.log-interval for each status, exception
+ * type and URI pattern, with the number of like errors since the last line, so a client
+ * probing bad IDs cannot flood the log.
+ */
+@Component
+@Slf4j
+public class ErrorReporter {
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${jeep.errors.log-interval:10s}")
+  private Duration logInterval;
+
+  private final Map<Key, Sample> samples = new ConcurrentHashMap<>();
+
+  /**
+   * @param uriPattern the handler mapping (/orders/{orderPK}), not the raw URI, so the number of
+   *        counters and samples stays small; null if no handler matched
+   * @param stackTrace true for unplanned errors, which are logged with their stack trace
+   */
+  public void report(Exception e, HttpStatus status, String uriPattern, boolean stackTrace) {
+    String uri = uriPattern == null ? "UNKNOWN" : uriPattern;
+    Sample sample = samples.computeIfAbsent(new Key(status, e.getClass(), uri),
+        key -> new Sample(meterRegistry.counter(Constants.OUTCOME_COUNTER, "uri", uri,
+            "outcome", String.valueOf(status.value()))));
+
+    sample.counter.increment();
+
+    if (stackTrace) {
+      log.error("Exception: ", e);
+      return;
+    }
+
+    long suppressed = sample.occurred(logInterval.toNanos());
+
+    if (suppressed == 0) {
+      log.warn("{} on {}: {}", status.value(), uri, e.toString());
+    } else if (suppressed > 0) {
+      log.warn("{} on {}: {} (and {} more in the last {}s)", status.value(), uri, e.toString(),
+          suppressed, logInterval.toSeconds());
+    }
+  }
+
+  private static class Key {
+    private final HttpStatus status;
+    private final Class<?> type;
+    private final String uri;
+
+    Key(HttpStatus status, Class<?> type, String uri) {
+      this.status = status;
+      this.type = type;
+      this.uri = uri;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+
+      Key key = (Key) other;
+      return status == key.status && type == key.type && uri.equals(key.uri);
+    }
+
+    @Override
+    public int hashCode() {
+      return (31 * status.hashCode() + type.hashCode()) * 31 + uri.hashCode();          // Objects.hash would allocate on every error
+    }
+  }
+
+  private static class Sample {
+    private final Counter counter;
+    private final AtomicLong unlogged = new AtomicLong();
+    private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+
+    Sample(Counter counter) {
+      this.counter = counter;
+    }
+
+    /**
+     * @return the number of occurrences since the last one logged if this one should be
+     *         logged, or -1
+     */
+    long occurred(long intervalNanos) {
+      unlogged.incrementAndGet();
+
+      long now = System.nanoTime();
+      long due = nextLogAt.get();
+
+      if (now - due >= 0 && nextLogAt.compareAndSet(due, now + intervalNanos)) {
+        return unlogged.getAndSet(0) - 1;
+      }
+
+      return -1;
+    }
+  }
+
+}
@@ -1,55 +1,89 @@
 package com.promineotech.jeep.errorhandler;
 
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import javax.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerMapping;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.service.IdempotencyKeyReusedException;
+import com.promineotech.jeep.service.InvalidCursorException;
 
 @RestControllerAdvice                                                              // Annotation to allow consolidation of error handling 
-@Slf4j
+@Profile("!" + Constants.REACTIVE_PROFILE)
 public class GlobalErrorHandler {
   
   private enum LogStatus {STACK_TRACE, MESSAGE_ONLY}
   
+  @Autowired
+  private ErrorResponseWriter errorResponseWriter;
+  
+  @Autowired
+  private ErrorReporter errorReporter;
+  
   
   @ExceptionHandler(ConstraintViolationException.class)                             // Annotation to specify handling for Constraint Violation Exceptions
-  @ResponseStatus(code = HttpStatus.BAD_REQUEST)                                    // Annotation to specify handling for 400 error (Bad Request)
-  public Map<String, Object> handleConstraintViolationException(ConstraintViolationException e, WebRequest webRequest) {
+  public ResponseEntity<byte[]> handleConstraintViolationException(ConstraintViolationException e, WebRequest webRequest) {
+    
+    return createExceptionMessage(e, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);   // 400 error (Bad Request)
+    
+  }
+  
+  @ExceptionHandler(MethodArgumentNotValidException.class)                          // Annotation to specify handling for an invalid @Valid request body
+  public ResponseEntity<byte[]> handleMethodArgumentNotValidException(MethodArgumentNotValidException e, WebRequest webRequest) {
+    
+    return createExceptionMessage(e, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
+  @ExceptionHandler(InvalidCursorException.class)                                   // Annotation to specify handling for undecodable page cursors
+  public ResponseEntity<byte[]> handleInvalidCursorException(InvalidCursorException e, WebRequest webRequest) {
     
     return createExceptionMessage(e, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);
     
   }
   
   @ExceptionHandler(NoSuchElementException.class)                                   // Annotation to specify handling for NoSuchElementExcetpions
-  @ResponseStatus(code = HttpStatus.NOT_FOUND)                                      // Annotation to specify handling for 404 error
-  public Map<String, Object> handleNoSuchElementException(NoSuchElementException e, WebRequest webRequest) {
+  public ResponseEntity<byte[]> handleNoSuchElementException(NoSuchElementException e, WebRequest webRequest) {
     
-    return createExceptionMessage(e, HttpStatus.NOT_FOUND, webRequest, LogStatus.MESSAGE_ONLY);
+    return createExceptionMessage(e, HttpStatus.NOT_FOUND, webRequest, LogStatus.MESSAGE_ONLY);     // 404 error
     
   }
 
   
+  @ExceptionHandler(IdempotencyKeyReusedException.class)                            // Annotation to specify handling for a reused Idempotency-Key
+  public ResponseEntity<byte[]> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e, WebRequest webRequest) {
+    
+    return createExceptionMessage(e, HttpStatus.UNPROCESSABLE_ENTITY, webRequest, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)                      // Annotation to specify handling for values not in enum list
-  @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-  public Map<String, Object> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e, WebRequest webRequest) {
+  public ResponseEntity<byte[]> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e, WebRequest webRequest) {
     
     return createExceptionMessage(e, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);
     
   }
   
+  @ExceptionHandler(RejectedExecutionException.class)                               // Annotation to specify handling for a full worker queue
+  public ResponseEntity<byte[]> handleRejectedExecutionException(RejectedExecutionException e, WebRequest webRequest) {
+    
+    return createExceptionMessage(e, HttpStatus.SERVICE_UNAVAILABLE, webRequest, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
   @ExceptionHandler(Exception.class)                                                // Annotation to specify handling for generic/unplanned errors
-  @ResponseStatus(code = HttpStatus.INTERNAL_SERVER_ERROR)
-  public Map<String, Object> handleException(Exception e, WebRequest webRequest) {
+  public ResponseEntity<byte[]> handleException(Exception e, WebRequest webRequest) {
     
     return createExceptionMessage(e, HttpStatus.INTERNAL_SERVER_ERROR, webRequest, LogStatus.STACK_TRACE);
     
@@ -57,28 +91,17 @@ public class GlobalErrorHandler {
   
   
   // Method to customize capturing details for error messages
-  private Map<String, Object> createExceptionMessage(Exception e, HttpStatus status, WebRequest webRequest, LogStatus logStatus) {
-    
-    Map<String, Object> error = new HashMap<>();
-    String timestamp = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);        // Capture current date/time for timestamp
-    
-    if(webRequest instanceof ServletWebRequest) {                                   // uri for web request
-      error.put("uri", ((ServletWebRequest)webRequest).getRequest().getRequestURI());
-    }
+  private ResponseEntity<byte[]> createExceptionMessage(Exception e, HttpStatus status, WebRequest webRequest, LogStatus logStatus) {
     
-    error.put("message", e.toString());                                             // Exception message
-    error.put("status code", status.value());                                       // Error message status (404)
-    error.put("timestamp", timestamp);                                              // Timestamp .now()
-    error.put("reason", status.getReasonPhrase());                                  // Phrase from HttpStatus error message
+    String uri = webRequest instanceof ServletWebRequest                            // uri for web request
+        ? ((ServletWebRequest) webRequest).getRequest().getRequestURI() : "";
     
-    if(logStatus == LogStatus.MESSAGE_ONLY) {
-      
-      log.error("Exception: {}", e.toString());
-    } else {
-      log.error("Exception: ", e);
-    }
+    Object pattern = webRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+        RequestAttributes.SCOPE_REQUEST);                                           // The mapping (/orders/{orderPK}), not the raw URI, so the tag set stays small
+    errorReporter.report(e, status, pattern == null ? null : pattern.toString(),
+        logStatus == LogStatus.STACK_TRACE);
     
-    return error;
+    return errorResponseWriter.write(status, uri, e);                               // Status, reason, uri, message and timestamp
 
   }
 
@@ -0,0 +1,81 @@
+package com.promineotech.jeep.errorhandler;
+
+import java.util.NoSuchElementException;
+import javax.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.pattern.PathPattern;
+import com.promineotech.jeep.Constants;
+
+/**
+ * {@link GlobalErrorHandler} for the "reactive" profile: the same statuses and error body,
+ * taking the URI from the exchange instead of the servlet request.
+ */
+@RestControllerAdvice
+@Profile(Constants.REACTIVE_PROFILE)
+public class ReactiveErrorHandler {
+
+  private enum LogStatus {STACK_TRACE, MESSAGE_ONLY}
+  
+  @Autowired
+  private ErrorResponseWriter errorResponseWriter;
+  
+  @Autowired
+  private ErrorReporter errorReporter;
+  
+  
+  @ExceptionHandler(ConstraintViolationException.class)                             // Invalid request parameter
+  public ResponseEntity<byte[]> handleConstraintViolationException(ConstraintViolationException e, ServerWebExchange exchange) {
+    
+    return createExceptionMessage(e, HttpStatus.BAD_REQUEST, exchange, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
+  @ExceptionHandler(WebExchangeBindException.class)                                 // Invalid @Valid request body
+  public ResponseEntity<byte[]> handleWebExchangeBindException(WebExchangeBindException e, ServerWebExchange exchange) {
+    
+    return createExceptionMessage(e, HttpStatus.BAD_REQUEST, exchange, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
+  @ExceptionHandler(ServerWebInputException.class)                                  // Unreadable body or a value not in an enum
+  public ResponseEntity<byte[]> handleServerWebInputException(ServerWebInputException e, ServerWebExchange exchange) {
+    
+    return createExceptionMessage(e, HttpStatus.BAD_REQUEST, exchange, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
+  @ExceptionHandler(NoSuchElementException.class)
+  public ResponseEntity<byte[]> handleNoSuchElementException(NoSuchElementException e, ServerWebExchange exchange) {
+    
+    return createExceptionMessage(e, HttpStatus.NOT_FOUND, exchange, LogStatus.MESSAGE_ONLY);
+    
+  }
+  
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<byte[]> handleException(Exception e, ServerWebExchange exchange) {
+    
+    return createExceptionMessage(e, HttpStatus.INTERNAL_SERVER_ERROR, exchange, LogStatus.STACK_TRACE);
+    
+  }
+  
+  
+  private ResponseEntity<byte[]> createExceptionMessage(Exception e, HttpStatus status, ServerWebExchange exchange, LogStatus logStatus) {
+    
+    PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    errorReporter.report(e, status, pattern == null ? null : pattern.getPatternString(),
+        logStatus == LogStatus.STACK_TRACE);
+    
+    return errorResponseWriter.write(status, exchange.getRequest().getPath().value(), e);
+
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.promineotech.jeep.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * A file held by {@link ImageFileCache}. The cache may evict the file between the lookup and the
+ * moment the response is written, so a read that finds it gone fetches it again and reads that
+ * copy instead of failing the request.
+ */
+class CachedFileResource extends AbstractResource {
+
+  private final Supplier<Path> fetch;
+  private volatile Path path;
+
+  /**
+   * @param path the file as currently cached
+   * @param fetch returns the file again, re-creating it if it has been evicted
+   */
+  CachedFileResource(Path path, Supplier<Path> fetch) {
+    this.path = path;
+    this.fetch = fetch;
+  }
+
+  @Override
+  public boolean exists() {
+    return true;                                                                    // An evicted file is fetched again
+  }
+
+  @Override
+  public long contentLength() throws IOException {
+    return read(Files::size);
+  }
+
+  @Override
+  public long lastModified() throws IOException {
+    return read(file -> Files.getLastModifiedTime(file).toMillis());
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return read(Files::newInputStream);
+  }
+
+  @Override
+  public ReadableByteChannel readableChannel() throws IOException {
+    return read(Files::newByteChannel);
+  }
+
+  @Override
+  public String getFilename() {
+    return path.getFileName().toString();
+  }
+
+  @Override
+  public String getDescription() {
+    return "cached file [" + path + "]";
+  }
+
+  private <T> T read(FileReader<T> reader) throws IOException {
+    try {
+      return reader.read(path);
+    } catch (NoSuchFileException e) {
+      path = fetch.get();
+      return reader.read(path);
+    }
+  }
+
+  @FunctionalInterface
+  private interface FileReader<T> {
+    T read(Path file) throws IOException;
+  }
+
+}
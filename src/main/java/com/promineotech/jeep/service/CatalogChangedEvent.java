@@ -0,0 +1,17 @@
+package com.promineotech.jeep.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when catalog reference data (models, colors, engines, tires, options) has changed
+ * and anything holding a copy of it must be discarded.
+ */
+public class CatalogChangedEvent extends ApplicationEvent {
+
+  private static final long serialVersionUID = 1L;
+
+  public CatalogChangedEvent(Object source) {
+    super(source);
+  }
+
+}
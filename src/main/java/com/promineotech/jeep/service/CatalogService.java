@@ -0,0 +1,31 @@
+package com.promineotech.jeep.service;
+
+import java.util.List;
+import com.promineotech.jeep.entity.CacheStats;
+import com.promineotech.jeep.entity.CatalogVersion;
+
+public interface CatalogService {
+
+  /**
+   * @return hit/miss counters for each catalog cache region
+   */
+  List<CacheStats> fetchCacheStats();
+
+  /**
+   * Signals that the catalog tables have changed so cached copies are discarded, here and, by
+   * way of the catalog_version row, on every other instance.
+   */
+  void invalidateCatalog();
+
+  /**
+   * @return the version of the catalog tables, as last read from the catalog_version row
+   */
+  CatalogVersion fetchCatalogVersion();
+
+  /**
+   * Re-reads the catalog_version row and, if it has changed, discards cached catalog data. Runs
+   * every jeep.catalog.version-check-interval.
+   */
+  void checkCatalogVersion();
+
+}
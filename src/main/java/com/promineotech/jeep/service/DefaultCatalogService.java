@@ -0,0 +1,112 @@
+package com.promineotech.jeep.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.CachingJeepOrderDao;
+import com.promineotech.jeep.dao.CatalogVersionDao;
+import com.promineotech.jeep.entity.CacheStats;
+import com.promineotech.jeep.entity.CatalogVersion;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
+public class DefaultCatalogService implements CatalogService {
+
+  @Autowired
+  private CachingJeepOrderDao cachingJeepOrderDao;
+
+  @Autowired
+  private CatalogVersionDao catalogVersionDao;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Value("${jeep.catalog.version-check-interval:30s}")
+  private Duration versionCheckInterval;
+
+  private final AtomicReference<CatalogVersion> catalogVersion = new AtomicReference<>();   // Null until the row is first read
+
+  private ScheduledExecutorService versionCheck;
+
+  @PostConstruct
+  void startVersionCheck() {
+    versionCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "catalog-version-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+    versionCheck.scheduleWithFixedDelay(this::checkCatalogVersionQuietly,
+        versionCheckInterval.toMillis(), versionCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void stopVersionCheck() {
+    versionCheck.shutdownNow();
+  }
+
+  @Override
+  public List<CacheStats> fetchCacheStats() {
+    return cachingJeepOrderDao.getCacheStats();
+  }
+
+  /**
+   * Advances the catalog_version row, so every instance sees the change on its next check, then
+   * applies it here at once.
+   */
+  @Override
+  public void invalidateCatalog() {
+    log.info("Catalog invalidation requested");
+
+    catalogVersionDao.advanceCatalogVersion(fetchCatalogVersion().getVersion() + 1);   // Never reuse a version this instance has served
+    checkCatalogVersion();
+  }
+
+  @Override
+  public CatalogVersion fetchCatalogVersion() {
+    CatalogVersion version = catalogVersion.get();
+
+    if (version == null) {
+      checkCatalogVersion();
+      version = catalogVersion.get();
+    }
+
+    return version;
+  }
+
+  @Override
+  public void checkCatalogVersion() {
+    CatalogVersion loaded = catalogVersionDao.fetchCatalogVersion();
+    CatalogVersion previous = catalogVersion.getAndUpdate(
+        held -> held == null || held.getVersion() != loaded.getVersion() ? loaded : held);
+
+    if (previous != null && previous.getVersion() != loaded.getVersion()) {
+      log.info("Catalog version changed from {} to {}", previous.getVersion(),
+          loaded.getVersion());
+
+      eventPublisher.publishEvent(new CatalogChangedEvent(this));                   // Every catalog cache listens for this event
+    }
+  }
+
+  private void checkCatalogVersionQuietly() {
+    try {
+      checkCatalogVersion();
+    } catch (DataAccessException e) {                                               // An exception would cancel the schedule
+      log.warn("Could not read the catalog version: {}", e.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+package com.promineotech.jeep.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.cache.TtlCache;
+import com.promineotech.jeep.dao.JeepImageDao;
+import com.promineotech.jeep.entity.Image;
+import com.promineotech.jeep.entity.ImageContent;
+import com.promineotech.jeep.entity.ImageSize;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
+public class DefaultJeepImageService implements JeepImageService {
+
+  @Autowired
+  private JeepImageDao jeepImageDao;
+
+  @Autowired
+  private CatalogService catalogService;
+
+  @Autowired
+  private ImageFileCache imageFileCache;
+
+  @Autowired
+  private ImageMemoryCache imageMemoryCache;
+
+  @Autowired
+  private ImageResizer imageResizer;
+
+  private final TtlCache<String, Image> images;
+
+  private final Map<String, CompletableFuture<byte[]>> resizing = new ConcurrentHashMap<>();  // Variant key -> resize in progress
+
+  public DefaultJeepImageService(
+      @Value("${jeep.catalog.cache.max-size:1000}") int maxSize,
+      @Value("${jeep.catalog.cache.ttl:10m}") Duration ttl) {
+    images = new TtlCache<>("images", maxSize, ttl);
+  }
+
+  /**
+   * A cached file is served without touching the database. On a miss the BLOB is spooled to
+   * the file cache in chunks, so no request ever holds a whole image on the heap. Variants are
+   * looked up in memory, then on disk, and only then resized from the cached original.
+   */
+  @Override
+  public ImageContent fetchImage(Long modelPK, String imageId, ImageSize size) {
+    log.info("The fetchImage method was called with modelPK={}, imageId={} and size={}",
+        modelPK, imageId, size);
+
+    String key = cacheKey(modelPK, imageId);                                        // Versioned, so a spool racing an invalidation is never served
+    Image image = fetchMetadata(key, modelPK, imageId);
+
+    if (!size.requiresResize(image)) {
+      return content(image,
+          new CachedFileResource(fetchOriginal(key, image), () -> fetchOriginal(key, image)));
+    }
+
+    String variantKey = key + "-" + size;
+    Optional<byte[]> cached = imageMemoryCache.get(variantKey);
+
+    if (cached.isPresent()) {
+      return content(image, new ByteArrayResource(cached.get()));
+    }
+
+    Optional<Path> file = imageFileCache.get(variantKey);
+
+    if (file.isPresent()) {
+      return content(image, new CachedFileResource(file.get(),
+          () -> fetchVariant(variantKey, key, image, size)));
+    }
+
+    return content(image, new ByteArrayResource(resizeOnce(variantKey, key, image, size)));
+  }
+
+  /**
+   * Reads only the (usually cached) metadata, so a forged If-None-Match for an image that does
+   * not exist gets a 404 rather than a 304.
+   */
+  @Override
+  public String imageETag(Long modelPK, String imageId, ImageSize size) {
+    String key = cacheKey(modelPK, imageId);
+    fetchMetadata(key, modelPK, imageId);
+
+    return "\"" + key + "-" + size + "\"";
+  }
+
+  @EventListener(CatalogChangedEvent.class)
+  public void invalidate() {
+    images.invalidateAll();
+  }
+
+  private Image fetchMetadata(String key, Long modelPK, String imageId) {
+    return images.get(key).orElseGet(() -> {
+      Image loaded = jeepImageDao.fetchImage(modelPK, imageId)
+          .orElseThrow(() -> new NotFoundException(
+              "Image with ID=" + imageId + " was not found for model " + modelPK));
+      images.put(key, loaded);
+      return loaded;
+    });
+  }
+
+  private Path fetchOriginal(String key, Image image) {
+    return imageFileCache.get(key)
+        .orElseGet(() -> imageFileCache.put(key, out -> jeepImageDao.copyImageData(image, out)));
+  }
+
+  private Path fetchVariant(String variantKey, String key, Image image, ImageSize size) {
+    return imageFileCache.get(variantKey).orElseGet(() -> imageFileCache.put(variantKey,
+        out -> write(out, resizeOnce(variantKey, key, image, size))));
+  }
+
+  /**
+   * Concurrent requests for the same variant share one resize. The map only ever holds a
+   * placeholder future, so no request blocks on the map while the first one spools the original
+   * or queues the resize. The future is removed once it completes; by then the result is in the
+   * memory and disk caches.
+   */
+  private byte[] resizeOnce(String variantKey, String key, Image image, ImageSize size) {
+    CompletableFuture<byte[]> placeholder = new CompletableFuture<>();
+    CompletableFuture<byte[]> future = resizing.computeIfAbsent(variantKey, k -> placeholder);
+
+    if (future == placeholder) {                                                    // This request won; the others join its future
+      try {
+        imageResizer.resize(fetchOriginal(key, image), size).whenComplete((bytes, e) -> {
+          try {
+            if (e == null) {
+              imageMemoryCache.put(variantKey, bytes);
+              imageFileCache.put(variantKey, out -> write(out, bytes));
+            }
+          } finally {                                                               // Waiters are released even if caching fails
+            resizing.remove(variantKey, placeholder);
+            complete(placeholder, bytes, e);
+          }
+        });
+      } catch (RuntimeException e) {                                                // Spool failure or a full resize queue
+        resizing.remove(variantKey, placeholder);
+        placeholder.completeExceptionally(e);
+      }
+    }
+
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+  }
+
+  private static void complete(CompletableFuture<byte[]> future, byte[] bytes, Throwable e) {
+    if (e == null) {
+      future.complete(bytes);
+    } else {
+      future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+    }
+  }
+
+  private static void write(OutputStream out, byte[] bytes) {
+    try {
+      out.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private ImageContent content(Image image, Resource resource) {
+    return ImageContent.builder().image(image).resource(resource).build();
+  }
+
+  private String cacheKey(Long modelPK, String imageId) {
+    return catalogService.fetchCatalogVersion().getVersion() + "-" + modelPK + "-" + imageId;
+  }
+
+}
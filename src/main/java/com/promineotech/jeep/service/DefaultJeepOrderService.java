@@ -1,105 +1,489 @@
 package com.promineotech.jeep.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.IdempotencyDao;
 import com.promineotech.jeep.dao.JeepOrderDao;
+import com.promineotech.jeep.dao.ReplicaRoutingDataSource;
 import com.promineotech.jeep.entity.Color;
 import com.promineotech.jeep.entity.Customer;
 import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.IdempotencyRecord;
 import com.promineotech.jeep.entity.Jeep;
 import com.promineotech.jeep.entity.Option;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderComponents;
+import com.promineotech.jeep.entity.OrderPage;
 import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.entity.Quote;
 import com.promineotech.jeep.entity.Tire;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
 public class DefaultJeepOrderService implements JeepOrderService {
   
   @Autowired
   private JeepOrderDao jeepOrderDao;
+  
+  @Autowired
+  private Validator validator;
+  
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  
+  @Autowired
+  private PricingService pricingService;
+  
+  @Autowired
+  private IdempotencyDao idempotencyDao;
+  
+  @Autowired
+  private IdempotencyStore idempotencyStore;
+  
+  @Autowired
+  private RecentWrites recentWrites;
+  
+  @Value("${jeep.orders.bulk.chunk-size:500}")
+  private int bulkChunkSize;                                                            // Orders validated, resolved and inserted together
+  
+  @PostConstruct
+  void checkBulkChunkSize() {
+    if (bulkChunkSize < 1) {                                                            // createOrders would never advance
+      throw new IllegalStateException(
+          "jeep.orders.bulk.chunk-size must be at least 1, was " + bulkChunkSize);
+    }
+  }
 
   @Transactional
   @Override
   public Order createOrder(OrderRequest orderRequest) {
     
-    Customer customer = getCustomer(orderRequest);
-    Jeep jeep = getModel(orderRequest);
-    Color color = getColor(orderRequest);
-    Engine engine = getEngine(orderRequest);
-    Tire tire = getTire(orderRequest);
-    List<Option> options = getOption(orderRequest);
+    OrderComponents components = jeepOrderDao.fetchOrderComponents(orderRequest);      // One round trip for every component
     
-    // @formatter:off
-    BigDecimal price = jeep.getBasePrice()
-        .add(color.getPrice())
-        .add(engine.getPrice())
-        .add(tire.getPrice());
-    // @formatter:on
+    Customer customer = getCustomer(orderRequest, components);
+    Jeep jeep = getModel(orderRequest, components);
+    Color color = getColor(orderRequest, components);
+    Engine engine = getEngine(orderRequest, components);
+    Tire tire = getTire(orderRequest, components);
+    List<Option> options = components.getOptions();                                     // Can have order with no options
+    
+    BigDecimal price = pricingService.calculatePrice(jeep, color, engine, tire, options);
+    
+    Order order = jeepOrderDao.saveOrder(customer, jeep, color, engine, tire, price, options);
+    recentWrites.orderCreated(order);                                                   // Its reads stay on the primary for a while
+    
+    return order;
+  }
+
+  /**
+   * Recent keys are answered by the {@link IdempotencyStore} without touching the database.
+   * Older keys are looked up in idempotency_keys. Otherwise the order and its key are written in
+   * one transaction, so a key is never saved without its order or an order without its key.
+   */
+  @Override
+  public Order createOrder(OrderRequest orderRequest, String idempotencyKey) {
+    
+    if (idempotencyKey == null) {
+      return transactionTemplate.execute(status -> createOrder(orderRequest));
+    }
+    
+    String requestHash = idempotencyStore.hash(orderRequest);
+    
+    return idempotencyStore.execute(idempotencyKey, requestHash,
+        () -> createOrderOnce(orderRequest, idempotencyKey, requestHash));
+  }
+
+  private Order createOrderOnce(OrderRequest orderRequest, String idempotencyKey,
+      String requestHash) {
+    Optional<IdempotencyRecord> saved = idempotencyDao.fetchRecord(idempotencyKey);
+    
+    if (saved.isEmpty()) {
+      try {
+        return transactionTemplate.execute(status -> {
+          Order order = createOrder(orderRequest);
+          
+          // @formatter:off
+          idempotencyDao.saveRecord(IdempotencyRecord.builder()
+              .idempotencyKey(idempotencyKey)
+              .requestHash(requestHash)
+              .orderPK(order.getOrderPK())
+              .build());
+          // @formatter:on
+          
+          return order;
+        });
+      } catch (DuplicateKeyException e) {                                               // Another instance committed the same key first
+        log.info("Idempotency-Key {} was saved concurrently, returning its order", idempotencyKey);
+        saved = idempotencyDao.fetchRecord(idempotencyKey);
+      }
+    }
+    
+    IdempotencyRecord record = saved.orElseThrow();
+    
+    if (!record.getRequestHash().equals(requestHash)) {
+      throw new IdempotencyKeyReusedException(idempotencyKey);
+    }
+    
+    return fetchOrder(record.getOrderPK());
+  }
+
+  @Override
+  public Quote quoteOrder(OrderRequest orderRequest) {
+    
+    log.debug("The quoteOrder method was called with {}", orderRequest);
+    
+    return pricingService.quote(orderRequest);
+  }
+
+  /**
+   * Served by a replica unless the order was written recently. The connection is only taken
+   * when the first statement runs, so choosing the primary inside the transaction still works.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public Order fetchOrder(Long orderPK) {
+    
+    log.info("The fetchOrder method was called with orderPK={}", orderPK);
+    
+    if (recentWrites.isRecentOrder(orderPK)) {
+      return ReplicaRoutingDataSource.readFromPrimary(() -> readOrder(orderPK));
+    }
+    
+    return readOrder(orderPK);
+  }
+
+  private Order readOrder(Long orderPK) {
+    return jeepOrderDao.fetchOrder(orderPK)
+        .orElseThrow(() -> new NotFoundException("Order with ID=" + orderPK + " was not found"));
+  }
+
+  /**
+   * Reads one row more than the page size to tell whether another page follows.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public OrderPage fetchOrderHistory(String customerId, Long cursor, int limit) {
+    
+    log.info("The fetchOrderHistory method was called with customer={}, cursor={}, limit={}",
+        customerId, cursor, limit);
+    
+    if (recentWrites.isRecentCustomer(customerId)) {
+      return ReplicaRoutingDataSource.readFromPrimary(
+          () -> readOrderHistory(customerId, cursor, limit));
+    }
+    
+    return readOrderHistory(customerId, cursor, limit);
+  }
+
+  private OrderPage readOrderHistory(String customerId, Long cursor, int limit) {
+    Long customerPK = jeepOrderDao.fetchCustomerPK(customerId)
+        .orElseThrow(() -> new NotFoundException("Customer with ID=" + customerId + " was not found"));
+    
+    List<Order> orders = jeepOrderDao.fetchOrders(customerPK, cursor, limit + 1);
+    Long nextCursor = null;
+    
+    if (orders.size() > limit) {
+      orders = orders.subList(0, limit);
+      nextCursor = orders.get(limit - 1).getOrderPK();
+    }
+    
+    return OrderPage.builder().orders(orders).nextCursor(nextCursor).build();
+  }
+
+  /**
+   * Read-only, so a nightly export is served by a replica when there is one.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public void exportOrders(long afterOrderPK, Consumer<Order> consumer) {
+    
+    log.info("The exportOrders method was called with afterOrderPK={}", afterOrderPK);
+    
+    jeepOrderDao.streamOrders(afterOrderPK, consumer);
+  }
+
+  /**
+   * Validates and resolves the requests in chunks of bulkChunkSize. Catalog components shared by
+   * the orders of a chunk are resolved once, customers with one IN() query, and each chunk is
+   * inserted in its own transaction with batched statements.
+   */
+  @Override
+  public List<OrderResult> createOrders(Iterator<OrderRequest> orderRequests) {
+    List<OrderResult> results = new ArrayList<>();
+    List<OrderRequest> chunk = new ArrayList<>(bulkChunkSize);
+    
+    while (orderRequests.hasNext()) {
+      chunk.add(orderRequests.next());
+      
+      if (chunk.size() == bulkChunkSize) {
+        results.addAll(createOrderChunk(chunk, null, results.size()));
+        chunk.clear();
+      }
+    }
+    
+    if (!chunk.isEmpty()) {
+      results.addAll(createOrderChunk(chunk, null, results.size()));
+    }
+    
+    return results;
+  }
+
+  @Override
+  public List<OrderResult> createOrders(List<OrderRequest> orderRequests,
+      List<String> idempotencyKeys) {
+    List<OrderResult> results = new ArrayList<>(orderRequests.size());
     
-    for(Option option : options) {
-      price.add(option.getPrice());
-//      price = price.add(option.getPrice());  Removed "price = " in video Saving POST Data ppt 2 @ 25min
+    for (int first = 0; first < orderRequests.size(); first += bulkChunkSize) {
+      int last = Math.min(first + bulkChunkSize, orderRequests.size());
+      
+      results.addAll(createOrderChunk(orderRequests.subList(first, last),
+          idempotencyKeys.subList(first, last), first));
     }
     
-    return jeepOrderDao.saveOrder(customer, jeep, color, engine, tire, price, options);
+    return results;
   }
 
   /**
    * 
-   * @param orderRequest
+   * @param chunk
+   * @param idempotencyKeys key of each request, saved with its order, or null
+   * @param firstIndex position of the first request of the chunk in the submission
    * @return
    */
-  private List<Option> getOption(OrderRequest orderRequest) {
-    return jeepOrderDao.fetchOptions(orderRequest.getOptions());                        // Can have order with no options
+  private List<OrderResult> createOrderChunk(List<OrderRequest> chunk,
+      List<String> idempotencyKeys, int firstIndex) {
+    OrderResult[] results = new OrderResult[chunk.size()];
+    List<Integer> validIndexes = new ArrayList<>(chunk.size());
+    Set<String> customerIds = new HashSet<>();
+    Set<String> optionIds = new HashSet<>();
+    
+    for (int index = 0; index < chunk.size(); index++) {
+      OrderRequest orderRequest = chunk.get(index);
+      Set<ConstraintViolation<OrderRequest>> violations =
+          orderRequest == null ? Set.of() : validator.validate(orderRequest);
+      
+      if (orderRequest == null || !violations.isEmpty()) {
+        results[index] = failure(firstIndex + index, HttpStatus.BAD_REQUEST,
+            orderRequest == null ? "Order request is null" : describe(violations));
+        continue;
+      }
+      
+      validIndexes.add(index);
+      customerIds.add(orderRequest.getCustomer());
+      
+      if (orderRequest.getOptions() != null) {
+        optionIds.addAll(orderRequest.getOptions());
+      }
+    }
+    
+    Map<String, Customer> customers = new HashMap<>();
+    jeepOrderDao.fetchCustomers(customerIds)
+        .forEach(customer -> customers.put(customer.getCustomerId(), customer));
+    
+    Map<String, Option> options = new HashMap<>();
+    jeepOrderDao.fetchOptions(new ArrayList<>(optionIds))
+        .forEach(option -> options.put(option.getOptionId(), option));
+    
+    Map<String, Optional<Jeep>> models = new HashMap<>();                               // Shared components are resolved once per chunk
+    Map<String, Optional<Color>> colors = new HashMap<>();
+    Map<String, Optional<Engine>> engines = new HashMap<>();
+    Map<String, Optional<Tire>> tires = new HashMap<>();
+    
+    List<Integer> pendingIndexes = new ArrayList<>(validIndexes.size());
+    List<Order> pending = new ArrayList<>(validIndexes.size());
+    
+    for (int index : validIndexes) {
+      OrderRequest orderRequest = chunk.get(index);
+      
+      // @formatter:off
+      OrderComponents components = OrderComponents.builder()
+          .customer(customers.get(orderRequest.getCustomer()))
+          .model(models.computeIfAbsent(
+              orderRequest.getModel() + "|" + orderRequest.getTrim() + "|" + orderRequest.getDoors(),
+              key -> jeepOrderDao.fetchModel(orderRequest.getModel(), orderRequest.getTrim(),
+                  orderRequest.getDoors())).orElse(null))
+          .color(colors.computeIfAbsent(orderRequest.getColor(), jeepOrderDao::fetchColor)
+              .orElse(null))
+          .engine(engines.computeIfAbsent(orderRequest.getEngine(), jeepOrderDao::fetchEngine)
+              .orElse(null))
+          .tire(tires.computeIfAbsent(orderRequest.getTire(), jeepOrderDao::fetchTire)
+              .orElse(null))
+          .options(Optional.ofNullable(orderRequest.getOptions()).orElse(List.of()).stream()
+              .map(options::get)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList()))
+          .build();
+      // @formatter:on
+      
+      try {
+        pending.add(buildOrder(orderRequest, components));
+        pendingIndexes.add(index);
+      } catch (NoSuchElementException e) {
+        results[index] = failure(firstIndex + index, HttpStatus.NOT_FOUND, e.getMessage());
+      }
+    }
+    
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        jeepOrderDao.saveOrders(pending);
+        
+        if (idempotencyKeys != null) {
+          List<IdempotencyRecord> records = new ArrayList<>(pending.size());
+          
+          for (int position = 0; position < pending.size(); position++) {
+            int index = pendingIndexes.get(position);
+            
+            // @formatter:off
+            records.add(IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKeys.get(index))
+                .requestHash(idempotencyStore.hash(chunk.get(index)))
+                .orderPK(pending.get(position).getOrderPK())
+                .build());
+            // @formatter:on
+          }
+          
+          idempotencyDao.saveRecords(records);
+        }
+      });
+      
+      for (int position = 0; position < pending.size(); position++) {
+        int index = pendingIndexes.get(position);
+        
+        // @formatter:off
+        results[index] = OrderResult.builder()
+            .index(firstIndex + index)
+            .status(HttpStatus.CREATED.value())
+            .order(pending.get(position))
+            .build();
+        // @formatter:on
+        
+        recentWrites.orderCreated(pending.get(position));
+      }
+    } catch (DataAccessException e) {
+      log.error("Bulk insert of {} orders failed", pending.size(), e);
+      
+      for (int index : pendingIndexes) {
+        results[index] = failure(firstIndex + index, HttpStatus.INTERNAL_SERVER_ERROR,
+            e.getMessage());
+      }
+    }
+    
+    return Arrays.asList(results);
+  }
+
+  /**
+   * 
+   * @param orderRequest
+   * @param components
+   * @return an unsaved order
+   */
+  private Order buildOrder(OrderRequest orderRequest, OrderComponents components) {
+    Customer customer = getCustomer(orderRequest, components);
+    Jeep jeep = getModel(orderRequest, components);
+    Color color = getColor(orderRequest, components);
+    Engine engine = getEngine(orderRequest, components);
+    Tire tire = getTire(orderRequest, components);
+    List<Option> options = components.getOptions();
+    
+    // @formatter:off
+    return Order.builder()
+        .customer(customer)
+        .model(jeep)
+        .color(color)
+        .engine(engine)
+        .tire(tire)
+        .options(options)
+        .price(pricingService.calculatePrice(jeep, color, engine, tire, options))
+        .build();
+    // @formatter:on
+  }
+
+  private OrderResult failure(int index, HttpStatus status, String message) {
+    return OrderResult.builder().index(index).status(status.value()).message(message).build();
+  }
+
+  private String describe(Set<ConstraintViolation<OrderRequest>> violations) {
+    // @formatter:off
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+    // @formatter:on
   }
 
   /**
    * 
    * @param orderRequest
+   * @param components
    * @return
    */
-  private Tire getTire(OrderRequest orderRequest) {
-    return jeepOrderDao.fetchTire(orderRequest.getTire())
-        .orElseThrow(() -> new NoSuchElementException(
+  private Tire getTire(OrderRequest orderRequest, OrderComponents components) {
+    return Optional.ofNullable(components.getTire())
+        .orElseThrow(() -> new NotFoundException(
             "Tire with ID=" + orderRequest.getTire() + " was not found"));
   }
 
   /**
    * 
    * @param orderRequest
+   * @param components
    * @return
    */
-  private Engine getEngine(OrderRequest orderRequest) {
-    return jeepOrderDao.fetchEngine(orderRequest.getEngine())
-        .orElseThrow(() -> new NoSuchElementException(
+  private Engine getEngine(OrderRequest orderRequest, OrderComponents components) {
+    return Optional.ofNullable(components.getEngine())
+        .orElseThrow(() -> new NotFoundException(
             "Engine with ID=" + orderRequest.getEngine() + " was not found"));
   }
 
   /**
    * 
    * @param orderRequest
+   * @param components
    * @return
    */
-  private Color getColor(OrderRequest orderRequest) {
-    return jeepOrderDao.fetchColor(orderRequest.getColor())
-        .orElseThrow(() -> new NoSuchElementException(
+  private Color getColor(OrderRequest orderRequest, OrderComponents components) {
+    return Optional.ofNullable(components.getColor())
+        .orElseThrow(() -> new NotFoundException(
             "Color with ID=" + orderRequest.getColor() + " was not found"));
   }
 
   /**
    * 
    * @param orderRequest
+   * @param components
    * @return
    */
-  private Jeep getModel(OrderRequest orderRequest) {
-    return jeepOrderDao
-        .fetchModel(orderRequest.getModel(), orderRequest.getTrim(),
-            orderRequest.getDoors())
-        .orElseThrow(() -> new NoSuchElementException("Model with ID="
+  private Jeep getModel(OrderRequest orderRequest, OrderComponents components) {
+    return Optional.ofNullable(components.getModel())
+        .orElseThrow(() -> new NotFoundException("Model with ID="
             + orderRequest.getModel() + ", trim=" + orderRequest.getTrim()
             + " , doors=" + orderRequest.getDoors() + " was not found"));
   }
@@ -107,11 +491,12 @@ public class DefaultJeepOrderService implements JeepOrderService {
   /**
    * 
    * @param orderRequest
+   * @param components
    * @return
    */
-  private Customer getCustomer(OrderRequest orderRequest) {
-    return jeepOrderDao.fetchCustomer(orderRequest.getCustomer())
-        .orElseThrow(() -> new NoSuchElementException("Customer with ID="
+  private Customer getCustomer(OrderRequest orderRequest, OrderComponents components) {
+    return Optional.ofNullable(components.getCustomer())
+        .orElseThrow(() -> new NotFoundException("Customer with ID="
             + orderRequest.getCustomer() + " was not found"));
   }
 
@@ -1,18 +1,26 @@
 package com.promineotech.jeep.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.dao.JeepSalesDao;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.JeepPage;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@Timed(Constants.SERVICE_TIMER)
 public class DefaultJeepSalesService implements JeepSalesService {
 
   @Autowired
@@ -20,15 +28,17 @@ public class DefaultJeepSalesService implements JeepSalesService {
   
   @Transactional(readOnly = true)                                           // Manages creation, commit, and rollback of the transaction 
   @Override
-  public List<Jeep> fetchJeeps(JeepModel model, String trim) {
+  public List<Jeep> fetchJeeps(JeepFilter filter) {
     
-    log.info("The fetchJeeps method was callled with model={} and trim={}", model, trim);
+    log.info("The fetchJeeps method was callled with filter={}", filter);
     
-    List<Jeep> jeeps = jeepSalesDao.fetchJeeps(model, trim);
+    List<Jeep> jeeps = jeepSalesDao.fetchJeeps(filter);
     
     if(jeeps.isEmpty()) {                                                   // Checks to see if jeeps is an empty list (not null)
-      String msg = String.format("No jeeps found with model=%s and trim=%s", model, trim);
-      throw new NoSuchElementException(msg);
+      String msg = String.format("No jeeps found with model=%s, trim=%s, doors=%s, "
+          + "wheelSize=%s, minPrice=%s and maxPrice=%s", filter.getModel(), filter.getTrim(),
+          filter.getDoors(), filter.getWheelSize(), filter.getMinPrice(), filter.getMaxPrice());
+      throw new NotFoundException(msg);
     }
     
     Collections.sort(jeeps);                                                // Sort actual list of jeeps for comparison against expected for testing
@@ -36,4 +46,107 @@ public class DefaultJeepSalesService implements JeepSalesService {
     return jeeps;
   }
 
+  /**
+   * Walks the models in enum order, which is also the models.model_id ENUM definition order, and
+   * asks the DAO for the rows after the cursor position within each model, so only one page of
+   * rows is ever read. Trims are never compared here: the DAO compares the cursor's trim in SQL,
+   * so paging follows the column's collation rather than Java string order.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public JeepPage fetchJeepPage(JeepModel model, String trim, String cursor, int limit) {
+    
+    log.info("The fetchJeepPage method was called with model={}, trim={}, cursor={}, limit={}",
+        model, trim, cursor, limit);
+    
+    Jeep after = decodeCursor(cursor);
+    List<Jeep> jeeps = new ArrayList<>(limit + 1);
+    
+    for (JeepModel current : modelsToScan(model, after)) {
+      boolean cursorModel = after != null && after.getModelId() == current;
+      
+      jeeps.addAll(jeepSalesDao.fetchJeepsAfter(current, trim,
+          cursorModel ? after.getTrimLevel() : null,
+          cursorModel ? after.getNumDoors() : 0,
+          limit + 1 - jeeps.size()));                                       // One extra row tells us whether another page exists
+      
+      if (jeeps.size() > limit) {
+        break;
+      }
+    }
+    
+    String nextCursor = null;
+    
+    if (jeeps.size() > limit) {
+      jeeps = jeeps.subList(0, limit);
+      nextCursor = encodeCursor(jeeps.get(limit - 1));
+    }
+    
+    return JeepPage.builder().jeeps(jeeps).nextCursor(nextCursor).build();
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public void streamJeeps(JeepModel model, String trim, Consumer<Jeep> consumer) {
+    
+    log.info("The streamJeeps method was called with model={} and trim={}", model, trim);
+    
+    for (JeepModel current : modelsToScan(model, null)) {
+      jeepSalesDao.streamJeeps(current, trim, consumer);
+    }
+  }
+
+  private List<JeepModel> modelsToScan(JeepModel model, Jeep after) {
+    if (model != null) {
+      if (after != null && after.getModelId() != model) {
+        throw new InvalidCursorException("cursor is for model " + after.getModelId());
+      }
+      
+      return List.of(model);
+    }
+    
+    List<JeepModel> models = new ArrayList<>(List.of(JeepModel.values()));   // Enum order matches the model_id ENUM definition
+    
+    if (after != null) {
+      models.removeIf(current -> current.compareTo(after.getModelId()) < 0);
+    }
+    
+    return models;
+  }
+
+  /**
+   * The cursor is the sort key of the last Jeep on the page: model, trim and doors.
+   */
+  private String encodeCursor(Jeep last) {
+    String key = last.getModelId() + "|" + last.getTrimLevel() + "|" + last.getNumDoors();
+    
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Jeep decodeCursor(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+    
+    try {
+      String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+          .split("\\|", -1);
+      
+      if (key.length != 3) {
+        throw new InvalidCursorException(cursor);
+      }
+      
+      // @formatter:off
+      return Jeep.builder()
+          .modelId(JeepModel.valueOf(key[0]))
+          .trimLevel(key[1])
+          .numDoors(Integer.parseInt(key[2]))
+          .build();
+      // @formatter:on
+    } catch (IllegalArgumentException e) {                                  // Covers bad Base64, unknown model and bad doors
+      throw new InvalidCursorException(cursor);
+    }
+  }
+
 }
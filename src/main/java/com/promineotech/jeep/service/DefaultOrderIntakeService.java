@@ -0,0 +1,353 @@
+package com.promineotech.jeep.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.cache.TtlCache;
+import com.promineotech.jeep.dao.IdempotencyDao;
+import com.promineotech.jeep.entity.IdempotencyRecord;
+import com.promineotech.jeep.entity.IntakeStatus;
+import com.promineotech.jeep.entity.IntakeTicket;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accepts orders into a journaled queue and creates them from a single writer thread. The writer
+ * drains up to {@code batchSize} queued orders at a time and creates them through the bulk order
+ * path, so each group costs one connection and one commit instead of one per order. Each ticket
+ * ID is saved as the order's idempotency key in that commit; orders replayed from the journal
+ * after a crash are therefore never created twice.
+ */
+@Service
+@ConditionalOnProperty(name = "jeep.orders.intake.enabled", havingValue = "true")
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
+public class DefaultOrderIntakeService implements OrderIntakeService {
+
+  @Autowired
+  private JeepOrderService jeepOrderService;
+
+  @Autowired
+  private IdempotencyDao idempotencyDao;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${jeep.orders.intake.journal.path:${java.io.tmpdir}/jeep-intake/orders.journal}")
+  private Path journalPath;
+
+  @Value("${jeep.orders.intake.journal.fsync:true}")
+  private boolean fsync;                                                            // Force each accepted order to disk before answering 202
+
+  @Value("${jeep.orders.intake.batch-size:500}")
+  private int batchSize;
+
+  @Value("${jeep.orders.intake.max-attempts:3}")
+  private int maxAttempts;
+
+  @Value("${jeep.orders.intake.retry-delay:1s}")
+  private Duration retryDelay;
+
+  private final Semaphore capacity;
+  private final BlockingQueue<Accepted> queue = new LinkedBlockingQueue<>();
+  private final Map<String, IntakeTicket> queued = new ConcurrentHashMap<>();
+  private final TtlCache<String, IntakeTicket> finished;
+
+  private OrderJournal journal;
+  private Thread writer;
+  private volatile boolean running;
+
+  public DefaultOrderIntakeService(
+      @Value("${jeep.orders.intake.queue-capacity:10000}") int queueCapacity,
+      @Value("${jeep.orders.intake.status.max-size:100000}") int maxFinished,
+      @Value("${jeep.orders.intake.status.ttl:1h}") Duration finishedTtl) {
+    this.capacity = new Semaphore(queueCapacity);
+    this.finished = new TtlCache<>("intakeTickets", maxFinished, finishedTtl);
+  }
+
+  @PostConstruct
+  void start() throws IOException {
+    journal = new OrderJournal(journalPath, fsync, objectMapper);
+    Map<String, OrderRequest> unfinished = journal.open();
+
+    for (String ticketId : unfinished.keySet()) {
+      queued.put(ticketId, ticket(ticketId, IntakeStatus.QUEUED).build());
+    }
+
+    running = true;
+    writer = new Thread(() -> run(unfinished), "order-intake-writer");
+    writer.start();
+  }
+
+  /**
+   * Lets the writer finish the group it is committing, then closes the journal. Orders still
+   * queued stay in the journal and are replayed at the next start.
+   */
+  @PreDestroy
+  void stop() throws IOException, InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(30));
+    journal.close();
+  }
+
+  /**
+   * The ticket is made visible before the order is journaled, so the writer never empties the
+   * journal while an accepted order is being appended to it.
+   */
+  @Override
+  public IntakeTicket submit(OrderRequest orderRequest) {
+    if (!capacity.tryAcquire()) {
+      throw new RejectedExecutionException("The order intake queue is full");
+    }
+
+    String ticketId = UUID.randomUUID().toString();
+    IntakeTicket ticket = ticket(ticketId, IntakeStatus.QUEUED).build();
+
+    try {
+      queued.put(ticketId, ticket);
+      journal.accepted(ticketId, orderRequest);
+    } catch (RuntimeException e) {
+      queued.remove(ticketId);
+      capacity.release();
+      throw e;
+    }
+
+    queue.add(new Accepted(ticketId, orderRequest, true));
+    return ticket;
+  }
+
+  @Override
+  public IntakeTicket fetchTicket(String ticketId) {
+    return Optional.ofNullable(queued.get(ticketId))
+        .or(() -> finished.get(ticketId))
+        .orElseThrow(() -> new NotFoundException("Ticket with ID=" + ticketId + " was not found"));
+  }
+
+  private void run(Map<String, OrderRequest> unfinished) {
+    try {
+      recover(unfinished);
+    } catch (RuntimeException e) {                                                  // The replayed tickets are settled or queued by now
+      log.error("Order intake writer could not update the journal after replaying it", e);
+    }
+
+    List<Accepted> batch = new ArrayList<>(batchSize);
+
+    while (running) {
+      try {
+        Accepted first = queue.poll(100, TimeUnit.MILLISECONDS);
+
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);                                        // Everything that queued up while the last group committed
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {                                                // Journal I/O; the tickets were already settled
+        log.error("Order intake writer could not update the journal", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Replayed orders whose ticket ID is already an idempotency key were committed before the
+   * crash; only the others are queued again. A failure is confined to its own journal entry, so
+   * one bad entry neither stops the writer nor strands the rest.
+   */
+  private void recover(Map<String, OrderRequest> unfinished) {
+    if (unfinished.isEmpty()) {
+      return;
+    }
+
+    log.info("Replaying {} unfinished orders from {}", unfinished.size(), journalPath);
+
+    List<String> committed = new ArrayList<>();
+
+    for (Map.Entry<String, OrderRequest> entry : unfinished.entrySet()) {
+      try {
+        if (recover(entry.getKey())) {
+          committed.add(entry.getKey());
+          continue;
+        }
+      } catch (RuntimeException e) {                                                // Queued again: the key stops a second insert
+        log.error("Could not check replayed order {}, queueing it again", entry.getKey(), e);
+      }
+
+      queue.add(new Accepted(entry.getKey(), entry.getValue(), false));             // No permit: submitters may already hold all of them
+    }
+
+    journal.finished(committed);
+  }
+
+  /**
+   * @return true if the order was committed before the crash and its ticket is now finished
+   */
+  private boolean recover(String ticketId) {
+    Optional<IdempotencyRecord> record = Optional.empty();
+
+    while (running) {
+      try {
+        record = idempotencyDao.fetchRecord(ticketId);
+        break;
+      } catch (DataAccessException e) {
+        log.warn("Cannot check replayed order {} yet: {}", ticketId, e.getMessage());
+        sleep(retryDelay);
+      }
+    }
+
+    if (record.isEmpty()) {
+      return false;
+    }
+
+    IntakeTicket.IntakeTicketBuilder ticket = ticket(ticketId, IntakeStatus.CREATED)
+        .statusCode(HttpStatus.CREATED.value());
+
+    try {
+      ticket.order(jeepOrderService.fetchOrder(record.get().getOrderPK()));
+    } catch (RuntimeException e) {                                                  // Created all the same; only the response body is lost
+      log.warn("Replayed order {} was created as order {} but could not be read: {}", ticketId,
+          record.get().getOrderPK(), e.getMessage());
+      ticket.message("Order " + record.get().getOrderPK() + " was created but could not be read");
+    }
+
+    finish(ticket.build());
+    return true;
+  }
+
+  /**
+   * Orders whose group could not be committed (status 500) are queued again up to
+   * {@code maxAttempts} times; every other result is final. A queue permit is given back only
+   * when its order is finished, so requeueing never waits on submitters: only this thread
+   * releases permits, and it would wait for ever.
+   */
+  private void write(List<Accepted> batch) {
+    List<OrderRequest> requests = new ArrayList<>(batch.size());
+    List<String> ticketIds = new ArrayList<>(batch.size());
+
+    for (Accepted accepted : batch) {
+      requests.add(accepted.orderRequest);
+      ticketIds.add(accepted.ticketId);
+    }
+
+    List<OrderResult> results = createOrders(requests, ticketIds);
+    List<String> done = new ArrayList<>(batch.size());
+    boolean retrying = false;
+
+    for (int index = 0; index < batch.size(); index++) {
+      Accepted accepted = batch.get(index);
+      OrderResult result = results.get(index);
+
+      if (result.getStatus() == HttpStatus.INTERNAL_SERVER_ERROR.value()
+          && ++accepted.attempts < maxAttempts) {
+        queue.add(accepted);                                                        // Keeps its permit
+        retrying = true;
+        continue;
+      }
+
+      // @formatter:off
+      finish(ticket(accepted.ticketId,
+              result.getOrder() == null ? IntakeStatus.FAILED : IntakeStatus.CREATED)
+          .order(result.getOrder())
+          .statusCode(result.getStatus())
+          .message(result.getMessage())
+          .build());
+      // @formatter:on
+      done.add(accepted.ticketId);
+
+      if (accepted.holdsPermit) {
+        capacity.release();
+      }
+    }
+
+    journal.finished(done);
+    journal.truncateIf(queued::isEmpty);
+
+    if (retrying) {
+      sleep(retryDelay);
+    }
+  }
+
+  /**
+   * An exception is turned into a 500 for every order of the group, so the group is retried or
+   * failed like any other uncommitted group instead of leaving its tickets queued.
+   */
+  private List<OrderResult> createOrders(List<OrderRequest> requests, List<String> ticketIds) {
+    try {
+      return jeepOrderService.createOrders(requests, ticketIds);
+    } catch (RuntimeException e) {
+      log.error("Order intake writer failed on a group of {} orders", requests.size(), e);
+
+      List<OrderResult> results = new ArrayList<>(requests.size());
+
+      for (int index = 0; index < requests.size(); index++) {
+        // @formatter:off
+        results.add(OrderResult.builder()
+            .index(index)
+            .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+            .message(e.getMessage())
+            .build());
+        // @formatter:on
+      }
+
+      return results;
+    }
+  }
+
+  private void finish(IntakeTicket ticket) {
+    finished.put(ticket.getTicketId(), ticket);
+    queued.remove(ticket.getTicketId());
+  }
+
+  private IntakeTicket.IntakeTicketBuilder ticket(String ticketId, IntakeStatus status) {
+    return IntakeTicket.builder().ticketId(ticketId).status(status);
+  }
+
+  private void sleep(Duration delay) {
+    try {
+      Thread.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class Accepted {
+    private final String ticketId;
+    private final OrderRequest orderRequest;
+    private final boolean holdsPermit;                                              // False for orders replayed from the journal
+    private int attempts;
+
+    Accepted(String ticketId, OrderRequest orderRequest, boolean holdsPermit) {
+      this.ticketId = ticketId;
+      this.orderRequest = orderRequest;
+      this.holdsPermit = holdsPermit;
+    }
+  }
+
+}
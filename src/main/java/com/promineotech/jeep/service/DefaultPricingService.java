@@ -0,0 +1,174 @@
+package com.promineotech.jeep.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.PricingDao;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.PriceTable;
+import com.promineotech.jeep.entity.Quote;
+import com.promineotech.jeep.entity.Tire;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices orders in long cents, converted to BigDecimal once, at the end. Quotes are answered from
+ * a {@link PriceTable} held in memory; orders are charged the prices of the components read with
+ * them. The table is loaded on first use and dropped whenever the catalog changes or an order
+ * shows it to be out of date.
+ */
+@Service
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
+public class DefaultPricingService implements PricingService {
+
+  @Autowired
+  private PricingDao pricingDao;
+
+  private final ReentrantLock loadLock = new ReentrantLock();
+  private volatile PriceTable priceTable;
+
+  /**
+   * The components were just read with the order, so their own prices are charged. A loaded
+   * table is only checked against them: an entry that is missing or different means the catalog
+   * changed after the table was loaded, and the table is dropped so quotes reload it. The table
+   * is never loaded here, so pricing does no I/O and is safe on a reactive event loop.
+   */
+  @Override
+  public BigDecimal calculatePrice(Jeep jeep, Color color, Engine engine, Tire tire,
+      List<Option> options) {
+    PriceTable table = priceTable;                                                  // Null until a quote loads it
+
+    long modelCents = PriceTable.toCents(jeep.getBasePrice());
+    long colorCents = PriceTable.toCents(color.getPrice());
+    long engineCents = PriceTable.toCents(engine.getPrice());
+    long tireCents = PriceTable.toCents(tire.getPrice());
+
+    boolean stale = table != null
+        && (modelCents != table.model(jeep.getModelId(), jeep.getTrimLevel(), jeep.getNumDoors())
+            || colorCents != table.color(color.getColorId())
+            || engineCents != table.engine(engine.getEngineId())
+            || tireCents != table.tire(tire.getTireId()));
+
+    long cents = modelCents + colorCents + engineCents + tireCents;
+
+    for (int index = 0; index < options.size(); index++) {                          // Indexed loop: no iterator on the hot path
+      Option option = options.get(index);
+      long optionCents = PriceTable.toCents(option.getPrice());
+
+      stale |= table != null && optionCents != table.option(option.getOptionId());
+      cents += optionCents;
+    }
+
+    if (stale) {
+      dropPriceTable(table);
+    }
+
+    return PriceTable.toPrice(cents);
+  }
+
+  @Override
+  public Quote quote(OrderRequest orderRequest) {
+    PriceTable table = priceTable();
+
+    long base = table.model(orderRequest.getModel(), orderRequest.getTrim(),
+        orderRequest.getDoors());
+    long color = table.color(orderRequest.getColor());
+    long engine = table.engine(orderRequest.getEngine());
+    long tire = table.tire(orderRequest.getTire());
+    long options = 0;
+
+    if (base == PriceTable.MISSING) {
+      throw new NotFoundException("Model with ID=" + orderRequest.getModel() + ", trim="
+          + orderRequest.getTrim() + " , doors=" + orderRequest.getDoors() + " was not found");
+    }
+    if (color == PriceTable.MISSING) {
+      throw notFound("Color", orderRequest.getColor());
+    }
+    if (engine == PriceTable.MISSING) {
+      throw notFound("Engine", orderRequest.getEngine());
+    }
+    if (tire == PriceTable.MISSING) {
+      throw notFound("Tire", orderRequest.getTire());
+    }
+
+    if (orderRequest.getOptions() != null) {
+      for (String optionId : new LinkedHashSet<>(orderRequest.getOptions())) {      // Charged once, as order creation saves it once
+        long option = table.option(optionId);
+
+        if (option == PriceTable.MISSING) {
+          throw notFound("Option", optionId);
+        }
+
+        options += option;
+      }
+    }
+
+    // @formatter:off
+    return Quote.builder()
+        .basePrice(PriceTable.toPrice(base))
+        .colorPrice(PriceTable.toPrice(color))
+        .enginePrice(PriceTable.toPrice(engine))
+        .tirePrice(PriceTable.toPrice(tire))
+        .optionsPrice(PriceTable.toPrice(options))
+        .price(PriceTable.toPrice(base + color + engine + tire + options))
+        .build();
+    // @formatter:on
+  }
+
+  @EventListener(CatalogChangedEvent.class)
+  public void invalidate() {
+    log.info("Catalog changed, reloading prices on next use");
+
+    priceTable = null;
+  }
+
+  private void dropPriceTable(PriceTable stale) {
+    loadLock.lock();
+
+    try {
+      if (priceTable == stale) {                                                    // Another caller may already have reloaded it
+        log.info("Price table disagrees with the catalog, reloading on next use");
+        priceTable = null;
+      }
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  private PriceTable priceTable() {
+    PriceTable table = priceTable;
+
+    if (table == null) {
+      loadLock.lock();                                                              // One caller loads the table while the others wait
+
+      try {
+        table = priceTable;
+
+        if (table == null) {
+          table = pricingDao.fetchPriceTable();
+          priceTable = table;
+        }
+      } finally {
+        loadLock.unlock();
+      }
+    }
+
+    return table;
+  }
+
+  private static NoSuchElementException notFound(String component, String id) {
+    return new NotFoundException(component + " with ID=" + id + " was not found");
+  }
+
+}
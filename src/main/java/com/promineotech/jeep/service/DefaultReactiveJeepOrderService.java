@@ -0,0 +1,79 @@
+package com.promineotech.jeep.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.ReactiveJeepOrderDao;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.Tire;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepOrderService implements ReactiveJeepOrderService {
+
+  @Autowired
+  private ReactiveJeepOrderDao jeepOrderDao;
+
+  @Autowired
+  private TransactionalOperator transactionalOperator;
+
+  @Autowired
+  private PricingService pricingService;
+
+  /**
+   * The component lookups run concurrently, each on its own pooled connection; only the
+   * inserts share a transaction. {@link PricingService#calculatePrice} prices the components just
+   * read without any I/O, so it is called on the event loop.
+   */
+  @Override
+  public Mono<Order> createOrder(OrderRequest orderRequest) {
+    
+    log.debug("Reactive order={}", orderRequest);
+    
+    List<String> optionIds = Optional.ofNullable(orderRequest.getOptions()).orElse(List.of());
+    
+    // @formatter:off
+    return Mono.zip(
+        jeepOrderDao.fetchCustomer(orderRequest.getCustomer())
+            .switchIfEmpty(notFound("Customer with ID=" + orderRequest.getCustomer())),
+        jeepOrderDao.fetchModel(orderRequest.getModel(), orderRequest.getTrim(), orderRequest.getDoors())
+            .switchIfEmpty(notFound("Model with ID=" + orderRequest.getModel() + ", trim="
+                + orderRequest.getTrim() + " , doors=" + orderRequest.getDoors())),
+        jeepOrderDao.fetchColor(orderRequest.getColor())
+            .switchIfEmpty(notFound("Color with ID=" + orderRequest.getColor())),
+        Mono.justOrEmpty(orderRequest.getEngine()).flatMap(jeepOrderDao::fetchEngine)       // Engine is not @NotNull on the request
+            .switchIfEmpty(notFound("Engine with ID=" + orderRequest.getEngine())),
+        jeepOrderDao.fetchTire(orderRequest.getTire())
+            .switchIfEmpty(notFound("Tire with ID=" + orderRequest.getTire())),
+        jeepOrderDao.fetchOptions(optionIds).collectList())
+        .flatMap(components -> {
+          Jeep jeep = components.getT2();
+          Color color = components.getT3();
+          Engine engine = components.getT4();
+          Tire tire = components.getT5();
+          List<Option> options = components.getT6();
+          
+          return jeepOrderDao.saveOrder(components.getT1(), jeep, color, engine, tire,
+              pricingService.calculatePrice(jeep, color, engine, tire, options), options)
+              .as(transactionalOperator::transactional);
+        });
+    // @formatter:on
+  }
+
+  private static <T> Mono<T> notFound(String component) {
+    return Mono.error(() -> new NotFoundException(component + " was not found"));
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.promineotech.jeep.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.ReactiveJeepSalesDao;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+@Service
+@Profile(Constants.REACTIVE_PROFILE)
+@Slf4j
+public class DefaultReactiveJeepSalesService implements ReactiveJeepSalesService {
+
+  @Autowired
+  private ReactiveJeepSalesDao jeepSalesDao;
+
+  /**
+   * The DAO already returns the rows in order, so nothing is collected to sort them.
+   */
+  @Override
+  public Flux<Jeep> fetchJeeps(JeepFilter filter) {
+    
+    log.info("The reactive fetchJeeps method was called with filter={}", filter);
+    
+    return jeepSalesDao.fetchJeeps(filter).switchIfEmpty(Flux.error(() -> {
+      String msg = String.format("No jeeps found with model=%s, trim=%s, doors=%s, "
+          + "wheelSize=%s, minPrice=%s and maxPrice=%s", filter.getModel(), filter.getTrim(),
+          filter.getDoors(), filter.getWheelSize(), filter.getMinPrice(), filter.getMaxPrice());
+      return new NotFoundException(msg);
+    }));
+  }
+
+}
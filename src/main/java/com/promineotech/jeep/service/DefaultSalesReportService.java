@@ -0,0 +1,106 @@
+package com.promineotech.jeep.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.SalesRollupDao;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import com.promineotech.jeep.entity.SalesRollupRebuild;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@Timed(Constants.SERVICE_TIMER)
+public class DefaultSalesReportService implements SalesReportService {
+
+  @Autowired
+  private SalesRollupDao salesRollupDao;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${jeep.reports.rebuild.batch-size:10000}")
+  private int rebuildBatchSize;                                                      // Orders re-aggregated per transaction
+
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  @PostConstruct
+  void checkRebuildBatchSize() {
+    if (rebuildBatchSize < 1) {                                                      // rebuildSalesRollups would never advance
+      throw new IllegalStateException(
+          "jeep.reports.rebuild.batch-size must be at least 1, was " + rebuildBatchSize);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public List<SalesRollup> fetchSalesRollups(SalesDimension dimension, String dimensionId,
+      LocalDate from, int days) {
+    log.debug("Sales rollups: dimension={}, id={}, from={}, days={}", dimension, dimensionId,
+        from, days);
+
+    return salesRollupDao.fetchRollups(dimension, dimensionId, from, from.plusDays(days - 1));
+  }
+
+  /**
+   * Adds the orders to a copy of the rollups in windows of order_pk, one transaction per window,
+   * so a rebuild over millions of orders neither holds one long transaction nor locks the
+   * rollups against new orders for its whole length. The copy then replaces the rollups in one
+   * transaction, together with the orders saved in the meantime, so reports never see a partial
+   * rebuild and no order is counted twice. One rebuild runs at a time.
+   */
+  @Override
+  public SalesRollupRebuild rebuildSalesRollups() {
+    rebuildLock.lock();
+
+    try {
+      return rebuild();
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  private SalesRollupRebuild rebuild() {
+    long start = System.currentTimeMillis();
+
+    transactionTemplate.executeWithoutResult(status -> salesRollupDao.clearRebuild());
+
+    long lastOrderPK = salesRollupDao.fetchLastOrderPK();
+    int batches = 0;
+
+    for (long after = 0; after < lastOrderPK; after += rebuildBatchSize) {
+      long from = after;
+      long to = Math.min(after + rebuildBatchSize, lastOrderPK);
+
+      transactionTemplate.executeWithoutResult(
+          status -> salesRollupDao.addOrdersToRebuild(from, to));
+      batches++;
+    }
+
+    transactionTemplate.executeWithoutResult(
+        status -> salesRollupDao.replaceRollupsWithRebuild(lastOrderPK));
+
+    long elapsedMillis = System.currentTimeMillis() - start;
+
+    log.info("Sales rollups rebuilt through order {} in {} batches, {} ms", lastOrderPK, batches,
+        elapsedMillis);
+
+    // @formatter:off
+    return SalesRollupRebuild.builder()
+        .lastOrderPK(lastOrderPK)
+        .batches(batches)
+        .elapsedMillis(elapsedMillis)
+        .build();
+    // @formatter:on
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.promineotech.jeep.service;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.promineotech.jeep.dao.StatementRecorder;
+import com.promineotech.jeep.entity.StatementStats;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class DefaultStatementStatsService implements StatementStatsService {
+
+  @Autowired
+  private StatementRecorder statementRecorder;
+
+  @Override
+  public List<StatementStats> fetchStatementStats() {
+    return statementRecorder.getStatementStats();
+  }
+
+  @Override
+  public void resetStatementStats() {
+    log.info("SQL statement statistics reset");
+
+    statementRecorder.reset();
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.promineotech.jeep.service;
+
+/**
+ * Thrown when an Idempotency-Key that already created an order is sent with a different
+ * request.
+ */
+public class IdempotencyKeyReusedException extends IllegalStateException {
+
+  private static final long serialVersionUID = 1L;
+
+  public IdempotencyKeyReusedException(String idempotencyKey) {
+    super("Idempotency-Key " + idempotencyKey + " was already used for a different order");
+  }
+
+  @Override
+  public Throwable fillInStackTrace() {
+    return this;                                                                    // A client error; see NotFoundException
+  }
+
+}
@@ -0,0 +1,197 @@
+package com.promineotech.jeep.service;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.promineotech.jeep.cache.TtlCache;
+import com.promineotech.jeep.dao.IdempotencyDao;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers the order created for each recent Idempotency-Key and makes concurrent requests with
+ * the same key share one execution. Entries are evicted least-recently-used and after
+ * {@code ttl}; older keys are answered from the idempotency_keys table by the caller. Rows in that
+ * table are deleted once they are older than {@code retention}.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+  // @formatter:off
+  private static final ObjectMapper CANONICAL_JSON = JsonMapper.builder()           // Fixed here, so changes to the web mapper never change a hash
+      .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+      .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+      .build();
+  // @formatter:on
+
+  @Autowired
+  private IdempotencyDao idempotencyDao;
+
+  private final TtlCache<String, Completed> completed;
+  private final Map<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+  private final Duration retention;
+  private final Duration purgeInterval;
+
+  private ScheduledExecutorService purge;
+
+  public IdempotencyStore(
+      @Value("${jeep.orders.idempotency.max-size:10000}") int maxSize,
+      @Value("${jeep.orders.idempotency.ttl:24h}") Duration ttl,
+      @Value("${jeep.orders.idempotency.retention:7d}") Duration retention,
+      @Value("${jeep.orders.idempotency.purge-interval:1h}") Duration purgeInterval) {
+    this.completed = new TtlCache<>("idempotencyKeys", maxSize, ttl);
+    this.retention = retention;
+    this.purgeInterval = purgeInterval;
+  }
+
+  @PostConstruct
+  void startPurge() {
+    purge = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "idempotency-key-purge");
+      thread.setDaemon(true);
+      return thread;
+    });
+    purge.scheduleWithFixedDelay(this::purgeExpiredKeysQuietly, purgeInterval.toMillis(),
+        purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void stopPurge() {
+    purge.shutdownNow();
+  }
+
+  /**
+   * SHA-256 of the request as canonical JSON: properties in name order and options sorted, so a
+   * retry that lists the same options in another order is still the same request.
+   * 
+   * @return the hash as 64 hex digits
+   */
+  public String hash(OrderRequest orderRequest) {
+    ObjectNode json = CANONICAL_JSON.valueToTree(orderRequest);
+    List<String> options = new ArrayList<>(
+        Optional.ofNullable(orderRequest.getOptions()).orElse(List.of()));
+
+    Collections.sort(options);
+    json.set("options", CANONICAL_JSON.valueToTree(options));                       // No options and an empty list are the same order
+
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(CANONICAL_JSON.writeValueAsBytes(json));
+      return String.format("%064x", new BigInteger(1, digest));
+    } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the number of idempotency_keys rows older than {@code retention} that were deleted
+   */
+  public int purgeExpiredKeys() {
+    int deleted = idempotencyDao.deleteRecordsCreatedBefore(Instant.now().minus(retention));
+
+    if (deleted > 0) {
+      log.info("Deleted {} Idempotency-Keys older than {}", deleted, retention);
+    }
+
+    return deleted;
+  }
+
+  /**
+   * Returns the order already created for the key, waits for the execution in progress for it,
+   * or runs {@code create}. A failed execution is not remembered, so the client can retry it.
+   * 
+   * @throws IdempotencyKeyReusedException if the key was first used with a different request
+   */
+  public Order execute(String idempotencyKey, String requestHash, Supplier<Order> create) {
+    Optional<Completed> done = completed.get(idempotencyKey);
+
+    if (done.isPresent()) {
+      return done.get().orderFor(idempotencyKey, requestHash);
+    }
+
+    CompletableFuture<Completed> mine = new CompletableFuture<>();
+    CompletableFuture<Completed> running = inFlight.putIfAbsent(idempotencyKey, mine);
+
+    if (running != null) {
+      return await(running).orderFor(idempotencyKey, requestHash);
+    }
+
+    try {
+      Completed result = completed.get(idempotencyKey)                              // Finished between the first check and putIfAbsent
+          .orElseGet(() -> new Completed(requestHash, create.get()));
+
+      completed.put(idempotencyKey, result);
+      mine.complete(result);
+
+      return result.orderFor(idempotencyKey, requestHash);
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(idempotencyKey, mine);
+    }
+  }
+
+  private void purgeExpiredKeysQuietly() {
+    try {
+      purgeExpiredKeys();
+    } catch (DataAccessException e) {                                               // An exception would cancel the schedule
+      log.warn("Could not delete expired Idempotency-Keys: {}", e.getMessage());
+    }
+  }
+
+  private Completed await(CompletableFuture<Completed> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+  }
+
+  private static class Completed {
+    private final String requestHash;
+    private final Order order;
+
+    Completed(String requestHash, Order order) {
+      this.requestHash = requestHash;
+      this.order = order;
+    }
+
+    Order orderFor(String idempotencyKey, String requestHash) {
+      if (!this.requestHash.equals(requestHash)) {
+        throw new IdempotencyKeyReusedException(idempotencyKey);
+      }
+
+      return order;
+    }
+  }
+
+}
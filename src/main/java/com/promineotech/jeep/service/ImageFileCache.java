@@ -0,0 +1,162 @@
+package com.promineotech.jeep.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded directory of image files, evicted least-recently-used. Files are written to a
+ * temporary name and moved into place, so readers never see a partly written image. Keys are
+ * used as file names and must only contain word characters and '-'.
+ * 
+ * <p>Each instance keeps its files in a subdirectory of its own under jeep.images.cache.directory,
+ * removed again on shutdown, so instances sharing that directory never delete each other's files.
+ */
+@Component
+@Slf4j
+public class ImageFileCache {
+
+  private final Path parent;
+  private Path directory;
+  private final long maxBytes;
+  private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);  // Key -> file size, in access order
+  private long totalBytes;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  public ImageFileCache(
+      @Value("${jeep.images.cache.directory:${java.io.tmpdir}/jeep-images}") Path directory,
+      @Value("${jeep.images.cache.max-size:256MB}") DataSize maxSize) {
+    this.parent = directory;
+    this.maxBytes = maxSize.toBytes();
+  }
+
+  @PostConstruct
+  void createDirectory() throws IOException {
+    Files.createDirectories(parent);
+    directory = Files.createTempDirectory(parent, "cache-");
+
+    log.info("Caching images in {}", directory);
+  }
+
+  @PreDestroy
+  void deleteDirectory() throws IOException {
+    lock.lock();
+
+    try (Stream<Path> files = Files.list(directory)) {                              // Includes spool files still being written
+      files.forEach(this::delete);
+      entries.clear();
+      totalBytes = 0;
+    } finally {
+      lock.unlock();
+    }
+
+    delete(directory);
+  }
+
+  public Optional<Path> get(String key) {
+    lock.lock();
+
+    try {
+      return entries.get(key) == null ? Optional.empty() : Optional.of(directory.resolve(key));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes a new file for the key and evicts older files until the cache is back under its
+   * size limit. The new file itself is never evicted, even if it alone exceeds the limit.
+   * 
+   * @param key
+   * @param writer receives the stream to write the file content to
+   * @return the cached file
+   */
+  public Path put(String key, Consumer<OutputStream> writer) {
+    Path target = directory.resolve(key);
+    long size;
+
+    try {
+      Path spool = Files.createTempFile(directory, "spool-", ".tmp");
+
+      try (OutputStream out = Files.newOutputStream(spool)) {
+        writer.accept(out);
+      } catch (RuntimeException e) {
+        delete(spool);
+        throw e;
+      }
+
+      size = Files.size(spool);
+      Files.move(spool, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    lock.lock();
+
+    try {
+      Long replaced = entries.put(key, size);
+      totalBytes += size - (replaced == null ? 0 : replaced);
+
+      Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+
+      while (totalBytes > maxBytes && eldest.hasNext()) {
+        Map.Entry<String, Long> entry = eldest.next();
+
+        if (!entry.getKey().equals(key)) {
+          delete(directory.resolve(entry.getKey()));
+          totalBytes -= entry.getValue();
+          eldest.remove();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    return target;
+  }
+
+  /**
+   * Deletes every cached file when the catalog changes.
+   */
+  @EventListener(CatalogChangedEvent.class)
+  public void invalidateAll() {
+    log.info("Catalog changed, clearing image file cache");
+
+    lock.lock();
+
+    try {
+      entries.keySet().forEach(key -> delete(directory.resolve(key)));
+      entries.clear();
+      totalBytes = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete cached image {}: {}", file, e.toString());
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.promineotech.jeep.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Keeps small encoded images (resized variants) on the heap, bounded by their total size and
+ * evicted least-recently-used. Larger or evicted variants are still found in
+ * {@link ImageFileCache}.
+ */
+@Component
+public class ImageMemoryCache {
+
+  private final long maxBytes;
+  private final Map<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);  // Access order gives LRU eviction
+  private long totalBytes;
+
+  public ImageMemoryCache(@Value("${jeep.images.variants.memory-size:32MB}") DataSize maxSize) {
+    this.maxBytes = maxSize.toBytes();
+  }
+
+  public synchronized Optional<byte[]> get(String key) {
+    return Optional.ofNullable(entries.get(key));
+  }
+
+  /**
+   * Values larger than a quarter of the cache are not kept, so one image cannot flush it.
+   */
+  public synchronized void put(String key, byte[] value) {
+    if (value.length > maxBytes / 4) {
+      return;
+    }
+
+    byte[] replaced = entries.put(key, value);
+    totalBytes += value.length - (replaced == null ? 0 : replaced.length);
+
+    Iterator<byte[]> eldest = entries.values().iterator();
+
+    while (totalBytes > maxBytes && eldest.hasNext()) {
+      totalBytes -= eldest.next().length;
+      eldest.remove();
+    }
+  }
+
+  @EventListener(CatalogChangedEvent.class)
+  public synchronized void invalidateAll() {
+    entries.clear();
+    totalBytes = 0;
+  }
+
+}
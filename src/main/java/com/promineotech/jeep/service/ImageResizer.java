@@ -0,0 +1,127 @@
+package com.promineotech.jeep.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.entity.ImageSize;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scales images down on a fixed pool of worker threads with a bounded queue. When the queue is
+ * full, new work is rejected with a RejectedExecutionException instead of piling up behind the
+ * CPU.
+ */
+@Component
+@Slf4j
+public class ImageResizer {
+
+  private final ThreadPoolExecutor pool;
+
+  public ImageResizer(
+      @Value("${jeep.images.resize.threads:0}") int threads,
+      @Value("${jeep.images.resize.queue-capacity:64}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+
+    pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "image-resize-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * @param source the encoded image
+   * @param size the variant to produce
+   * @return the variant encoded in the source's format
+   */
+  public CompletableFuture<byte[]> resize(Path source, ImageSize size) {
+    return CompletableFuture.supplyAsync(() -> resizeNow(source, size), pool);
+  }
+
+  private byte[] resizeNow(Path source, ImageSize size) {
+    long start = System.nanoTime();
+
+    try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+
+      if (!readers.hasNext()) {
+        throw new IllegalStateException("Unsupported image format in " + source.getFileName());
+      }
+
+      ImageReader reader = readers.next();
+
+      try {
+        reader.setInput(in, true, true);
+
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        double scale = Math.min(1.0, (double) size.getMaxDimension() / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = Math.max(1, (int) (1 / scale) / 2);                     // Decode at about twice the target size, not full size
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+        BufferedImage scaled = scale(reader.read(0, param), targetWidth, targetHeight);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (!ImageIO.write(scaled, reader.getFormatName(), out)) {
+          throw new IllegalStateException("No writer for " + reader.getFormatName());
+        }
+
+        log.debug("Resized {} to {} ({}x{}) in {} ms", source.getFileName(), size, targetWidth,
+            targetHeight, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return out.toByteArray();
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private BufferedImage scale(BufferedImage image, int width, int height) {
+    int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+        : BufferedImage.TYPE_INT_RGB;                                               // JPEG writers reject alpha
+    BufferedImage scaled = new BufferedImage(width, height, type);
+    Graphics2D graphics = scaled.createGraphics();
+
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+          RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(image, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+
+    return scaled;
+  }
+
+}
@@ -0,0 +1,19 @@
+package com.promineotech.jeep.service;
+
+/**
+ * Thrown when a page cursor supplied by a client cannot be decoded.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+  private static final long serialVersionUID = 1L;
+
+  public InvalidCursorException(String cursor) {
+    super("Invalid cursor: " + cursor);
+  }
+
+  @Override
+  public Throwable fillInStackTrace() {
+    return this;                                                                    // A client error; see NotFoundException
+  }
+
+}
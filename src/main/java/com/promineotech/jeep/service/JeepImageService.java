@@ -0,0 +1,26 @@
+package com.promineotech.jeep.service;
+
+import com.promineotech.jeep.entity.ImageContent;
+import com.promineotech.jeep.entity.ImageSize;
+
+public interface JeepImageService {
+
+  /**
+   * @param modelPK
+   * @param imageId
+   * @param size the variant to return; images already smaller than it are returned as stored
+   * @return the image with its bytes in a re-readable resource
+   * @throws java.util.NoSuchElementException if the model has no such image
+   */
+  ImageContent fetchImage(Long modelPK, String imageId, ImageSize size);
+
+  /**
+   * @param modelPK
+   * @param imageId
+   * @param size
+   * @return a strong ETag for the image that can be computed without reading the image data
+   * @throws java.util.NoSuchElementException if the model has no such image
+   */
+  String imageETag(Long modelPK, String imageId, ImageSize size);
+
+}
@@ -1,7 +1,13 @@
 package com.promineotech.jeep.service;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderPage;
 import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.entity.Quote;
 
 public interface JeepOrderService {
 
@@ -11,4 +17,69 @@ public interface JeepOrderService {
    */
   Order createOrder(OrderRequest orderRequest);
 
+  /**
+   * Creates the order at most once per idempotency key. A repeated request with the same key
+   * returns the order created the first time, and concurrent duplicates wait for that one
+   * execution.
+   * 
+   * @param orderRequest
+   * @param idempotencyKey client-chosen key, or null to always create the order
+   * @return
+   * @throws IdempotencyKeyReusedException if the key was first used with a different request
+   */
+  Order createOrder(OrderRequest orderRequest, String idempotencyKey);
+
+  /**
+   * Creates many orders, validating and resolving each one independently so that a bad order
+   * does not fail the others.
+   * 
+   * @param orderRequests
+   * @return one result per request, in submission order
+   */
+  List<OrderResult> createOrders(Iterator<OrderRequest> orderRequests);
+
+  /**
+   * Same as {@link #createOrders(Iterator)}, but also saves each created order's idempotency key
+   * in the transaction that inserts the order.
+   * 
+   * @param orderRequests
+   * @param idempotencyKeys one key per request, in the same order
+   * @return one result per request, in submission order
+   */
+  List<OrderResult> createOrders(List<OrderRequest> orderRequests, List<String> idempotencyKeys);
+
+  /**
+   * Prices an order without creating it.
+   * 
+   * @param orderRequest
+   * @return the price the order would be charged, by component
+   * @throws java.util.NoSuchElementException if the request names an unknown component
+   */
+  Quote quoteOrder(OrderRequest orderRequest);
+
+  /**
+   * @param orderPK
+   * @return the order with its customer, components and options
+   * @throws java.util.NoSuchElementException if there is no such order
+   */
+  Order fetchOrder(Long orderPK);
+
+  /**
+   * @param customerId
+   * @param cursor nextCursor of the previous page, or null for the newest orders
+   * @param limit maximum number of orders on the page
+   * @return
+   * @throws java.util.NoSuchElementException if there is no such customer
+   */
+  OrderPage fetchOrderHistory(String customerId, Long cursor, int limit);
+
+  /**
+   * Hands every order after afterOrderPK to the consumer, oldest first, holding one order in
+   * memory at a time.
+   * 
+   * @param afterOrderPK 0 to export every order, or the last order_pk of a previous export
+   * @param consumer
+   */
+  void exportOrders(long afterOrderPK, Consumer<Order> consumer);
+
 }
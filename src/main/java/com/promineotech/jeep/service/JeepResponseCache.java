@@ -0,0 +1,110 @@
+package com.promineotech.jeep.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import com.promineotech.jeep.entity.CachedResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Encoded GET /jeeps responses by normalized query, bounded by entry count and total bytes and
+ * evicted least-recently-used. An entry built from an older catalog version counts as a miss.
+ * Hits and misses are published as the standard cache.gets meters, tagged
+ * cache={@value #NAME}, so the hit rate is hit / (hit + miss).
+ */
+@Component
+public class JeepResponseCache {
+
+  public static final String NAME = "jeep-responses";
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private final int maxSize;
+  private final long maxBytes;
+  private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);  // Access order gives LRU eviction
+  private long totalBytes;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  public JeepResponseCache(@Value("${jeep.jeeps.response-cache.max-size:1000}") int maxSize,
+      @Value("${jeep.jeeps.response-cache.memory-size:16MB}") DataSize memorySize) {
+    this.maxSize = maxSize;
+    this.maxBytes = memorySize.toBytes();
+  }
+
+  @PostConstruct
+  void bindMetrics() {
+    FunctionCounter.builder("cache.gets", hits, AtomicLong::get).tag("cache", NAME)
+        .tag("result", "hit").register(meterRegistry);
+    FunctionCounter.builder("cache.gets", misses, AtomicLong::get).tag("cache", NAME)
+        .tag("result", "miss").register(meterRegistry);
+    FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get).tag("cache", NAME)
+        .register(meterRegistry);
+    Gauge.builder("cache.size", this, JeepResponseCache::size).tag("cache", NAME)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the response cached for {@code key} if it was built from {@code catalogVersion},
+   * counting a hit or a miss.
+   */
+  public Optional<CachedResponse> get(String key, long catalogVersion) {
+    CachedResponse response;
+
+    synchronized (this) {
+      response = entries.get(key);
+    }
+
+    if (response != null && response.getCatalogVersion() == catalogVersion) {
+      hits.incrementAndGet();
+      return Optional.of(response);
+    }
+
+    misses.incrementAndGet();
+    return Optional.empty();
+  }
+
+  /**
+   * Responses larger than a quarter of the cache are not kept, so one response cannot flush it.
+   */
+  public synchronized void put(String key, CachedResponse response) {
+    if (response.getSize() > maxBytes / 4) {
+      return;
+    }
+
+    CachedResponse replaced = entries.put(key, response);
+    totalBytes += response.getSize() - (replaced == null ? 0 : replaced.getSize());
+
+    Iterator<CachedResponse> eldest = entries.values().iterator();
+
+    while ((totalBytes > maxBytes || entries.size() > maxSize) && eldest.hasNext()) {
+      totalBytes -= eldest.next().getSize();
+      eldest.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  @EventListener(CatalogChangedEvent.class)
+  public synchronized void invalidateAll() {
+    entries.clear();
+    totalBytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+}
@@ -1,11 +1,36 @@
 package com.promineotech.jeep.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.JeepPage;
 
 public interface JeepSalesService {
 
-  List<Jeep> fetchJeeps(JeepModel model, String trim);
+  /**
+   * @param filter criteria to match; null fields are ignored
+   * @return the matching Jeeps, sorted
+   */
+  List<Jeep> fetchJeeps(JeepFilter filter);
+
+  /**
+   * @param model optional model filter
+   * @param trim optional trim filter
+   * @param cursor nextCursor of the previous page, or null for the first page
+   * @param limit maximum number of Jeeps on the page
+   * @return
+   */
+  JeepPage fetchJeepPage(JeepModel model, String trim, String cursor, int limit);
+
+  /**
+   * Hands every matching Jeep to the consumer in sorted order without building a list.
+   * 
+   * @param model optional model filter
+   * @param trim optional trim filter
+   * @param consumer
+   */
+  void streamJeeps(JeepModel model, String trim, Consumer<Jeep> consumer);
   
 }
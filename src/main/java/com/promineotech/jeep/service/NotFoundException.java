@@ -0,0 +1,23 @@
+package com.promineotech.jeep.service;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when a requested ID does not exist. Answered with 404 and thrown for every bad ID a
+ * client sends, so it carries no stack trace: capturing one costs more than the lookup that
+ * failed, and the message already names what was missing.
+ */
+public class NotFoundException extends NoSuchElementException {
+
+  private static final long serialVersionUID = 1L;
+
+  public NotFoundException(String message) {
+    super(message);
+  }
+
+  @Override
+  public Throwable fillInStackTrace() {
+    return this;
+  }
+
+}
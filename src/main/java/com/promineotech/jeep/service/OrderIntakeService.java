@@ -0,0 +1,24 @@
+package com.promineotech.jeep.service;
+
+import com.promineotech.jeep.entity.IntakeTicket;
+import com.promineotech.jeep.entity.OrderRequest;
+
+public interface OrderIntakeService {
+
+  /**
+   * Journals and queues a validated order without creating it.
+   * 
+   * @param orderRequest
+   * @return a QUEUED ticket to follow the order with
+   * @throws java.util.concurrent.RejectedExecutionException if the queue is full
+   */
+  IntakeTicket submit(OrderRequest orderRequest);
+
+  /**
+   * @param ticketId
+   * @return the current state of the order
+   * @throws java.util.NoSuchElementException if the ticket is unknown or has expired
+   */
+  IntakeTicket fetchTicket(String ticketId);
+
+}
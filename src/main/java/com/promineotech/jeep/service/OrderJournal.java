@@ -0,0 +1,186 @@
+package com.promineotech.jeep.service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.entity.OrderRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file of accepted and finished asynchronous orders, one JSON object per line. An
+ * accepted order is forced to disk before the client is answered; replaying the file returns
+ * the orders that were accepted but never finished. A line cut short by a crash is skipped.
+ */
+@Slf4j
+public class OrderJournal implements AutoCloseable {
+
+  private final Path path;
+  private final boolean fsync;
+  private final ObjectMapper objectMapper;
+  private final ReentrantLock lock = new ReentrantLock();
+  private FileChannel channel;
+
+  public OrderJournal(Path path, boolean fsync, ObjectMapper objectMapper) {
+    this.path = path;
+    this.fsync = fsync;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Reads the journal and rewrites it to hold only the unfinished orders. Called once, before
+   * any other method.
+   * 
+   * @return ticket ID -> request of every unfinished order, oldest first
+   */
+  public Map<String, OrderRequest> open() throws IOException {
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    Map<String, OrderRequest> pending = new LinkedHashMap<>();
+
+    if (Files.exists(path)) {
+      try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+          try {
+            Entry entry = objectMapper.readValue(line, Entry.class);
+
+            if (entry.getRequest() != null) {
+              pending.put(entry.getTicketId(), entry.getRequest());
+            } else {
+              pending.remove(entry.getTicketId());
+            }
+          } catch (IOException e) {
+            log.warn("Skipping unreadable journal line: {}", line);
+          }
+        }
+      }
+    }
+
+    Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.deleteIfExists(compacted);
+
+    try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE)) {
+      for (Map.Entry<String, OrderRequest> entry : pending.entrySet()) {
+        out.write(ByteBuffer.wrap(line(new Entry(entry.getKey(), entry.getValue()))));
+      }
+      out.force(true);
+    }
+
+    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+    return pending;
+  }
+
+  public void accepted(String ticketId, OrderRequest orderRequest) {
+    append(line(new Entry(ticketId, orderRequest)), fsync);
+  }
+
+  /**
+   * Not forced to disk: after a crash an order that was already written is found through its
+   * idempotency key when it is replayed.
+   */
+  public void finished(Collection<String> ticketIds) {
+    ByteArrayOutputStream lines = new ByteArrayOutputStream();
+
+    for (String ticketId : ticketIds) {
+      lines.writeBytes(line(new Entry(ticketId, null)));
+    }
+
+    append(lines.toByteArray(), false);                                             // One write for the whole group
+  }
+
+  /**
+   * Empties the journal if no accepted order is still unfinished. The condition is checked while
+   * holding the journal, so no order can be accepted between the check and the truncation.
+   */
+  public void truncateIf(BooleanSupplier nothingUnfinished) {
+    lock.lock();
+
+    try {
+      if (nothingUnfinished.getAsBoolean()) {
+        channel.truncate(0);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void append(byte[] bytes, boolean force) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    lock.lock();
+
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+
+      if (force) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private byte[] line(Entry entry) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(entry);
+      byte[] line = Arrays.copyOf(json, json.length + 1);
+      line[json.length] = '\n';
+      return line;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A line with a request records an accepted order; a line without one records that the order
+   * with that ticket ID has finished.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  static class Entry {
+    private String ticketId;
+    private OrderRequest request;
+  }
+
+}
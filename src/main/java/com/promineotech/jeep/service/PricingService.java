@@ -0,0 +1,31 @@
+package com.promineotech.jeep.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import com.promineotech.jeep.entity.Color;
+import com.promineotech.jeep.entity.Engine;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.entity.Quote;
+import com.promineotech.jeep.entity.Tire;
+
+public interface PricingService {
+
+  /**
+   * @return the price charged for an order of these already resolved components, from their own
+   *         prices
+   */
+  BigDecimal calculatePrice(Jeep jeep, Color color, Engine engine, Tire tire,
+      List<Option> options);
+
+  /**
+   * Prices a request from memory, without reading the database once the price table is loaded.
+   * 
+   * @param orderRequest
+   * @return the price broken down by component
+   * @throws java.util.NoSuchElementException if the request names an unknown component or option
+   */
+  Quote quote(OrderRequest orderRequest);
+
+}
@@ -0,0 +1,16 @@
+package com.promineotech.jeep.service;
+
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderRequest;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveJeepOrderService {
+
+  /**
+   * @param orderRequest
+   * @return the created order, or a {@link java.util.NoSuchElementException} if a component
+   *         was not found
+   */
+  Mono<Order> createOrder(OrderRequest orderRequest);
+
+}
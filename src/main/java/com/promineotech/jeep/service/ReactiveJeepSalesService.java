@@ -0,0 +1,16 @@
+package com.promineotech.jeep.service;
+
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveJeepSalesService {
+
+  /**
+   * @param filter criteria to match; null fields are ignored
+   * @return the matching Jeeps, sorted, or a {@link java.util.NoSuchElementException} if there
+   *         are none
+   */
+  Flux<Jeep> fetchJeeps(JeepFilter filter);
+
+}
@@ -0,0 +1,43 @@
+package com.promineotech.jeep.service;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.promineotech.jeep.cache.TtlCache;
+import com.promineotech.jeep.entity.Order;
+
+/**
+ * Orders, and the customers who placed them, written within the last
+ * jeep.datasource.replicas.read-your-writes. Reads of them go to the primary, since a replica
+ * may not have applied the write yet. Records nothing unless replicas are enabled.
+ */
+@Component
+public class RecentWrites {
+
+  private final boolean enabled;
+  private final TtlCache<String, Boolean> written;
+
+  public RecentWrites(
+      @Value("${jeep.datasource.replicas.enabled:false}") boolean replicasEnabled,
+      @Value("${jeep.datasource.replicas.read-your-writes:5s}") Duration window,
+      @Value("${jeep.datasource.replicas.read-your-writes-max-size:100000}") int maxSize) {
+    this.enabled = replicasEnabled && !window.isZero();
+    this.written = new TtlCache<>("recentWrites", maxSize, window);
+  }
+
+  public void orderCreated(Order order) {
+    if (enabled) {
+      written.put("order:" + order.getOrderPK(), Boolean.TRUE);
+      written.put("customer:" + order.getCustomer().getCustomerId(), Boolean.TRUE);
+    }
+  }
+
+  public boolean isRecentOrder(Long orderPK) {
+    return enabled && written.get("order:" + orderPK).isPresent();
+  }
+
+  public boolean isRecentCustomer(String customerId) {
+    return enabled && written.get("customer:" + customerId).isPresent();
+  }
+
+}
@@ -0,0 +1,26 @@
+package com.promineotech.jeep.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import com.promineotech.jeep.entity.SalesRollupRebuild;
+
+public interface SalesReportService {
+
+  /**
+   * @param dimension
+   * @param dimensionId null for every id of the dimension
+   * @param from first day
+   * @param days number of days, including the first
+   * @return orders and their total price per day and id, read from the rollups
+   */
+  List<SalesRollup> fetchSalesRollups(SalesDimension dimension, String dimensionId,
+      LocalDate from, int days);
+
+  /**
+   * Recomputes the rollups from the orders tables, for after a migration or a manual fix.
+   */
+  SalesRollupRebuild rebuildSalesRollups();
+
+}
@@ -0,0 +1,18 @@
+package com.promineotech.jeep.service;
+
+import java.util.List;
+import com.promineotech.jeep.entity.StatementStats;
+
+public interface StatementStatsService {
+
+  /**
+   * @return latency and row counts for each SQL statement shape, the most total time first
+   */
+  List<StatementStats> fetchStatementStats();
+
+  /**
+   * Discards every statement shape, including captured EXPLAIN plans.
+   */
+  void resetStatementStats();
+
+}
@@ -0,0 +1,160 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Order;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class BinaryFormatsTest {
+
+  private static final MediaType SMILE = MediaType.parseMediaType(Constants.APPLICATION_SMILE_VALUE);
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  private final ObjectMapper cbor = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+  private final ObjectMapper smile = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+  @Test
+  void testThatJeepsAreReturnedAsJsonCborOrSmile() throws Exception {
+    // When: The same Jeeps are requested in each format
+    String uri = String.format("http://localhost:%d/jeeps?model=WRANGLER&trim=Sport", serverPort);
+    ResponseEntity<List<Jeep>> jsonResponse = restTemplate.exchange(uri, HttpMethod.GET,
+        accepting(MediaType.APPLICATION_JSON), new ParameterizedTypeReference<List<Jeep>>() {});
+    List<Jeep> json = jsonResponse.getBody();
+    ResponseEntity<byte[]> cborResponse =
+        restTemplate.exchange(uri, HttpMethod.GET, accepting(MediaType.APPLICATION_CBOR), byte[].class);
+    ResponseEntity<byte[]> smileResponse =
+        restTemplate.exchange(uri, HttpMethod.GET, accepting(SMILE), byte[].class);
+
+    // Then: Each is returned in the format asked for, and decodes to the same Jeeps
+    assertThat(cborResponse.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+    assertThat(smileResponse.getHeaders().getContentType()).isEqualTo(SMILE);
+
+    List<Jeep> fromCbor = cbor.readValue(cborResponse.getBody(), new TypeReference<List<Jeep>>() {});
+    List<Jeep> fromSmile = smile.readValue(smileResponse.getBody(), new TypeReference<List<Jeep>>() {});
+
+    assertThat(json).hasSize(2);
+    assertThat(fromCbor).isEqualTo(json);
+    assertThat(fromSmile).isEqualTo(json);
+
+    // And: Shared caches are told the body depends on Accept, and each format has its own ETag
+    for (ResponseEntity<?> response : List.of(jsonResponse, cborResponse, smileResponse)) {
+      assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+    }
+
+    assertThat(List.of(jsonResponse.getHeaders().getETag(), cborResponse.getHeaders().getETag(),
+        smileResponse.getHeaders().getETag())).doesNotContainNull().doesNotHaveDuplicates();
+  }
+
+  @Test
+  void testThatAJsonETagDoesNotRevalidateACborRequest() {
+    // Given: The ETag of the JSON representation
+    String uri = String.format("http://localhost:%d/jeeps?model=WRANGLER&trim=Sport", serverPort);
+    String jsonETag = restTemplate.exchange(uri, HttpMethod.GET,
+        accepting(MediaType.APPLICATION_JSON), byte[].class).getHeaders().getETag();
+
+    // When: CBOR is requested with that ETag
+    HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+    headers.setIfNoneMatch(jsonETag);
+    ResponseEntity<byte[]> response =
+        restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+    // Then: The CBOR body is returned rather than a 304 for the JSON one
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+    assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+  }
+
+  @Test
+  void testThatACborOrderIsCreatedAndAnswered() throws Exception {
+    // Given: An order encoded as CBOR
+    HttpEntity<byte[]> request = cborOrder(orderRequest("Sport S"));
+
+    // When: The order is sent
+    ResponseEntity<byte[]> response = restTemplate.exchange(
+        String.format("http://localhost:%d/orders", serverPort), HttpMethod.POST, request, byte[].class);
+
+    // Then: A 201 status is returned with the order in CBOR
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+
+    Order order = cbor.readValue(response.getBody(), Order.class);
+    assertThat(order.getModel().getModelId()).isEqualTo(JeepModel.GLADIATOR);
+    assertThat(order.getOptions()).hasSize(2);
+  }
+
+  @Test
+  void testThatAnInvalidCborOrderIsRejected() throws Exception {
+    // Given: A CBOR order whose trim fails the request validation
+    HttpEntity<byte[]> request = cborOrder(orderRequest("Sport S; DROP TABLE orders"));
+
+    // When: The order is sent
+    ResponseEntity<String> response = restTemplate.exchange(
+        String.format("http://localhost:%d/orders", serverPort), HttpMethod.POST, request, String.class);
+
+    // Then: A 400 status is returned, as for JSON
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(response.getBody()).contains("trim");
+  }
+
+  private Map<String, Object> orderRequest(String trim) {
+    Map<String, Object> order = new LinkedHashMap<>();
+
+    order.put("customer", "ROTH_GARTH");
+    order.put("model", "GLADIATOR");
+    order.put("trim", trim);
+    order.put("doors", 4);
+    order.put("color", "EXT_SLATE_BLUE");
+    order.put("engine", "6_4_GAS");
+    order.put("tire", "295_YOKOHAMA");
+    order.put("options", List.of("DOOR_QUAD_4", "EXT_WARN_WINCH"));
+
+    return order;
+  }
+
+  private HttpEntity<byte[]> cborOrder(Map<String, Object> order) throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_CBOR);
+    headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+
+    return new HttpEntity<>(cbor.writeValueAsBytes(order), headers);
+  }
+
+  private static HttpEntity<Void> accepting(MediaType mediaType) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(List.of(mediaType));
+
+    return new HttpEntity<>(headers);
+  }
+
+}
@@ -0,0 +1,122 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.CacheStats;
+import com.promineotech.jeep.entity.Order;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CatalogCacheTest {
+
+  // @formatter:off
+  private static final String ORDER_BODY = "{\n"
+      + "  \"customer\":\"ROTH_GARTH\",\n"
+      + "  \"model\":\"GLADIATOR\",\n"
+      + "  \"trim\":\"Sport S\",\n"
+      + "  \"doors\":4,\n"
+      + "  \"color\":\"EXT_SLATE_BLUE\",\n"
+      + "  \"engine\":\"6_4_GAS\",\n"
+      + "  \"tire\":\"295_YOKOHAMA\",\n"
+      + "  \"options\":[\"DOOR_QUAD_4\", \"EXT_WARN_WINCH\"]\n"
+      + "}";
+  // @formatter:on
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Test
+  void testThatSecondOrderIsServedFromTheCatalogCache() {
+    // Given: An empty catalog cache
+    String cacheUri = String.format("http://localhost:%d/catalog/cache", serverPort);
+    restTemplate.delete(cacheUri);
+
+    // When: The same order is placed twice
+    postOrder();
+    postOrder();
+
+    // Then: Every catalog region has served the second order from memory
+    ResponseEntity<List<CacheStats>> response = restTemplate.exchange(cacheUri, HttpMethod.GET,
+        null, new ParameterizedTypeReference<>() {});
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).hasSize(5).allSatisfy(stats -> {
+      assertThat(stats.getHits()).isPositive();
+      assertThat(stats.getSize()).isPositive();
+    });
+  }
+
+  @Test
+  void testThatHitsAreCountedOnlyWhenTheCachedComponentsAreServed() {
+    // Given: A warm cache, and an order whose color is not cached and whose option is repeated
+    String cacheUri = String.format("http://localhost:%d/catalog/cache", serverPort);
+    restTemplate.delete(cacheUri);
+    postOrder();
+
+    String body = ORDER_BODY.replace("EXT_SLATE_BLUE", "EXT_VELVET_RED")
+        .replace("\"EXT_WARN_WINCH\"", "\"DOOR_QUAD_4\"");
+    Map<String, CacheStats> before = fetchCacheStats(cacheUri);
+
+    // When: The order is placed twice, first from the database, then from the cache
+    Order uncached = postOrder(body);
+    Map<String, CacheStats> between = fetchCacheStats(cacheUri);
+    Order cached = postOrder(body);
+
+    // Then: The model found in the cache but read again from the database is not a hit
+    assertThat(between.get("models").getHits()).isEqualTo(before.get("models").getHits());
+    assertThat(between.get("colors").getMisses())
+        .isEqualTo(before.get("colors").getMisses() + 1);
+
+    // And: Both orders have the repeated option once
+    assertThat(uncached.getOptions()).hasSize(1);
+    assertThat(cached.getOptions()).hasSize(1);
+    assertThat(cached.getPrice()).isEqualByComparingTo(uncached.getPrice());
+  }
+
+  private Map<String, CacheStats> fetchCacheStats(String cacheUri) {
+    ResponseEntity<List<CacheStats>> response = restTemplate.exchange(cacheUri, HttpMethod.GET,
+        null, new ParameterizedTypeReference<>() {});
+
+    return response.getBody().stream()
+        .collect(Collectors.toMap(CacheStats::getName, Function.identity()));
+  }
+
+  private void postOrder() {
+    postOrder(ORDER_BODY);
+  }
+
+  private Order postOrder(String body) {
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<Order> response = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(body, headers), Order.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    return response.getBody();
+  }
+
+}
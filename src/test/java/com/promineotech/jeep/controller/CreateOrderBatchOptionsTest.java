@@ -0,0 +1,84 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.COLOR;
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.entity.Order;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.orders.option-batch-size=4")                             // 10 options must be written in 3 batches
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CreateOrderBatchOptionsTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @SpyBean
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;                // Spy counts the statements sent by the DAO
+
+  @Test
+  void testThatManyOptionsAreInsertedInBatches() {
+    // Given: An order with ten options
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+    int numRowsOptions = JdbcTestUtils.countRowsInTable(jdbcTemplate, "order_options");
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    // When: The order is sent
+    ResponseEntity<Order> response = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(orderBody(CUSTOMER, COLOR, "DOOR_MOPAR_REINFORCE",
+            "DOOR_BESTOP_ELEMENT_MIRROR", "DOOR_QUAD_4", "DOOR_QUAD_2", "DOOR_BESTOP_ELEMENT",
+            "DOOR_RIDGE_TUBE", "DOOR_RIDGE_COVER", "DOOR_BODY_REAR", "DOOR_ROUGH_4",
+            "DOOR_BODY_FRONT"), headers), Order.class);
+
+    // Then: A 201 status is returned with all ten options
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(response.getBody().getOptions()).hasSize(10);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "order_options"))
+        .isEqualTo(numRowsOptions + 10);
+
+    // And: One insert for the order, ceil(10 / 4) batches for the options and one sales rollup
+    // update were executed
+    verify(namedParameterJdbcTemplate, times(1))
+        .update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class), any());
+    verify(namedParameterJdbcTemplate, times(3))
+        .batchUpdate(anyString(), any(SqlParameterSource[].class));
+    verify(namedParameterJdbcTemplate, times(1)).update(anyString(), anyMap());
+    verify(namedParameterJdbcTemplate, times(1))                                // The rollup update's own delegation
+        .update(anyString(), any(SqlParameterSource.class));
+  }
+
+}
@@ -0,0 +1,157 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.COLOR;
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.service.IdempotencyStore;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CreateOrderIdempotencyTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @SpyBean
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;                // Spy records every statement sent to the database
+
+  @Autowired
+  private IdempotencyStore idempotencyStore;
+
+  @Test
+  void testThatARetryReturnsTheOriginalOrderWithoutTouchingTheDatabase() {
+    // Given: An order created with an Idempotency-Key
+    ResponseEntity<Order> first = post("retry-1", orderBody("ROTH_GARTH"), Order.class);
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    clearInvocations(namedParameterJdbcTemplate);
+
+    // When: The same request is retried with the same key
+    ResponseEntity<Order> retry = post("retry-1", orderBody("ROTH_GARTH"), Order.class);
+
+    // Then: The original order is returned
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody()).isEqualTo(first.getBody());
+
+    // And: Nothing was read or written
+    assertThat(mockingDetails(namedParameterJdbcTemplate).getInvocations()).isEmpty();
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(1);
+  }
+
+  @Test
+  void testThatConcurrentDuplicatesCreateOneOrder() throws Exception {
+    // Given: Eight clients sending the same request with the same key at once
+    ExecutorService clients = Executors.newFixedThreadPool(8);
+    List<Future<ResponseEntity<Order>>> responses = new ArrayList<>();
+    Callable<ResponseEntity<Order>> send =
+        () -> post("concurrent-1", orderBody("STERN_TORO"), Order.class);
+
+    // When: All of them complete
+    try {
+      for (int client = 0; client < 8; client++) {
+        responses.add(clients.submit(send));
+      }
+
+      // Then: Every client got the same order
+      Long orderPK = responses.get(0).get().getBody().getOrderPK();
+
+      for (Future<ResponseEntity<Order>> response : responses) {
+        assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.get().getBody().getOrderPK()).isEqualTo(orderPK);
+      }
+    } finally {
+      clients.shutdown();
+    }
+
+    // And: Only one order and one key were written
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(1);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "idempotency_keys")).isEqualTo(1);
+  }
+
+  @Test
+  void testThatAReusedKeyWithADifferentOrderReturns422() {
+    // Given: A key used for one customer's order
+    post("reused-1", orderBody("ROTH_GARTH"), Order.class);
+
+    // When: The key is sent with another customer's order
+    ResponseEntity<String> response = post("reused-1", orderBody("STERN_TORO"), String.class);
+
+    // Then: The second order is refused and not created
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(1);
+  }
+
+  @Test
+  void testThatARetryListingTheOptionsInAnotherOrderIsTheSameRequest() {
+    // Given: An order created with an Idempotency-Key
+    ResponseEntity<Order> first = post("reordered-1",
+        orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "EXT_WARN_WINCH"), Order.class);
+
+    // When: It is retried with the options listed the other way round
+    ResponseEntity<Order> retry = post("reordered-1",
+        orderBody(CUSTOMER, COLOR, "EXT_WARN_WINCH", "DOOR_QUAD_4"), Order.class);
+
+    // Then: The original order is returned rather than a 422
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody()).isEqualTo(first.getBody());
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(1);
+  }
+
+  @Test
+  void testThatExpiredKeysArePurged() {
+    // Given: One key saved just now and one saved long before the retention period
+    post("recent-1", orderBody(CUSTOMER), Order.class);
+    jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, order_fk, "
+        + "created_at) VALUES ('expired-1', REPEAT('0', 64), 1, TIMESTAMPADD(DAY, -30, CURRENT_TIMESTAMP))");
+
+    // When: Expired keys are purged
+    int deleted = idempotencyStore.purgeExpiredKeys();
+
+    // Then: Only the old key is gone
+    assertThat(deleted).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM idempotency_keys",
+        String.class)).containsExactly("recent-1");
+  }
+
+  private <T> ResponseEntity<T> post(String idempotencyKey, String body, Class<T> responseType) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("Idempotency-Key", idempotencyKey);
+
+    return restTemplate.postForEntity(String.format("http://localhost:%d/orders", serverPort),
+        new HttpEntity<>(body, headers), responseType);
+  }
+
+}
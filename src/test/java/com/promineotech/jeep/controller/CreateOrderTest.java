@@ -1,12 +1,18 @@
 package com.promineotech.jeep.controller;
 
+import static com.promineotech.jeep.controller.OrderRequestBodies.COLOR;
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
 import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -15,16 +21,13 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.jdbc.Sql;
-import org.springframework.test.context.jdbc.SqlConfig;
 import org.springframework.test.jdbc.JdbcTestUtils;
 import com.promineotech.jeep.entity.JeepModel;
 import com.promineotech.jeep.entity.Order;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
 @ActiveProfiles("test")                                                         // Sets testing profile to "test"
-@Sql(scripts = {"classpath:flyway/migrations/V1.0__Jeep_Schema.sql",            // Values to create/populate tables for testing
-    "classpath:flyway/migrations/V1.1__Jeep_Data.sql"}, config = @SqlConfig(encoding = "utf-8"))  
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
 
 class CreateOrderTest {
 
@@ -78,6 +81,58 @@ class CreateOrderTest {
   }
 
   
+  @Test
+  void testCreateOrderReturns404NamingTheMissingComponent() {
+    
+    // Given: An order whose color does not exist
+    String body = createOrderBody().replace("EXT_SLATE_BLUE", "EXT_NO_SUCH_COLOR");
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+
+    int numRowsOrders = JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders");
+    
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    // When: The order is sent
+    ResponseEntity<Map<String, Object>> response = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(body, headers), new ParameterizedTypeReference<>() {});
+    
+    // Then: A 404 status is returned naming the color ID
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(response.getBody().get("message").toString())
+        .contains("Color with ID=EXT_NO_SUCH_COLOR was not found");
+
+    // And: No order was written
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(numRowsOrders);
+  }
+
+  
+  @Test
+  void testThatAnOptionAddedAfterThePriceTableLoadedIsCharged() {
+    
+    // Given: An order that loads the price table, then an option added behind the application's back
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<Order> first = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4"), headers), Order.class);
+    jdbcTemplate.update("INSERT INTO options (option_id, category, manufacturer, name, price) "
+        + "VALUES ('EXT_NEW_OPTION', 'EXTERIOR', 'Mopar', 'New Option', 100.00)");
+
+    // When: An order with the new option is sent
+    ResponseEntity<Order> second = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "EXT_NEW_OPTION"), headers),
+        Order.class);
+
+    // Then: It is created and charged the option's price rather than rejected
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(second.getBody().getPrice().subtract(first.getBody().getPrice()))
+        .isEqualByComparingTo(new BigDecimal("100.00"));
+  }
+
+  
   // Create JSON with details for testCreateOrderRetursSuccess201
   protected String createOrderBody() {
     
@@ -0,0 +1,121 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.entity.OrderResult;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CreateOrdersBatchTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testThatBatchReturnsPerOrderResults() {
+    // Given: Two good orders, one with an unknown color and one that fails validation
+    String body = "["
+        + orderBody("ROTH_GARTH", "EXT_SLATE_BLUE") + ","
+        + orderBody("STERN_TORO", "EXT_SLATE_BLUE") + ","
+        + orderBody("ROTH_GARTH", "EXT_NO_SUCH_COLOR") + ","
+        + orderBody("!@#$", "EXT_SLATE_BLUE")
+        + "]";
+
+    // When: The orders are sent as a JSON array
+    ResponseEntity<List<OrderResult>> response = post(body, MediaType.APPLICATION_JSON);
+
+    // Then: Each order has its own status
+    assertResults(response);
+  }
+
+  @Test
+  void testThatBatchAcceptsNewlineDelimitedJson() {
+    // Given: The same orders, one per line
+    String body = orderBody("ROTH_GARTH", "EXT_SLATE_BLUE") + "\n"
+        + orderBody("STERN_TORO", "EXT_SLATE_BLUE") + "\n"
+        + orderBody("ROTH_GARTH", "EXT_NO_SUCH_COLOR") + "\n"
+        + orderBody("!@#$", "EXT_SLATE_BLUE") + "\n";
+
+    // When: The orders are streamed as NDJSON
+    ResponseEntity<List<OrderResult>> response = post(body, MediaType.APPLICATION_NDJSON);
+
+    // Then: Each order has its own status
+    assertResults(response);
+  }
+
+  @Test
+  void testThatAMalformedLineFailsOnlyThatOrder() {
+    // Given: A good order, a line that is not JSON, a bad field type and another good order
+    String body = orderBody("ROTH_GARTH", "EXT_SLATE_BLUE") + "\n"
+        + "{\"customer\":\"STERN_TORO\",\n"
+        + orderBody("STERN_TORO", "EXT_SLATE_BLUE")
+            .replace("\"doors\":4", "\"doors\":\"four\"") + "\n"
+        + orderBody("STERN_TORO", "EXT_SLATE_BLUE") + "\n";
+
+    // When: The orders are streamed as NDJSON
+    ResponseEntity<List<OrderResult>> response = post(body, MediaType.APPLICATION_NDJSON);
+
+    // Then: The unreadable lines are reported as 400s and the orders around them are created
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    List<OrderResult> results = response.getBody();
+    assertThat(results).extracting(OrderResult::getIndex).containsExactly(0, 1, 2, 3);
+    assertThat(results).extracting(OrderResult::getStatus).containsExactly(201, 400, 400, 201);
+    assertThat(results.get(1).getMessage()).startsWith("Line 2 is not a valid order request");
+    assertThat(results.get(2).getMessage()).startsWith("Line 3 is not a valid order request");
+
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(2);
+  }
+
+  private ResponseEntity<List<OrderResult>> post(String body, MediaType mediaType) {
+    String uri = String.format("http://localhost:%d/orders/batch", serverPort);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(mediaType);
+
+    return restTemplate.exchange(uri, HttpMethod.POST, new HttpEntity<>(body, headers),
+        new ParameterizedTypeReference<>() {});
+  }
+
+  private void assertResults(ResponseEntity<List<OrderResult>> response) {
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    List<OrderResult> results = response.getBody();
+    assertThat(results).extracting(OrderResult::getIndex).containsExactly(0, 1, 2, 3);
+    assertThat(results).extracting(OrderResult::getStatus).containsExactly(201, 201, 404, 400);
+
+    assertThat(results.get(0).getOrder().getCustomer().getCustomerId()).isEqualTo("ROTH_GARTH");
+    assertThat(results.get(1).getOrder().getOptions()).hasSize(2);
+    assertThat(results.get(2).getMessage()).contains("EXT_NO_SUCH_COLOR");
+    assertThat(results.get(3).getMessage()).contains("customer");
+
+    // And: Only the two good orders were written
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(2);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "order_options")).isEqualTo(4);
+  }
+
+}
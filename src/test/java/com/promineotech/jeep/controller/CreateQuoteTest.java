@@ -0,0 +1,127 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.COLOR;
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.Quote;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CreateQuoteTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @SpyBean
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;                // Spy records every query sent to the database
+
+  @Test
+  void testThatQuotesAreAnsweredFromMemory() {
+    // Given: The price table has been loaded by an earlier quote
+    post("/orders/quote", orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4"), Quote.class);
+    clearInvocations(namedParameterJdbcTemplate);
+
+    // When: An order with two options is quoted
+    ResponseEntity<Quote> response = post("/orders/quote",
+        orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "EXT_WARN_WINCH"), Quote.class);
+
+    // Then: Every component and option is priced
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    Quote quote = response.getBody();
+    assertThat(quote.getBasePrice()).isEqualByComparingTo("38400.00");
+    assertThat(quote.getColorPrice()).isEqualByComparingTo("245.00");
+    assertThat(quote.getOptionsPrice()).isEqualByComparingTo("1719.48");
+    assertThat(quote.getPrice()).isEqualByComparingTo("40364.48");
+
+    // And: The database was not read
+    assertThat(mockingDetails(namedParameterJdbcTemplate).getInvocations()).isEmpty();
+  }
+
+  @Test
+  void testThatOrdersAreChargedTheQuotedPrice() {
+    // Given: A quote for an order with options
+    String body = orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "EXT_WARN_WINCH");
+    BigDecimal quoted = post("/orders/quote", body, Quote.class).getBody().getPrice();
+
+    // When: The same order is placed
+    ResponseEntity<Order> response = post("/orders", body, Order.class);
+
+    // Then: The option prices are included in the order price
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(response.getBody().getPrice()).isEqualByComparingTo(quoted);
+  }
+
+  @Test
+  void testThatAnOptionListedTwiceIsChargedOnce() {
+    // Given: An order that lists its winch twice
+    String body = orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "EXT_WARN_WINCH", "EXT_WARN_WINCH");
+
+    // When: It is quoted and placed
+    BigDecimal quoted = post("/orders/quote", body, Quote.class).getBody().getPrice();
+    ResponseEntity<Order> response = post("/orders", body, Order.class);
+
+    // Then: The quote matches the order, which saves the winch once
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(response.getBody().getOptions()).hasSize(2);
+    assertThat(quoted).isEqualByComparingTo(response.getBody().getPrice());
+  }
+
+  @Test
+  void testThatTrimsAreMatchedRegardlessOfCase() {
+    // Given: The quote for a Sport S
+    String body = orderBody(CUSTOMER);
+    BigDecimal quoted = post("/orders/quote", body, Quote.class).getBody().getPrice();
+
+    // When: The same order is quoted with the trim in lower case
+    ResponseEntity<Quote> response = post("/orders/quote",
+        body.replace("\"Sport S\"", "\"sport s\""), Quote.class);
+
+    // Then: The trim is found, as MySQL would find it, at the same price
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody().getPrice()).isEqualByComparingTo(quoted);
+  }
+
+  @Test
+  void testThatUnknownOptionsReturn404() {
+    // When: An order with an unknown option is quoted
+    ResponseEntity<String> response = post("/orders/quote",
+        orderBody(CUSTOMER, COLOR, "DOOR_QUAD_4", "NO_SUCH_OPTION"), String.class);
+
+    // Then: A 404 names the option
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(response.getBody()).contains("NO_SUCH_OPTION");
+  }
+
+  private <T> ResponseEntity<T> post(String path, String body, Class<T> responseType) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    return restTemplate.postForEntity(String.format("http://localhost:%d%s", serverPort, path),
+        new HttpEntity<>(body, headers), responseType);
+  }
+
+}
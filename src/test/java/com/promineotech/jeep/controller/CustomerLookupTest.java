@@ -0,0 +1,94 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.OrderPage;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.customers.bloom.refresh=1s")
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class CustomerLookupTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @SpyBean
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;                // Spy records every customer lookup sent to the database
+
+  @Test
+  void testThatUnknownCustomersAreRejectedWithoutAQuery() {
+    // Given: The customer filter has been loaded by a known customer
+    assertThat(getHistory("ROTH_GARTH").getStatusCode()).isEqualTo(HttpStatus.OK);
+    clearInvocations(namedParameterJdbcTemplate);
+
+    // When: Customers that do not exist are looked up
+    ResponseEntity<String> history = getHistory("NO_SUCH_CUSTOMER");
+    ResponseEntity<String> order = restTemplate.postForEntity(
+        String.format("http://localhost:%d/orders", serverPort),
+        jsonEntity(orderBody("ALSO_NO_SUCH_CUSTOMER")), String.class);
+
+    // Then: Both are 404 and the Bloom filter answered without a statement
+    assertThat(history.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(order.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(mockingDetails(namedParameterJdbcTemplate).getInvocations())
+        .filteredOn(invocation -> invocation.getArguments().length > 0
+            && invocation.getArgument(0) instanceof String)
+        .isEmpty();
+  }
+
+  @Test
+  void testThatNewCustomersAreVisibleAfterTheNextRebuild() throws InterruptedException {
+    // Given: A customer added behind the application's back after the filter was loaded
+    assertThat(getHistory("ROTH_GARTH").getStatusCode()).isEqualTo(HttpStatus.OK);
+    jdbcTemplate.update("INSERT INTO customers (customer_id, first_name, last_name) "
+        + "VALUES ('NEW_CUSTOMER', 'New', 'Customer')");
+
+    // When: The new customer is looked up before and after the filter's refresh interval
+    ResponseEntity<String> beforeRebuild = getHistory("NEW_CUSTOMER");
+    Thread.sleep(1_100);
+    ResponseEntity<String> afterRebuild = getHistory("NEW_CUSTOMER");
+
+    // Then: The customer is unknown until the filter is rebuilt, then found
+    assertThat(beforeRebuild.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(afterRebuild.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(restTemplate.getForObject(String.format(
+        "http://localhost:%d/orders?customer=NEW_CUSTOMER", serverPort), OrderPage.class)
+        .getOrders()).isEmpty();
+  }
+
+  private ResponseEntity<String> getHistory(String customer) {
+    return restTemplate.getForEntity(
+        String.format("http://localhost:%d/orders?customer=%s", serverPort, customer), String.class);
+  }
+
+  private HttpEntity<String> jsonEntity(String body) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    return new HttpEntity<>(body, headers);
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
+import com.promineotech.jeep.service.CatalogService;
+import com.promineotech.jeep.service.JeepSalesService;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.jeeps.cache-control.max-age=60s")
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class FetchJeepCachingTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @SpyBean
+  private JeepSalesService jeepSalesService;                                    // Spy shows whether the service was reached
+
+  @Autowired
+  private CatalogService catalogService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testThatMatchingETagReturns304WithoutReadingTheCatalog() {
+    // Given: A first read that returns an ETag
+    ResponseEntity<List<Jeep>> first = get(null);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(first.getHeaders().getETag()).startsWith("\"");                 // Strong, not W/"..."
+    assertThat(first.getHeaders().getLastModified()).isPositive();
+    assertThat(first.getHeaders().getCacheControl()).contains("max-age=60", "public");
+
+    // When: The same read is repeated with If-None-Match
+    ResponseEntity<List<Jeep>> second = get(first.getHeaders().getETag());
+
+    // Then: A 304 with no body is returned and the service was called only once
+    assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(second.getBody()).isNull();
+    verify(jeepSalesService, times(1)).fetchJeeps(any(JeepFilter.class));
+  }
+
+  @Test
+  void testThatInvalidatingTheCatalogChangesTheETag() {
+    // Given: An ETag for the current catalog
+    String eTag = get(null).getHeaders().getETag();
+
+    // When: The catalog is invalidated
+    restTemplate.delete(String.format("http://localhost:%d/catalog/cache", serverPort));
+
+    // Then: The old ETag no longer matches and a fresh body is returned
+    ResponseEntity<List<Jeep>> response = get(eTag);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+    assertThat(response.getBody()).isNotEmpty();
+  }
+
+  @Test
+  void testThatAChangeToTheCatalogVersionRowChangesTheETag() {
+    // Given: An ETag for the current catalog
+    String eTag = get(null).getHeaders().getETag();
+
+    // When: Another instance advances the catalog version and this one checks it
+    jdbcTemplate.update("UPDATE catalog_version SET version = version + 1000");
+    catalogService.checkCatalogVersion();
+
+    // Then: The old ETag no longer matches
+    ResponseEntity<List<Jeep>> response = get(eTag);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+  }
+
+  private ResponseEntity<List<Jeep>> get(String ifNoneMatch) {
+    String uri = String.format("http://localhost:%d/jeeps?model=WRANGLER&trim=Sport", serverPort);
+
+    HttpHeaders headers = new HttpHeaders();
+
+    if (ifNoneMatch != null) {
+      headers.setIfNoneMatch(ifNoneMatch);
+    }
+
+    return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers),
+        new ParameterizedTypeReference<>() {});
+  }
+
+}
@@ -0,0 +1,180 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.ImageSize;
+import com.promineotech.jeep.service.ImageResizer;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = {
+        "jeep.images.read-chunk-size=64KB",                                     // The test image is read in several chunks
+        "jeep.images.cache.directory=target/image-cache"})
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class FetchJeepImageTest {
+
+  private static final byte[] IMAGE_DATA = new byte[200_000];
+
+  static {
+    new Random(42).nextBytes(IMAGE_DATA);
+  }
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @SpyBean
+  private ImageResizer imageResizer;                                            // Spy counts the resizes
+
+  private Long modelPK;
+
+  @BeforeEach
+  void insertImage() {
+    modelPK = jdbcTemplate.queryForObject("SELECT model_pk FROM models "
+        + "WHERE model_id = 'WRANGLER' AND trim_level = 'Sport' AND num_doors = 4", Long.class);
+
+    jdbcTemplate.update("INSERT INTO images (model_fk, image_id, width, height, mime_type, name, data) "
+        + "VALUES (?, 'FRONT', 640, 480, 'image/png', 'front.png', ?)", modelPK, IMAGE_DATA);
+  }
+
+  @Test
+  void testThatTheWholeImageIsReturned() {
+    // Given: A stored image
+    // When: The image is requested
+    ResponseEntity<byte[]> response = get("FRONT", new HttpHeaders());
+
+    // Then: Every byte is returned with the stored content type and an ETag
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    assertThat(response.getHeaders().getETag()).isNotNull();
+    assertThat(response.getBody()).isEqualTo(IMAGE_DATA);
+  }
+
+  @Test
+  void testThatARangeRequestReturnsPartialContent() {
+    // Given: A byte range that spans a chunk boundary
+    HttpHeaders headers = new HttpHeaders();
+    headers.setRange(List.of(HttpRange.createByteRange(65_000, 66_999)));
+
+    // When: The range is requested
+    ResponseEntity<byte[]> response = get("FRONT", headers);
+
+    // Then: Only those bytes are returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+    assertThat(response.getBody()).isEqualTo(Arrays.copyOfRange(IMAGE_DATA, 65_000, 67_000));
+  }
+
+  @Test
+  void testThatAMatchingETagReturns304() {
+    // Given: The ETag of a previous response
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(get("FRONT", new HttpHeaders()).getHeaders().getETag());
+
+    // When: The image is requested again with If-None-Match
+    ResponseEntity<byte[]> response = get("FRONT", headers);
+
+    // Then: A 304 with no body is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(response.getBody()).isNull();
+  }
+
+  @Test
+  void testThatConcurrentThumbnailRequestsShareOneResize() throws Exception {
+    // Given: A real 1200x800 PNG
+    BufferedImage source = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    ImageIO.write(source, "png", png);
+
+    jdbcTemplate.update("INSERT INTO images (model_fk, image_id, width, height, mime_type, name, data) "
+        + "VALUES (?, 'SIDE', 1200, 800, 'image/png', 'side.png', ?)", modelPK, png.toByteArray());
+
+    // When: Several clients ask for the thumbnail at once
+    List<CompletableFuture<ResponseEntity<byte[]>>> requests = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      requests.add(CompletableFuture.supplyAsync(() -> get("SIDE", ImageSize.THUMBNAIL, new HttpHeaders())));
+    }
+
+    // Then: Each gets a 160x107 PNG and the image was resized only once
+    for (CompletableFuture<ResponseEntity<byte[]>> request : requests) {
+      ResponseEntity<byte[]> response = request.get();
+      BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(response.getBody()));
+
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(thumbnail.getWidth()).isEqualTo(160);
+      assertThat(thumbnail.getHeight()).isEqualTo(107);
+    }
+
+    verify(imageResizer, times(1)).resize(any(), eq(ImageSize.THUMBNAIL));
+  }
+
+  @Test
+  void testThatAnUnknownImageReturns404() {
+    // When: An image the model does not have is requested
+    ResponseEntity<byte[]> response = get("REAR", new HttpHeaders());
+
+    // Then: A 404 status is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void testThatAnUnknownImageReturns404EvenWithAMatchingETag() {
+    // Given: The ETag the missing image would have, built from one that exists
+    String eTag = get("FRONT", new HttpHeaders()).getHeaders().getETag();
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(eTag.replace("FRONT", "REAR"));
+
+    // When: The missing image is requested with that If-None-Match
+    ResponseEntity<byte[]> response = get("REAR", headers);
+
+    // Then: A 404 status is returned, not a 304
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  private ResponseEntity<byte[]> get(String imageId, HttpHeaders headers) {
+    return get(imageId, ImageSize.FULL, headers);
+  }
+
+  private ResponseEntity<byte[]> get(String imageId, ImageSize size, HttpHeaders headers) {
+    String uri = String.format("http://localhost:%d/jeeps/%d/images/%s?size=%s", serverPort,
+        modelPK, imageId, size);
+
+    return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+  }
+
+}
@@ -0,0 +1,95 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepPage;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class FetchJeepPageTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testThatPagesCoverEveryWranglerInOrder() {
+    // Given: A small page size
+    String baseUri = String.format("http://localhost:%d/jeeps/page?model=WRANGLER&limit=4", serverPort);
+    List<String> expectedKeys = jdbcTemplate.queryForList(
+        "SELECT CONCAT(trim_level, '/', num_doors) FROM models WHERE model_id = 'WRANGLER' "
+            + "ORDER BY trim_level, num_doors", String.class);
+
+    // When: Every page is followed by its cursor
+    List<Jeep> jeeps = new LinkedList<>();
+    String cursor = null;
+
+    do {
+      String uri = cursor == null ? baseUri : baseUri + "&cursor=" + cursor;
+      ResponseEntity<JeepPage> response = restTemplate.getForEntity(uri, JeepPage.class);
+
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(response.getBody().getJeeps()).hasSizeLessThanOrEqualTo(4);
+
+      jeeps.addAll(response.getBody().getJeeps());
+      cursor = response.getBody().getNextCursor();
+    } while (cursor != null);
+
+    // Then: Every Wrangler is returned exactly once, in the database's trim and doors order
+    assertThat(jeeps).extracting(jeep -> jeep.getTrimLevel() + "/" + jeep.getNumDoors())
+        .containsExactlyElementsOf(expectedKeys);
+  }
+
+  @Test
+  void testThatAnInvalidCursorReturns400() {
+    // Given: A cursor that does not decode
+    String uri = String.format("http://localhost:%d/jeeps/page?cursor=bm9wZQ", serverPort);
+
+    // When: The page is requested
+    ResponseEntity<Map<String, Object>> response = restTemplate.exchange(uri, HttpMethod.GET,
+        null, new ParameterizedTypeReference<>() {});
+
+    // Then: A 400 status is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void testThatStreamWritesOneLinePerJeep() {
+    // Given: No filters
+    String uri = String.format("http://localhost:%d/jeeps/stream", serverPort);
+
+    // When: The stream is read
+    ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+
+    // Then: Every model row is written as its own JSON line
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+    assertThat(response.getBody().split("\n"))
+        .hasSize(JdbcTestUtils.countRowsInTable(jdbcTemplate, "models"))
+        .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+  }
+
+}
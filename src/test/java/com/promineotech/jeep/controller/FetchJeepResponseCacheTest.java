@@ -0,0 +1,119 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.JeepFilter;
+import com.promineotech.jeep.service.CatalogService;
+import com.promineotech.jeep.service.JeepResponseCache;
+import com.promineotech.jeep.service.JeepSalesService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.jeeps.response-cache.gzip-min-size=0B")                  // The test catalog's bodies are small
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class FetchJeepResponseCacheTest {
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private CatalogService catalogService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @SpyBean
+  private JeepSalesService jeepSalesService;                                    // Spy shows whether the service was reached
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  void testThatARepeatedQueryIsServedFromTheCacheWithOrWithoutGzip() throws Exception {
+    // Given: A first read of the Wranglers
+    HttpResponse<byte[]> first = get("/jeeps?model=WRANGLER&doors=2", null);
+
+    // When: The same query is repeated with its parameters reordered, with and without gzip
+    HttpResponse<byte[]> plain = get("/jeeps?doors=2&utm_source=x&model=WRANGLER", null);
+    HttpResponse<byte[]> gzipped = get("/jeeps?model=WRANGLER&doors=2", "gzip, deflate");
+
+    // Then: The service was reached once and every response carries the same JSON and ETag
+    verify(jeepSalesService, times(1)).fetchJeeps(any(JeepFilter.class));
+
+    assertThat(first.statusCode()).isEqualTo(200);
+    assertThat(plain.body()).isEqualTo(first.body());
+    assertThat(plain.headers().firstValue("ETag")).isEqualTo(first.headers().firstValue("ETag"));
+    assertThat(plain.headers().firstValue("Content-Type")).hasValueSatisfying(
+        type -> assertThat(type).startsWith("application/json"));
+
+    assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    assertThat(gzipped.headers().allValues("Vary")).anyMatch(vary -> vary.contains("Accept-Encoding"));
+    assertThat(gunzip(gzipped.body())).isEqualTo(first.body());
+
+    // And: The hits are counted
+    assertThat(meterRegistry.get("cache.gets").tag("cache", JeepResponseCache.NAME)
+        .tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  void testThatInvalidatingTheCatalogRebuildsTheResponse() throws Exception {
+    // Given: A cached query
+    get("/jeeps?model=GLADIATOR", null);
+    get("/jeeps?model=GLADIATOR", null);
+
+    // When: The catalog is invalidated and the query repeated
+    catalogService.invalidateCatalog();
+    HttpResponse<byte[]> response = get("/jeeps?model=GLADIATOR", null);
+
+    // Then: The service is reached again
+    assertThat(response.statusCode()).isEqualTo(200);
+    verify(jeepSalesService, times(2)).fetchJeeps(any(JeepFilter.class));
+  }
+
+  @Test
+  void testThatErrorsAreNotCached() throws Exception {
+    // When: A query with no match is sent twice
+    HttpResponse<byte[]> first = get("/jeeps?model=WRANGLER&trim=NoSuchTrim", null);
+    HttpResponse<byte[]> second = get("/jeeps?model=WRANGLER&trim=NoSuchTrim", null);
+
+    // Then: Both are 404s built by the service
+    assertThat(first.statusCode()).isEqualTo(404);
+    assertThat(second.statusCode()).isEqualTo(404);
+    verify(jeepSalesService, times(2)).fetchJeeps(any(JeepFilter.class));
+  }
+
+  private HttpResponse<byte[]> get(String path, String acceptEncoding)
+      throws IOException, InterruptedException {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort + path)).GET();
+
+    if (acceptEncoding != null) {
+      request.header("Accept-Encoding", acceptEncoding);
+    }
+
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private static byte[] gunzip(byte[] body) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return in.readAllBytes();
+    }
+  }
+
+}
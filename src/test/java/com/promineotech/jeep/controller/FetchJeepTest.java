@@ -24,11 +24,12 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.jdbc.Sql;
-import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.jdbc.JdbcTestUtils;
 import com.promineotech.jeep.Constants;
 import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepFilter;
 import com.promineotech.jeep.entity.JeepModel;
 import com.promineotech.jeep.service.JeepSalesService;
 
@@ -37,8 +38,7 @@ class FetchJeepTest {
   @Nested
   @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
   @ActiveProfiles("test")                                                         // Sets testing profile to "test"
-  @Sql(scripts = {"classpath:flyway/migrations/V1.0__Jeep_Schema.sql",            // Values to create/populate tables for testing
-      "classpath:flyway/migrations/V1.1__Jeep_Data.sql"}, config = @SqlConfig(encoding = "utf-8"))
+  @JeepTestSchema                                                                 // Values to create/populate tables for testing
   class TestsThatDoNotPolluteTheApplicationContext {
 
     @Autowired
@@ -47,6 +47,9 @@ class FetchJeepTest {
     @LocalServerPort
     private int serverPort;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     // Testing for 200 OK - User input matches values in database and results are expected for given input
     @Test
     void testThatJeepsAreReturnedWhenAValidModelAndTrimAreSupplied() {
@@ -99,6 +102,42 @@ class FetchJeepTest {
     }
     
     
+    // Testing for 200 OK - Any combination of the optional filters can be supplied, including none
+    @Test
+    void testThatJeepsAreFilteredByTheSuppliedCriteriaOnly() {
+      // Given: Door, wheel size and price criteria without a model or trim
+      String uri = String.format(
+          "http://localhost:%d/jeeps?doors=4&wheelSize=17&minPrice=30000&maxPrice=40000", serverPort);
+      int expectedRows = JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "models",
+          "num_doors = 4 AND wheel_size = 17 AND base_price BETWEEN 30000 AND 40000");
+      
+      // When: A connection is made
+      ResponseEntity<List<Jeep>> response = restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+      // Then: Only Jeeps matching every criterion are returned, across models
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(response.getBody()).hasSize(expectedRows).allSatisfy(jeep -> {
+        assertThat(jeep.getNumDoors()).isEqualTo(4);
+        assertThat(jeep.getWheelSize()).isEqualTo(17);
+        assertThat(jeep.getBasePrice()).isBetween(new BigDecimal("30000"), new BigDecimal("40000"));
+      });
+      assertThat(response.getBody()).extracting(Jeep::getModelId).contains(JeepModel.CHEROKEE, JeepModel.WRANGLER);
+    }
+
+    // Testing for 200 OK - No filters returns the whole catalog
+    @Test
+    void testThatAllJeepsAreReturnedWhenNoFiltersAreSupplied() {
+      // Given: No criteria
+      String uri = String.format("http://localhost:%d/jeeps", serverPort);
+      
+      // When: A connection is made
+      ResponseEntity<List<Jeep>> response = restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+      // Then: Every model row is returned
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(response.getBody()).hasSize(JdbcTestUtils.countRowsInTable(jdbcTemplate, "models"));
+    }
+    
     // Testing for 404 Not Found when values supplied by the user are not present in the database 
     @Test
     void testThatErrorMessageIsReturnedWhenUnknownTrimIsSupplied() {
@@ -143,6 +182,25 @@ class FetchJeepTest {
       assertErrorMessageValid(error, HttpStatus.BAD_REQUEST);
     }
 
+    // Testing for 400 Bad Request when the price range is inverted
+    @Test
+    void testThatErrorMessageIsReturnedWhenMinPriceExceedsMaxPrice() {
+      // Given: A minimum price above the maximum price
+      String uri = String.format("http://localhost:%d/jeeps?minPrice=40000&maxPrice=30000", serverPort);
+
+      // When: A connection is made
+      ResponseEntity<Map<String, Object>> response = restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+      // Then: A bad request error is returned rather than an empty 404
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+      // And: Error message is returned
+      Map<String, Object> error = response.getBody();
+
+      assertErrorMessageValid(error, HttpStatus.BAD_REQUEST);
+      assertThat(error.get("message").toString()).contains("minPrice must not be greater than maxPrice");
+    }
+
   }
 
   // Supplying test values for for testThatErrorMessageIsReturnedWhenInvalidValueIsSupplied
@@ -161,8 +219,7 @@ class FetchJeepTest {
   @Nested
   @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
   @ActiveProfiles("test")                                                         // Sets testing profile to "test"
-  @Sql(scripts = {"classpath:flyway/migrations/V1.0__Jeep_Schema.sql",            // Values to create/populate tables for testing
-      "classpath:flyway/migrations/V1.1__Jeep_Data.sql"}, config = @SqlConfig(encoding = "utf-8"))
+  @JeepTestSchema                                                                 // Values to create/populate tables for testing
   class TestsThatPolluteTheApplicationContext {
 
     @Autowired
@@ -184,7 +241,8 @@ class FetchJeepTest {
       String uri = String.format("http://localhost:%d/jeeps?model=%s&trim=%s", serverPort, model, trim);
       
       // Force a runtime exception when the JeepSalesService runs fetchJeeps
-      doThrow(new RuntimeException("D'oh!")).when(jeepSalesService).fetchJeeps(model,trim);
+      doThrow(new RuntimeException("D'oh!")).when(jeepSalesService)
+          .fetchJeeps(JeepFilter.builder().model(model).trim(trim).build());
       
       // When: A connection is made
       // Calls DB at uri (localhost database), makes a GET request, (null), returns response code
@@ -0,0 +1,144 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderPage;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class FetchOrderTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @SpyBean
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;                // Spy counts the queries sent by the DAO
+
+  @Test
+  void testThatAnOrderIsReturnedWithItsOptions() {
+    // Given: A created order
+    Order created = postOrder("ROTH_GARTH");
+
+    // When: The order is read back
+    ResponseEntity<Order> response = restTemplate.getForEntity(
+        String.format("http://localhost:%d/orders/%d", serverPort, created.getOrderPK()), Order.class);
+
+    // Then: The whole order graph is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(created);
+  }
+
+  @Test
+  void testThatOrderHistoryIsPagedNewestFirstInAFixedNumberOfQueries() {
+    // Given: Three orders for one customer and one for another
+    Order oldest = postOrder("ROTH_GARTH");
+    Order middle = postOrder("ROTH_GARTH");
+    Order newest = postOrder("ROTH_GARTH");
+    postOrder("STERN_TORO");
+    clearInvocations(namedParameterJdbcTemplate);
+
+    // When: The history is read two orders at a time
+    OrderPage first = getHistory("ROTH_GARTH", null);
+
+    // Then: The first page holds the two newest orders with their options
+    assertThat(first.getOrders()).extracting(Order::getOrderPK)
+        .containsExactly(newest.getOrderPK(), middle.getOrderPK());
+    assertThat(first.getOrders()).allSatisfy(order -> assertThat(order.getOptions()).hasSize(2));
+    assertThat(first.getNextCursor()).isEqualTo(middle.getOrderPK());
+
+    // And: Customer key, orders and options took at most one query each
+    long queries = mockingDetails(namedParameterJdbcTemplate).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().startsWith("query"))
+        .filter(invocation -> invocation.getArguments()[1] instanceof Map)              // Skips the template's internal overloads
+        .count();
+    assertThat(queries).isBetween(2L, 3L);                                          // The customer key may already be cached
+
+    // And: The second page holds the oldest order and is the last page
+    OrderPage second = getHistory("ROTH_GARTH", first.getNextCursor());
+
+    assertThat(second.getOrders()).extracting(Order::getOrderPK).containsExactly(oldest.getOrderPK());
+    assertThat(second.getNextCursor()).isNull();
+  }
+
+  @Test
+  void testThatUnknownOrderAndCustomerReturn404() {
+    // When: An order and a customer that do not exist are requested
+    ResponseEntity<Map<String, Object>> order = restTemplate.exchange(
+        String.format("http://localhost:%d/orders/999999", serverPort), HttpMethod.GET, null,
+        new ParameterizedTypeReference<>() {});
+    ResponseEntity<String> history = restTemplate.getForEntity(
+        String.format("http://localhost:%d/orders?customer=NO_SUCH_CUSTOMER", serverPort), String.class);
+
+    // Then: Both return 404
+    assertThat(order.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(history.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+    // And: The error body carries every field, with the order ID in the message
+    Map<String, Object> error = order.getBody();
+    assertThat(error)
+        .containsEntry("status code", HttpStatus.NOT_FOUND.value())
+        .containsEntry("reason", HttpStatus.NOT_FOUND.getReasonPhrase())
+        .containsEntry("uri", "/orders/999999")
+        .containsKey("timestamp");
+    assertThat(error.get("message").toString()).contains("999999");
+  }
+
+  private OrderPage getHistory(String customer, Long cursor) {
+    String uri = String.format("http://localhost:%d/orders?customer=%s&limit=2", serverPort, customer)
+        + (cursor == null ? "" : "&cursor=" + cursor);
+
+    ResponseEntity<OrderPage> response = restTemplate.getForEntity(uri, OrderPage.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return response.getBody();
+  }
+
+  private Order postOrder(String customer) {
+    // @formatter:off
+    String body = "{"
+        + "\"customer\":\"" + customer + "\","
+        + "\"model\":\"GLADIATOR\","
+        + "\"trim\":\"Sport S\","
+        + "\"doors\":4,"
+        + "\"color\":\"EXT_SLATE_BLUE\","
+        + "\"engine\":\"6_4_GAS\","
+        + "\"tire\":\"295_YOKOHAMA\","
+        + "\"options\":[\"DOOR_QUAD_4\", \"EXT_WARN_WINCH\"]"
+        + "}";
+    // @formatter:on
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<Order> response = restTemplate.exchange(
+        String.format("http://localhost:%d/orders", serverPort), HttpMethod.POST,
+        new HttpEntity<>(body, headers), Order.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    return response.getBody();
+  }
+
+}
@@ -0,0 +1,27 @@
+package com.promineotech.jeep.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+/**
+ * Recreates and populates the Jeep tables before each test by running every Flyway migration in
+ * order. A new migration is added here once instead of to every test class.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Sql(scripts = {"classpath:flyway/migrations/V1.0__Jeep_Schema.sql",
+    "classpath:flyway/migrations/V1.1__Jeep_Data.sql",
+    "classpath:flyway/migrations/V1.2__Jeep_Indexes.sql",
+    "classpath:flyway/migrations/V1.3__Order_Indexes.sql",
+    "classpath:flyway/migrations/V1.4__Customer_Index.sql",
+    "classpath:flyway/migrations/V1.5__Idempotency_Keys.sql",
+    "classpath:flyway/migrations/V1.6__Sales_Rollups.sql",
+    "classpath:flyway/migrations/V1.7__Catalog_Version.sql",
+    "classpath:flyway/migrations/V1.8__Idempotency_Key_Expiry.sql",
+    "classpath:flyway/migrations/V1.9__Sales_Rollup_Rebuild.sql"}, config = @SqlConfig(encoding = "utf-8"))
+@interface JeepTestSchema {
+}
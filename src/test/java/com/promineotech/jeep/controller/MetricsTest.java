@@ -0,0 +1,109 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.COLOR;
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.dao.DefaultJeepOrderDao;
+import com.promineotech.jeep.service.DefaultJeepOrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)                    // Generates a random port number for testing
+@AutoConfigureMetrics                                                           // Tests otherwise get a simple registry and no Prometheus endpoint
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class MetricsTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void testThatOrderOutcomesAreCounted() {
+    // Given: The current counts
+    double created = outcomes("created");
+    double notFound = outcomes("404");
+    double badRequest = outcomes("400");
+
+    // When: A good order, an order for an unknown color and an invalid order are sent
+    assertThat(post(orderBody(CUSTOMER)).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(post(orderBody(CUSTOMER).replace(COLOR, "EXT_NO_SUCH_COLOR"))
+        .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(post(orderBody(CUSTOMER).replace("\"doors\":4", "\"doors\":5")).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+
+    // Then: Each outcome was counted once against the /orders mapping
+    assertThat(outcomes("created")).isEqualTo(created + 1);
+    assertThat(outcomes("404")).isEqualTo(notFound + 1);
+    assertThat(outcomes("400")).isEqualTo(badRequest + 1);
+  }
+
+  @Test
+  void testThatServiceAndDaoMethodsAreTimed() {
+    // Given: The current number of timed calls
+    long serviceCalls = timed(Constants.SERVICE_TIMER, DefaultJeepOrderService.class, "createOrder");
+    long daoCalls = timed(Constants.DAO_TIMER, DefaultJeepOrderDao.class, "saveOrder");
+
+    // When: An order is created
+    post(orderBody(CUSTOMER));
+
+    // Then: The service method and the DAO insert were each timed once
+    assertThat(timed(Constants.SERVICE_TIMER, DefaultJeepOrderService.class, "createOrder"))
+        .isEqualTo(serviceCalls + 1);
+    assertThat(timed(Constants.DAO_TIMER, DefaultJeepOrderDao.class, "saveOrder"))
+        .isEqualTo(daoCalls + 1);
+  }
+
+  @Test
+  void testThatPrometheusCanScrapeTimersAndPoolGauges() {
+    // Given: An order has been created
+    post(orderBody(CUSTOMER));
+
+    // When: The scrape endpoint is read
+    String body = restTemplate.getForObject(
+        String.format("http://localhost:%d/actuator/prometheus", serverPort), String.class);
+
+    // Then: It has histogram buckets for the DAO timers and the HikariCP gauges
+    assertThat(body).contains("jeep_dao_seconds_bucket{", "jeep_service_seconds_bucket{",
+        "hikaricp_connections_active{", "jeep_requests_outcome_total{");
+  }
+
+  private ResponseEntity<String> post(String body) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    return restTemplate.postForEntity(String.format("http://localhost:%d/orders", serverPort),
+        new HttpEntity<>(body, headers), String.class);
+  }
+
+  private double outcomes(String outcome) {
+    return Search.in(meterRegistry).name(Constants.OUTCOME_COUNTER).tag("uri", "/orders")
+        .tag("outcome", outcome).counters().stream().mapToDouble(counter -> counter.count()).sum();
+  }
+
+  private long timed(String name, Class<?> type, String method) {
+    return Search.in(meterRegistry).name(name).tag("class", type.getName()).tag("method", method)
+        .timers().stream().mapToLong(timer -> timer.count()).sum();
+  }
+
+}
@@ -0,0 +1,126 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.entity.Order;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.orders.export.fetch-size=2")                             // Options of one order span several fetches
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class OrderExportTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Test
+  void testThatEveryOrderIsExportedWithItsOptions() {
+    // Given: An order with three options and one with none
+    Order first = postOrder("ROTH_GARTH",
+        "\"EXT_WARN_WINCH\", \"DOOR_QUAD_4\", \"EXT_ARB_COMPRESSOR\"");
+    Order second = postOrder("STERN_TORO", "");
+
+    // When: Every order is exported
+    ResponseEntity<String> response = export(0);
+
+    // Then: A header and one line per order are returned, oldest first
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+
+    List<String> lines = List.of(response.getBody().split("\r\n"));
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).isEqualTo(String.join(",", OrderCsvWriter.COLUMNS));
+
+    // And: Each line carries the order's components and its options in one column
+    String[] line = lines.get(1).split(",", -1);
+    assertThat(line).hasSize(OrderCsvWriter.COLUMNS.size());
+    assertThat(line[0]).isEqualTo(first.getOrderPK().toString());
+    assertThat(line[1]).isNotEmpty();
+    assertThat(line[2]).isEqualTo("ROTH_GARTH");
+    assertThat(line[5]).isEqualTo("GLADIATOR");
+    assertThat(line[6]).isEqualTo("Sport S");
+    assertThat(line[12].split(";"))
+        .containsExactlyInAnyOrder("EXT_WARN_WINCH", "DOOR_QUAD_4", "EXT_ARB_COMPRESSOR");
+    assertThat(line[13]).isEqualTo(first.getPrice().toPlainString());
+
+    line = lines.get(2).split(",", -1);
+    assertThat(line[0]).isEqualTo(second.getOrderPK().toString());
+    assertThat(line[12]).isEmpty();
+  }
+
+  @Test
+  void testThatExportResumesAfterAnOrder() {
+    // Given: Two orders, the first already exported
+    Order first = postOrder("ROTH_GARTH", "\"DOOR_QUAD_4\"");
+    Order second = postOrder("STERN_TORO", "\"DOOR_QUAD_4\"");
+
+    // When: The export is resumed after the first order
+    ResponseEntity<String> response = export(first.getOrderPK());
+
+    // Then: Only the second order follows the header
+    List<String> lines = List.of(response.getBody().split("\r\n"));
+    assertThat(lines).hasSize(2);
+    assertThat(lines.get(1)).startsWith(second.getOrderPK() + ",");
+
+    // And: Resuming after the last order returns the header only
+    assertThat(export(second.getOrderPK()).getBody().split("\r\n")).hasSize(1);
+  }
+
+  @Test
+  void testThatANegativeAfterReturns400() {
+    // When: The export is asked to resume after a negative order_pk
+    ResponseEntity<String> response = export(-1);
+
+    // Then: A 400 status is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  private ResponseEntity<String> export(long after) {
+    String uri = String.format("http://localhost:%d/orders/export?after=%d", serverPort, after);
+
+    return restTemplate.getForEntity(uri, String.class);
+  }
+
+  private Order postOrder(String customer, String options) {
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    // @formatter:off
+    String body = "{"
+        + "\"customer\":\"" + customer + "\","
+        + "\"model\":\"GLADIATOR\","
+        + "\"trim\":\"Sport S\","
+        + "\"doors\":4,"
+        + "\"color\":\"EXT_SLATE_BLUE\","
+        + "\"engine\":\"6_4_GAS\","
+        + "\"tire\":\"295_YOKOHAMA\","
+        + "\"options\":[" + options + "]"
+        + "}";
+    // @formatter:on
+
+    ResponseEntity<Order> response =
+        restTemplate.exchange(uri, HttpMethod.POST, new HttpEntity<>(body, headers), Order.class);
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+    return response.getBody();
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import com.promineotech.jeep.entity.IntakeStatus;
+import com.promineotech.jeep.entity.IntakeTicket;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = {"jeep.orders.intake.enabled=true",
+        "jeep.orders.intake.queue-capacity=2"})
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class OrderIntakeReplayTest {
+
+  private static final int REPLAYED = 5;                                        // More than the queue capacity
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  /**
+   * Leaves a journal of unfinished orders behind, as a crash would, before the service opens it.
+   */
+  @DynamicPropertySource
+  static void journal(DynamicPropertyRegistry registry) {
+    try {
+      Path path = Files.createTempDirectory("intake-replay").resolve("orders.journal");
+      StringBuilder lines = new StringBuilder();
+
+      for (int order = 0; order < REPLAYED; order++) {
+        lines.append("{\"ticketId\":\"replayed-").append(order).append("\",\"request\":")
+            .append(orderBody(CUSTOMER)).append("}\n");
+      }
+
+      Files.writeString(path, lines, StandardCharsets.UTF_8);
+      registry.add("jeep.orders.intake.journal.path", path::toString);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Test
+  void testThatAJournalLargerThanTheQueueIsReplayed() throws InterruptedException {
+    // When: The writer has replayed the journal
+    // Then: Every replayed order was created
+    for (int order = 0; order < REPLAYED; order++) {
+      URI location = URI.create(String.format("http://localhost:%d/orders/async/replayed-%d",
+          serverPort, order));
+
+      assertThat(awaitFinished(location).getStatus()).isEqualTo(IntakeStatus.CREATED);
+    }
+
+    // And: The queue still has its full capacity for new orders
+    for (int order = 0; order < 2; order++) {
+      ResponseEntity<IntakeTicket> response = submit(orderBody(CUSTOMER));
+
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+      assertThat(awaitFinished(response.getHeaders().getLocation()).getStatus())
+          .isEqualTo(IntakeStatus.CREATED);
+    }
+  }
+
+  private IntakeTicket awaitFinished(URI location) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+
+    while (true) {
+      IntakeTicket ticket = restTemplate.getForObject(location, IntakeTicket.class);
+
+      if (ticket.getStatus() != IntakeStatus.QUEUED || System.currentTimeMillis() > deadline) {
+        return ticket;
+      }
+
+      Thread.sleep(20);
+    }
+  }
+
+  private ResponseEntity<IntakeTicket> submit(String body) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    return restTemplate.postForEntity(String.format("http://localhost:%d/orders/async", serverPort),
+        new HttpEntity<>(body, headers), IntakeTicket.class);
+  }
+
+}
@@ -0,0 +1,178 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promineotech.jeep.entity.IntakeStatus;
+import com.promineotech.jeep.entity.IntakeTicket;
+import com.promineotech.jeep.entity.OrderRequest;
+import com.promineotech.jeep.service.JeepOrderService;
+import com.promineotech.jeep.service.OrderJournal;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = {"jeep.orders.intake.enabled=true",
+        "jeep.orders.intake.journal.path=target/intake-${random.uuid}/orders.journal",
+        "jeep.orders.intake.retry-delay=10ms"})
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class OrderIntakeTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @SpyBean
+  private JeepOrderService jeepOrderService;                                    // Spy lets a test make the writer's group insert throw
+
+  @Test
+  void testThatQueuedOrdersAreCreatedByTheWriter() throws InterruptedException {
+    // Given: Twenty good orders and one with an unknown color
+    List<URI> good = new ArrayList<>();
+
+    for (int order = 0; order < 20; order++) {
+      ResponseEntity<IntakeTicket> response = submit(orderBody(CUSTOMER));
+
+      // Then: Each is accepted at once with a status URL
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+      assertThat(response.getBody().getStatus()).isEqualTo(IntakeStatus.QUEUED);
+      good.add(response.getHeaders().getLocation());
+    }
+
+    URI bad = submit(orderBody(CUSTOMER, "EXT_NO_SUCH_COLOR")).getHeaders().getLocation();
+
+    // When: The writer has drained the queue
+    // Then: The good orders were created and the bad one failed with the status POST /orders gives
+    for (URI location : good) {
+      IntakeTicket ticket = awaitFinished(location);
+
+      assertThat(ticket.getStatus()).isEqualTo(IntakeStatus.CREATED);
+      assertThat(ticket.getOrder().getOrderPK()).isNotNull();
+    }
+
+    IntakeTicket failed = awaitFinished(bad);
+    assertThat(failed.getStatus()).isEqualTo(IntakeStatus.FAILED);
+    assertThat(failed.getStatusCode()).isEqualTo(404);
+    assertThat(failed.getMessage()).contains("EXT_NO_SUCH_COLOR");
+
+    // And: Each created order was saved once, with its ticket as idempotency key
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(20);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "idempotency_keys")).isEqualTo(20);
+  }
+
+  @Test
+  void testThatTheWriterSurvivesAGroupThatThrows() throws InterruptedException {
+    // Given: A group insert that throws once, then one that throws on every attempt
+    doThrow(new RuntimeException("D'oh!")).doCallRealMethod()
+        .when(jeepOrderService).createOrders(anyList(), anyList());
+    URI retried = submit(orderBody(CUSTOMER)).getHeaders().getLocation();
+
+    // When: The writer has retried the first order
+    IntakeTicket created = awaitFinished(retried);
+
+    doThrow(new RuntimeException("D'oh!")).when(jeepOrderService).createOrders(anyList(), anyList());
+    IntakeTicket failed = awaitFinished(submit(orderBody(CUSTOMER)).getHeaders().getLocation());
+
+    // Then: The first order was created on its second attempt and the second failed with a 500
+    assertThat(created.getStatus()).isEqualTo(IntakeStatus.CREATED);
+    assertThat(failed.getStatus()).isEqualTo(IntakeStatus.FAILED);
+    assertThat(failed.getStatusCode()).isEqualTo(500);
+    assertThat(failed.getMessage()).isEqualTo("D'oh!");
+
+    // And: The writer is still running
+    doCallRealMethod().when(jeepOrderService).createOrders(anyList(), anyList());
+    assertThat(awaitFinished(submit(orderBody(CUSTOMER)).getHeaders().getLocation()).getStatus())
+        .isEqualTo(IntakeStatus.CREATED);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(2);
+  }
+
+  @Test
+  void testThatInvalidOrdersAreRejectedBeforeQueueing() {
+    // When: An order that fails validation is submitted
+    ResponseEntity<IntakeTicket> response = submit(orderBody("!@#$"));
+
+    // Then: It is refused synchronously
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void testThatTheJournalReplaysOnlyUnfinishedOrders(@TempDir Path directory) throws Exception {
+    // Given: A journal with one finished order, one unfinished order and a torn last line
+    Path path = directory.resolve("orders.journal");
+    String request = orderBody(CUSTOMER);
+    Files.writeString(path, ""
+        + "{\"ticketId\":\"done\",\"request\":" + request + "}\n"
+        + "{\"ticketId\":\"pending\",\"request\":" + request + "}\n"
+        + "{\"ticketId\":\"done\"}\n"
+        + "{\"ticketId\":\"torn\",\"requ", StandardCharsets.UTF_8);
+
+    // When: The journal is opened
+    Map<String, OrderRequest> unfinished;
+
+    try (OrderJournal journal = new OrderJournal(path, true, objectMapper)) {
+      unfinished = journal.open();
+    }
+
+    // Then: Only the unfinished order is replayed, and the journal is compacted to it
+    assertThat(unfinished).containsOnlyKeys("pending");
+    assertThat(unfinished.get("pending").getColor()).isEqualTo("EXT_SLATE_BLUE");
+    assertThat(Files.readAllLines(path)).hasSize(1);
+  }
+
+  private IntakeTicket awaitFinished(URI location) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+
+    while (true) {
+      IntakeTicket ticket = restTemplate.getForObject(location, IntakeTicket.class);
+
+      if (ticket.getStatus() != IntakeStatus.QUEUED || System.currentTimeMillis() > deadline) {
+        return ticket;
+      }
+
+      Thread.sleep(20);
+    }
+  }
+
+  private ResponseEntity<IntakeTicket> submit(String body) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    return restTemplate.postForEntity(String.format("http://localhost:%d/orders/async", serverPort),
+        new HttpEntity<>(body, headers), IntakeTicket.class);
+  }
+
+}
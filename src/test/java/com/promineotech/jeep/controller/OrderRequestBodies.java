@@ -0,0 +1,55 @@
+package com.promineotech.jeep.controller;
+
+/**
+ * JSON order requests for a Gladiator Sport S, 4 doors, 6.4L engine and Yokohama tires, which
+ * every catalog loaded by {@link JeepTestSchema} can price.
+ */
+final class OrderRequestBodies {
+
+  static final String CUSTOMER = "ROTH_GARTH";
+  static final String COLOR = "EXT_SLATE_BLUE";
+
+  private OrderRequestBodies() {
+  }
+
+  /**
+   * @param customer
+   * @return an order for the customer in slate blue with a quad door kit and a winch
+   */
+  static String orderBody(String customer) {
+    return orderBody(customer, COLOR);
+  }
+
+  /**
+   * @param customer
+   * @param color
+   * @return an order with a quad door kit and a winch
+   */
+  static String orderBody(String customer, String color) {
+    return orderBody(customer, color, "DOOR_QUAD_4", "EXT_WARN_WINCH");
+  }
+
+  /**
+   * @param customer
+   * @param color
+   * @param options option IDs in the order they are sent; none gives an empty list
+   * @return
+   */
+  static String orderBody(String customer, String color, String... options) {
+    String optionList = options.length == 0 ? "" : "\"" + String.join("\", \"", options) + "\"";
+    
+    // @formatter:off
+    return "{"
+        + "\"customer\":\"" + customer + "\","
+        + "\"model\":\"GLADIATOR\","
+        + "\"trim\":\"Sport S\","
+        + "\"doors\":4,"
+        + "\"color\":\"" + color + "\","
+        + "\"engine\":\"6_4_GAS\","
+        + "\"tire\":\"295_YOKOHAMA\","
+        + "\"options\":[" + optionList + "]"
+        + "}";
+    // @formatter:on
+  }
+
+}
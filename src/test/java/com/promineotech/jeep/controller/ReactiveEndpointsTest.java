@@ -0,0 +1,178 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.CUSTOMER;
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import com.promineotech.jeep.Constants;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.JeepModel;
+import com.promineotech.jeep.entity.Option;
+import com.promineotech.jeep.entity.Order;
+import reactor.core.publisher.Flux;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")                  // Read before the profiles are; selects Netty + WebFlux
+@ActiveProfiles({Constants.REACTIVE_PROFILE, "test"})                           // "test" last so its H2 R2DBC URL wins
+@JeepTestSchema                                                                 // Loaded through JDBC; R2DBC reads the same in-memory database
+class ReactiveEndpointsTest {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testThatJeepsAreReturnedWhenAValidModelAndTrimAreSupplied() {
+    // Given: A valid model and trim
+    String uri = "/jeeps?model=WRANGLER&trim=Sport";
+
+    // When: The Jeeps are requested as JSON
+    List<Jeep> jeeps = webTestClient.get().uri(uri).accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(Jeep.class).returnResult().getResponseBody();
+
+    // Then: The same sorted list as the servlet endpoint is returned
+    assertThat(jeeps).extracting(Jeep::getNumDoors).containsExactly(2, 4);
+    assertThat(jeeps).extracting(Jeep::getBasePrice).usingElementComparator(BigDecimal::compareTo)
+        .containsExactly(new BigDecimal("28475.00"), new BigDecimal("31975.00"));           // The client's decoder drops trailing zeros
+  }
+
+  @Test
+  void testThatJeepsAreStreamedOnePerLine() {
+    // Given: No criteria, so every model is read
+    int expectedRows = JdbcTestUtils.countRowsInTable(jdbcTemplate, "models");
+
+    // When: The Jeeps are requested as newline-delimited JSON
+    Flux<Jeep> jeeps = webTestClient.get().uri("/jeeps").accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .returnResult(Jeep.class).getResponseBody();
+
+    // Then: Every row arrives, in Jeep order, consumed a few at a time
+    List<Jeep> received = jeeps.limitRate(2).collectList().block();
+
+    assertThat(received).hasSize(expectedRows).isSorted();
+  }
+
+  @Test
+  void testThatAnInvalidTrimIsRejected() {
+    // When: The trim contains characters outside the pattern
+    webTestClient.get().uri("/jeeps?trim=Sport%25").exchange()
+
+        // Then: A 400 status is returned
+        .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void testThatAnInvertedPriceRangeIsRejected() {
+    // When: minPrice is above maxPrice
+    webTestClient.get().uri("/jeeps?minPrice=40000&maxPrice=30000").exchange()
+
+        // Then: A 400 status is returned
+        .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void testThatUnknownJeepsReturn404() {
+    webTestClient.get().uri("/jeeps?model=WRANGLER&trim=Unknown").exchange()
+        .expectStatus().isNotFound()
+        .expectBody().jsonPath("$.message").value(message -> assertThat(message.toString())
+            .contains("No jeeps found"));
+  }
+
+  @Test
+  void testCreateOrderReturnsSuccess201() {
+    // Given: An order as JSON
+    int numRowsOrders = JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders");
+    int numRowsOptions = JdbcTestUtils.countRowsInTable(jdbcTemplate, "order_options");
+
+    // When: The order is sent
+    Order order = postOrder(orderBody(CUSTOMER))
+        .expectStatus().isCreated()
+        .expectBody(Order.class).returnResult().getResponseBody();
+
+    // Then: The order is returned with every component and a price summed from them
+    assertThat(order.getOrderPK()).isNotNull();
+    assertThat(order.getCustomer().getCustomerId()).isEqualTo("ROTH_GARTH");
+    assertThat(order.getModel().getModelId()).isEqualTo(JeepModel.GLADIATOR);
+    assertThat(order.getColor().getColorId()).isEqualTo("EXT_SLATE_BLUE");
+    assertThat(order.getEngine().getEngineId()).isEqualTo("6_4_GAS");
+    assertThat(order.getTire().getTireId()).isEqualTo("295_YOKOHAMA");
+    assertThat(order.getOptions()).hasSize(2);
+
+    BigDecimal expected = order.getModel().getBasePrice().add(order.getColor().getPrice())
+        .add(order.getEngine().getPrice()).add(order.getTire().getPrice());
+    expected = order.getOptions().stream().map(Option::getPrice).reduce(expected, BigDecimal::add);
+    assertThat(order.getPrice()).isEqualByComparingTo(expected);
+
+    // And: The order and its options were written
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(numRowsOrders + 1);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "order_options"))
+        .isEqualTo(numRowsOptions + 2);
+  }
+
+  @Test
+  void testCreateOrderReturns404NamingTheMissingComponent() {
+    // Given: An order whose color does not exist
+    int numRowsOrders = JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders");
+
+    // When: The order is sent
+    postOrder(orderBody(CUSTOMER, "EXT_NO_SUCH_COLOR"))
+
+        // Then: A 404 status is returned naming the color ID
+        .expectStatus().isNotFound()
+        .expectBody().jsonPath("$.message").value(message -> assertThat(message.toString())
+            .contains("Color with ID=EXT_NO_SUCH_COLOR was not found"));
+
+    // And: No order was written
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(numRowsOrders);
+  }
+
+  @Test
+  void testThatAnInvalidOrderIsRejected() {
+    // Given: An order with too many doors
+    String body = orderBody(CUSTOMER).replace("\"doors\":4", "\"doors\":5");
+
+    // When: The order is sent
+    postOrder(body)
+
+        // Then: The OrderRequest validation rules apply and a 400 status is returned
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void testThatAClientCanStopReadingPartWay() {
+    // Given: Every Wrangler streamed as newline-delimited JSON
+    Flux<Jeep> jeeps = webTestClient.get().uri("/jeeps?model=WRANGLER")
+        .accept(MediaType.APPLICATION_NDJSON).exchange()
+        .returnResult(Jeep.class).getResponseBody();
+
+    // When: Only the first Jeep is taken and the rest cancelled
+    Jeep first = jeeps.blockFirst();
+
+    // Then: It is a Wrangler, and the server is free for the next request
+    assertThat(first.getModelId()).isEqualTo(JeepModel.WRANGLER);
+    webTestClient.get().uri("/jeeps?model=WRANGLER&trim=Sport").exchange().expectStatus().isOk();
+  }
+
+  private WebTestClient.ResponseSpec postOrder(String body) {
+    return webTestClient.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body).exchange();
+  }
+
+}
@@ -0,0 +1,154 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.entity.Jeep;
+import com.promineotech.jeep.entity.Order;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = {"jeep.datasource.replicas.enabled=true",
+        "jeep.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL
+            + ",jdbc:h2:tcp://localhost:1/unreachable",                         // A second replica that is always down
+        "jeep.datasource.replicas.health-check-interval=200ms",
+        "jeep.datasource.replicas.read-your-writes=1m"})
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing (on the primary)
+class ReplicaRoutingTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+  private static final BigDecimal REPLICA_MARKUP = new BigDecimal("1000.00");
+
+  // @formatter:off
+  private static final String ORDER_BODY = "{\n"
+      + "  \"customer\":\"ROTH_GARTH\",\n"
+      + "  \"model\":\"GLADIATOR\",\n"
+      + "  \"trim\":\"Sport S\",\n"
+      + "  \"doors\":4,\n"
+      + "  \"color\":\"EXT_SLATE_BLUE\",\n"
+      + "  \"engine\":\"6_4_GAS\",\n"
+      + "  \"tire\":\"295_YOKOHAMA\",\n"
+      + "  \"options\":[\"DOOR_QUAD_4\", \"EXT_WARN_WINCH\"]\n"
+      + "}";
+  // @formatter:on
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;                                            // Outside a read-only transaction, so on the primary
+
+  private JdbcTemplate replica;
+
+  /**
+   * Loads the same catalog into the replica, with every model priced higher, so a response
+   * shows which database served it.
+   */
+  @BeforeEach
+  void loadReplica() {
+    replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "jeep", "jeep"));       // The account the replica pool created it with
+
+    ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+    populator.setSqlScriptEncoding("utf-8");
+
+    for (String script : List.of("V1.0__Jeep_Schema.sql", "V1.1__Jeep_Data.sql",
+        "V1.2__Jeep_Indexes.sql", "V1.3__Order_Indexes.sql", "V1.4__Customer_Index.sql",
+        "V1.5__Idempotency_Keys.sql")) {
+      populator.addScript(new ClassPathResource("flyway/migrations/" + script));
+    }
+
+    populator.execute(replica.getDataSource());
+    replica.update("UPDATE models SET base_price = base_price + ?", REPLICA_MARKUP);
+  }
+
+  @Test
+  void testThatCatalogReadsAreServedByTheHealthyReplica() throws InterruptedException {
+    // Given: The primary's price of a 2-door Wrangler Sport
+    BigDecimal primaryPrice = jdbcTemplate.queryForObject("SELECT base_price FROM models "
+        + "WHERE model_id = 'WRANGLER' AND trim_level = 'Sport' AND num_doors = 2", BigDecimal.class);
+
+    // When: The first health check has passed
+    awaitReplica(primaryPrice.add(REPLICA_MARKUP));
+
+    // Then: Every read uses the healthy replica, never the unreachable one or the primary
+    for (int read = 0; read < 4; read++) {
+      assertThat(fetchWranglerSportPrice()).isEqualByComparingTo(primaryPrice.add(REPLICA_MARKUP));
+    }
+  }
+
+  @Test
+  void testThatANewOrderIsWrittenToThePrimaryAndReadBackFromIt() throws InterruptedException {
+    // Given: Reads are going to the replica
+    BigDecimal primaryPrice = jdbcTemplate.queryForObject("SELECT base_price FROM models "
+        + "WHERE model_id = 'WRANGLER' AND trim_level = 'Sport' AND num_doors = 2", BigDecimal.class);
+    awaitReplica(primaryPrice.add(REPLICA_MARKUP));
+    int primaryOrders = JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders");
+
+    // When: An order is created
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    ResponseEntity<Order> created = restTemplate.exchange(
+        String.format("http://localhost:%d/orders", serverPort), HttpMethod.POST,
+        new HttpEntity<>(ORDER_BODY, headers), Order.class);
+
+    // Then: It was written to the primary only
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "orders")).isEqualTo(primaryOrders + 1);
+    assertThat(JdbcTestUtils.countRowsInTable(replica, "orders")).isZero();
+
+    // And: Reading it straight back goes to the primary, which has it
+    ResponseEntity<Order> fetched = restTemplate.getForEntity(String.format(
+        "http://localhost:%d/orders/%d", serverPort, created.getBody().getOrderPK()), Order.class);
+
+    assertThat(fetched.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(fetched.getBody().getOrderPK()).isEqualTo(created.getBody().getOrderPK());
+  }
+
+  private void awaitReplica(BigDecimal replicaPrice) throws InterruptedException {
+    for (int attempt = 0; attempt < 50; attempt++) {
+      if (fetchWranglerSportPrice().compareTo(replicaPrice) == 0) {
+        return;
+      }
+
+      Thread.sleep(100);
+    }
+
+    throw new AssertionError("Reads never moved to the replica");
+  }
+
+  private BigDecimal fetchWranglerSportPrice() {
+    String uri = String.format("http://localhost:%d/jeeps?model=WRANGLER&trim=Sport&doors=2",
+        serverPort);
+    ResponseEntity<List<Jeep>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+        new ParameterizedTypeReference<>() {});
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    return response.getBody().get(0).getBasePrice();
+  }
+
+}
@@ -0,0 +1,190 @@
+package com.promineotech.jeep.controller;
+
+import static com.promineotech.jeep.controller.OrderRequestBodies.orderBody;
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import com.promineotech.jeep.dao.SalesRollupDao;
+import com.promineotech.jeep.entity.Order;
+import com.promineotech.jeep.entity.OrderResult;
+import com.promineotech.jeep.entity.SalesDimension;
+import com.promineotech.jeep.entity.SalesRollup;
+import com.promineotech.jeep.entity.SalesRollupRebuild;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = "jeep.reports.rebuild.batch-size=1")                           // One order per rebuild batch, so the batches must add up
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class SalesRollupTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private SalesRollupDao salesRollupDao;
+
+  @Test
+  void testThatSavedOrdersAreRolledUp() {
+    // Given: One order posted alone and two posted as a batch
+    BigDecimal orderTotal = postOrders();
+
+    // When: Today's sales are read by model and by one option
+    List<SalesRollup> models = fetchRollups(SalesDimension.MODEL, null);
+    List<SalesRollup> winches = fetchRollups(SalesDimension.OPTION, "EXT_WARN_WINCH");
+
+    // Then: Every order is counted once per dimension id, with its full price
+    assertRollup(models, "GLADIATOR", 3, orderTotal);
+    assertRollup(winches, "EXT_WARN_WINCH", 3, orderTotal);
+
+    // And: The other dimensions use their own ids
+    assertRollup(fetchRollups(SalesDimension.TRIM, null), "GLADIATOR/Sport S", 3, orderTotal);
+    assertRollup(fetchRollups(SalesDimension.ENGINE, null), "6_4_GAS", 3, orderTotal);
+    assertThat(fetchRollups(SalesDimension.COLOR, null)).extracting(SalesRollup::getDimensionId)
+        .containsExactly("EXT_SLATE_BLUE");
+  }
+
+  @Test
+  void testThatRebuildRestoresTheRollups() {
+    // Given: Saved orders whose rollups were lost
+    BigDecimal orderTotal = postOrders();
+    jdbcTemplate.update("UPDATE sales_rollups SET order_count = 0, order_total = 0");
+
+    // When: The rollups are rebuilt one order per batch
+    String uri = String.format("http://localhost:%d/reports/sales/rebuild", serverPort);
+    ResponseEntity<SalesRollupRebuild> response =
+        restTemplate.postForEntity(uri, null, SalesRollupRebuild.class);
+
+    // Then: Every order was re-added
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody().getBatches()).isEqualTo(3);
+    assertThat(response.getBody().getLastOrderPK()).isEqualTo(3);
+
+    // And: The rollups match what the inserts had written
+    assertRollup(fetchRollups(SalesDimension.MODEL, null), "GLADIATOR", 3, orderTotal);
+    assertRollup(fetchRollups(SalesDimension.OPTION, "DOOR_QUAD_4"), "DOOR_QUAD_4", 3, orderTotal);
+    assertThat(JdbcTestUtils.countRowsInTable(jdbcTemplate, "sales_rollups_rebuild")).isZero();
+  }
+
+  @Test
+  void testThatOrdersSavedDuringARebuildAreCountedOnce() {
+    // Given: A rebuild copy filled through the second order, the third saved after it was read
+    BigDecimal orderTotal = postOrders();
+    salesRollupDao.clearRebuild();
+    salesRollupDao.addOrdersToRebuild(0, 2);
+
+    // When: The copy replaces the rollups
+    salesRollupDao.replaceRollupsWithRebuild(2);
+
+    // Then: Every order is counted once
+    assertRollup(fetchRollups(SalesDimension.MODEL, null), "GLADIATOR", 3, orderTotal);
+    assertRollup(fetchRollups(SalesDimension.ENGINE, null), "6_4_GAS", 3, orderTotal);
+  }
+
+  @Test
+  void testThatAddingAnOrderToAnExistingBucketAddsToItsCounters() {
+    // Given: Saved orders, each already in its bucket
+    BigDecimal orderTotal = postOrders();
+    BigDecimal firstOrder = jdbcTemplate.queryForObject(
+        "SELECT price FROM orders WHERE order_pk = 1", BigDecimal.class);
+
+    // When: The first order is added to the same buckets again
+    salesRollupDao.addOrders(List.of(1L));
+
+    // Then: The existing rows were updated rather than replaced
+    assertRollup(fetchRollups(SalesDimension.MODEL, null), "GLADIATOR", 4,
+        orderTotal.add(firstOrder));
+    assertThat(jdbcTemplate.queryForObject("SELECT order_count FROM sales_rollups "
+        + "WHERE dimension = 'MODEL' AND slot = 1", Integer.class)).isEqualTo(2);
+  }
+
+  @Test
+  void testThatAnInvalidIdReturns400() {
+    // Given: An id with characters no dimension uses
+    String uri = String.format(
+        "http://localhost:%d/reports/sales?dimension=MODEL&id=%s&from=%s", serverPort,
+        "WRANGLER;--", LocalDate.now());
+
+    // When: The report is requested
+    ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+
+    // Then: A 400 status is returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * @return the total price of the orders posted
+   */
+  private BigDecimal postOrders() {
+    String uri = String.format("http://localhost:%d/orders", serverPort);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<Order> single = restTemplate.exchange(uri, HttpMethod.POST,
+        new HttpEntity<>(orderBody("ROTH_GARTH"), headers), Order.class);
+    assertThat(single.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+    String batch = "[" + orderBody("ROTH_GARTH") + "," + orderBody("STERN_TORO") + "]";
+    ResponseEntity<List<OrderResult>> batched = restTemplate.exchange(uri + "/batch",
+        HttpMethod.POST, new HttpEntity<>(batch, headers), new ParameterizedTypeReference<>() {});
+    assertThat(batched.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    BigDecimal orderTotal = single.getBody().getPrice();
+
+    for (OrderResult result : batched.getBody()) {
+      assertThat(result.getStatus()).isEqualTo(201);
+      orderTotal = orderTotal.add(result.getOrder().getPrice());
+    }
+
+    return orderTotal;
+  }
+
+  private List<SalesRollup> fetchRollups(SalesDimension dimension, String id) {
+    String uri = String.format("http://localhost:%d/reports/sales?dimension=%s&from=%s&days=1",
+        serverPort, dimension, LocalDate.now());
+
+    if (id != null) {
+      uri += "&id=" + id;
+    }
+
+    ResponseEntity<List<SalesRollup>> response = restTemplate.exchange(uri, HttpMethod.GET, null,
+        new ParameterizedTypeReference<>() {});
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return response.getBody();
+  }
+
+  private void assertRollup(List<SalesRollup> rollups, String dimensionId, long orders,
+      BigDecimal orderTotal) {
+    assertThat(rollups).hasSize(1);
+
+    SalesRollup rollup = rollups.get(0);
+    assertThat(rollup.getDay()).isEqualTo(LocalDate.now());
+    assertThat(rollup.getDimensionId()).isEqualTo(dimensionId);
+    assertThat(rollup.getOrders()).isEqualTo(orders);
+    assertThat(rollup.getOrderTotal()).isEqualByComparingTo(orderTotal);
+  }
+
+}
@@ -0,0 +1,72 @@
+package com.promineotech.jeep.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.promineotech.jeep.dao.StatementRecorder;
+import com.promineotech.jeep.entity.StatementStats;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,                    // Generates a random port number for testing
+    properties = {"jeep.sql.slow-threshold=0ms", "jeep.sql.explain=true",      // Every statement is slow, so every query shape is explained
+        "jeep.jeeps.response-cache.enabled=false"})                             // Repeated reads must reach the database
+@ActiveProfiles("test")                                                         // Sets testing profile to "test"
+@JeepTestSchema                                                                 // Values to create/populate tables for testing
+class StatementStatsTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @LocalServerPort
+  private int serverPort;
+
+  @Test
+  void testThatJeepQueriesAreCountedWithRowsAndPlan() {
+    // Given: No statistics
+    String statsUri = String.format("http://localhost:%d/admin/sql", serverPort);
+    restTemplate.delete(statsUri);
+
+    // When: The same model and trim are read twice
+    String uri = String.format("http://localhost:%d/jeeps?model=WRANGLER&trim=Sport", serverPort);
+    restTemplate.getForEntity(uri, String.class);
+    restTemplate.getForEntity(uri, String.class);
+
+    // Then: Both reads were counted against one shape, with their rows and an EXPLAIN plan
+    ResponseEntity<List<StatementStats>> response = restTemplate.exchange(statsUri,
+        HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).filteredOn(stats -> stats.getSql().contains("FROM models"))
+        .singleElement().satisfies(stats -> {
+          assertThat(stats.getExecutions()).isEqualTo(2);
+          assertThat(stats.getRows()).isEqualTo(4);
+          assertThat(stats.getSlow()).isEqualTo(2);
+          assertThat(stats.getSql()).doesNotContain("WRANGLER");
+          assertThat(stats.getPlan()).isNotEmpty();
+        });
+  }
+
+  @Test
+  void testThatParameterListsAndValueRowsAreOneShape() {
+    // Given: Statements differing only in the number of parameters and literals
+    String in = "SELECT * FROM options WHERE option_id IN (?, ?,\n ?) AND name = 'a''b'";
+    String values = "INSERT INTO order_options (order_fk, option_fk) VALUES (?, ?), (?, ?)";
+
+    // When: They are normalized
+    // Then: Runs of parameters and VALUES rows collapse, and literals are hidden
+    assertThat(StatementRecorder.normalize(in))
+        .isEqualTo("SELECT * FROM options WHERE option_id IN (?, ...) AND name = '?'");
+    assertThat(StatementRecorder.normalize(values))
+        .isEqualTo("INSERT INTO order_options (order_fk, option_fk) VALUES (?, ...), ...");
+  }
+
+}
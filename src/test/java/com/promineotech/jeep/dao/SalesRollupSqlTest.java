@@ -0,0 +1,84 @@
+package com.promineotech.jeep.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * H2 cannot run the MySQL form of the rollup statement, so the integration tests use the
+ * VALUES(col) form; these check the MySQL form's text instead.
+ */
+class SalesRollupSqlTest {
+
+  private static final String PREDICATE = "od.order_pk = :order_pk";
+
+  @Test
+  void testThatTheMySqlUpdateReadsOnlyColumnsTheDerivedTableSelects() {
+    // When: The statement is built for MySQL
+    String sql = DefaultSalesRollupDao.rollupSql(PREDICATE, false);
+
+    // Then: Each counter adds the matching column of the derived table named "added"
+    String update = sql.substring(sql.indexOf("ON DUPLICATE KEY UPDATE "));
+    assertThat(update).isEqualTo("ON DUPLICATE KEY UPDATE "
+        + "order_count = order_count + added.orders_added, "
+        + "order_total = order_total + added.total_added");
+    assertThat(sql).contains(") added ON DUPLICATE KEY UPDATE ");
+    assertThat(selectedColumns(sql)).containsAll(referencedColumns(update, "added"));
+
+    // And: The deprecated VALUES(col) function is not used
+    assertThat(sql).doesNotContain("VALUES(");
+  }
+
+  @Test
+  void testThatTheMySqlFormInsertsTheSameColumnsAsTheH2Form() {
+    // When: The statement is built both ways
+    String mySql = DefaultSalesRollupDao.rollupSql(PREDICATE, false);
+    String h2 = DefaultSalesRollupDao.rollupSql(PREDICATE, true);
+
+    // Then: Only the update clause differs
+    String clause = " ON DUPLICATE KEY UPDATE ";
+    assertThat(mySql.substring(0, mySql.indexOf(clause)))
+        .isEqualTo(h2.substring(0, h2.indexOf(clause)));
+  }
+
+  @Test
+  void testThatTheTargetTableCanBeChosen() {
+    // When: The statement is built for the rebuild copy
+    String sql = DefaultSalesRollupDao.rollupSql("sales_rollups_rebuild", PREDICATE, false);
+
+    // Then: It inserts into that table
+    assertThat(sql).startsWith("INSERT INTO sales_rollups_rebuild (");
+  }
+
+  /**
+   * @return the column names, or aliases, in the derived table's select list
+   */
+  private List<String> selectedColumns(String sql) {
+    String start = "SELECT * FROM (SELECT ";
+    int from = sql.indexOf(start) + start.length();
+    String selectList = sql.substring(from, sql.indexOf(" FROM (", from));
+    List<String> columns = new ArrayList<>();
+
+    for (String column : selectList.split(",")) {
+      String[] words = column.trim().split(" ");
+      columns.add(words[words.length - 1]);
+    }
+
+    return columns;
+  }
+
+  private List<String> referencedColumns(String clause, String table) {
+    Matcher matcher = Pattern.compile(table + "\\.(\\w+)").matcher(clause);
+    List<String> columns = new ArrayList<>();
+
+    while (matcher.find()) {
+      columns.add(matcher.group(1));
+    }
+
+    return columns;
+  }
+
+}
@@ -0,0 +1,7 @@
+-- Composite indexes for the optional /jeeps filters. The unique key on
+-- (model_id, trim_level, num_doors) already serves model and model + trim lookups.
+
+CREATE INDEX idx_models_model_price ON models (model_id, base_price);
+CREATE INDEX idx_models_trim_doors ON models (trim_level, num_doors);
+CREATE INDEX idx_models_doors_wheel_price ON models (num_doors, wheel_size, base_price);
+CREATE INDEX idx_models_price ON models (base_price);
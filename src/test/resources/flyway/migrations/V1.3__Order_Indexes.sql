@@ -0,0 +1,5 @@
+-- Covering indexes for the order read endpoints: a customer's history is a range of
+-- (customer_fk, order_pk) and an order's options are a range of (order_fk, option_fk).
+
+CREATE INDEX idx_orders_customer_order ON orders (customer_fk, order_pk);
+CREATE INDEX idx_order_options_order_option ON order_options (order_fk, option_fk);
@@ -0,0 +1,3 @@
+-- customer_id is looked up on every order; without this index each lookup scans customers.
+
+CREATE UNIQUE INDEX idx_customers_customer_id ON customers (customer_id);
@@ -0,0 +1,12 @@
+-- Idempotency-Key of every POST /orders that sent one, written in the same transaction as the
+-- order. No foreign key, so orders can be archived independently of the keys.
+
+DROP TABLE IF EXISTS idempotency_keys;
+
+CREATE TABLE idempotency_keys (
+  idempotency_key varchar(64) NOT NULL,
+  request_hash char(64) NOT NULL,
+  order_fk int unsigned NOT NULL,
+  created_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,19 @@
+-- One row naming the current state of the catalog tables (models, colors, engines, tires,
+-- options and images). Anything that changes those tables bumps it in the same transaction:
+--
+--   UPDATE catalog_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP;
+--
+-- DELETE /catalog/cache bumps it too. Every instance compares it with the version it is serving
+-- every jeep.catalog.version-check-interval, so ETags and catalog caches follow the data rather
+-- than the process that happened to receive the invalidation.
+
+DROP TABLE IF EXISTS catalog_version;
+
+CREATE TABLE catalog_version (
+  catalog_version_pk tinyint unsigned NOT NULL,
+  version bigint unsigned NOT NULL,
+  updated_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (catalog_version_pk)
+);
+
+INSERT INTO catalog_version (catalog_version_pk, version) VALUES (1, 1);
@@ -0,0 +1,3 @@
+-- Expired Idempotency-Keys are deleted by created_at; without this index each purge scans the table.
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,14 @@
+-- POST /reports/sales/rebuild refills this copy of sales_rollups in batches and then swaps its
+-- rows in with one transaction, so reports never read a half-rebuilt table.
+
+DROP TABLE IF EXISTS sales_rollups_rebuild;
+
+CREATE TABLE sales_rollups_rebuild (
+  dimension varchar(10) NOT NULL,
+  sales_day date NOT NULL,
+  dimension_id varchar(80) NOT NULL,
+  slot tinyint unsigned NOT NULL,
+  order_count int unsigned NOT NULL,
+  order_total decimal(15, 2) NOT NULL,
+  PRIMARY KEY (dimension, sales_day, dimension_id, slot)
+);